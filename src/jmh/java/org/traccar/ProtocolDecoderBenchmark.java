@@ -0,0 +1,95 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.traccar.protocol.Gl200TextProtocolDecoder;
+import org.traccar.protocol.GoSafeProtocolDecoder;
+import org.traccar.protocol.Gps103ProtocolDecoder;
+import org.traccar.protocol.Gt06ProtocolDecoder;
+import org.traccar.protocol.H02ProtocolDecoder;
+import org.traccar.protocol.HuabaoProtocolDecoder;
+import org.traccar.protocol.LaipacProtocolDecoder;
+import org.traccar.protocol.MeitrackProtocolDecoder;
+import org.traccar.protocol.SuntechProtocolDecoder;
+import org.traccar.protocol.TeltonikaProtocolDecoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ProtocolDecoderBenchmark extends ProtocolTest {
+
+    @Param({"Teltonika", "Gt06", "Gl200Text", "Huabao", "Suntech", "Meitrack", "Gps103", "H02", "GoSafe", "Laipac"})
+    private String protocol;
+
+    private BaseProtocolDecoder decoder;
+    private Object[] fixtures;
+    private int index;
+
+    private BaseProtocolDecoder createDecoder() throws Exception {
+        return switch (protocol) {
+            case "Teltonika" -> inject(new TeltonikaProtocolDecoder(null, false));
+            case "Gt06" -> inject(new Gt06ProtocolDecoder(null));
+            case "Gl200Text" -> inject(new Gl200TextProtocolDecoder(null));
+            case "Huabao" -> inject(new HuabaoProtocolDecoder(null));
+            case "Suntech" -> inject(new SuntechProtocolDecoder(null));
+            case "Meitrack" -> inject(new MeitrackProtocolDecoder(null));
+            case "Gps103" -> inject(new Gps103ProtocolDecoder(null));
+            case "H02" -> inject(new H02ProtocolDecoder(null));
+            case "GoSafe" -> inject(new GoSafeProtocolDecoder(null));
+            case "Laipac" -> inject(new LaipacProtocolDecoder(null));
+            default -> throw new IllegalArgumentException("Unknown protocol " + protocol);
+        };
+    }
+
+    @Setup
+    public void setup() throws Exception {
+        decoder = createDecoder();
+        List<Object> supported = new ArrayList<>();
+        for (Object fixture : ProtocolFixtures.load(protocol)) {
+            try {
+                if (decoder.decode(null, null, ProtocolFixtures.toMessage(fixture)) != null) {
+                    supported.add(fixture);
+                }
+            } catch (Exception e) {
+                continue;
+            }
+        }
+        if (supported.isEmpty()) {
+            throw new IllegalStateException("No decodable fixtures for " + protocol);
+        }
+        fixtures = supported.toArray();
+    }
+
+    @Benchmark
+    public Object decode() throws Exception {
+        Object fixture = fixtures[index];
+        index = index + 1 < fixtures.length ? index + 1 : 0;
+        return decoder.decode(null, null, ProtocolFixtures.toMessage(fixture));
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar;
+
+import io.netty.buffer.Unpooled;
+import org.traccar.helper.DataConverter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts sample messages from protocol decoder unit tests, so benchmarks run on the same real payloads.
+ */
+public final class ProtocolFixtures {
+
+    private static final String STRING = "\"(?:[^\"\\\\]++|\\\\.)*+\"";
+
+    private static final Pattern CALL = Pattern.compile(
+            "\\b(binary|buffer|text)\\(\\s*(" + STRING + "(?:\\s*,\\s*" + STRING + ")*)\\s*\\)");
+
+    private static final Pattern LITERAL = Pattern.compile("\"((?:[^\"\\\\]++|\\\\.)*+)\"");
+
+    private ProtocolFixtures() {
+    }
+
+    private static String unescape(String value) {
+        StringBuilder result = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                switch (next) {
+                    case 'r' -> result.append('\r');
+                    case 'n' -> result.append('\n');
+                    case 't' -> result.append('\t');
+                    case '0' -> result.append('\0');
+                    case 'u' -> {
+                        result.append((char) Integer.parseInt(value.substring(i + 1, i + 5), 16));
+                        i += 4;
+                    }
+                    default -> result.append(next);
+                }
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Returns fixtures as {@code byte[]} for binary and buffer data and as {@code String} for text data.
+     */
+    public static List<Object> load(String protocol) throws IOException {
+        Path file = Paths.get(System.getProperty("traccar.root", "."),
+                "src", "test", "java", "org", "traccar", "protocol", protocol + "ProtocolDecoderTest.java");
+        String source = Files.readString(file);
+        List<Object> fixtures = new ArrayList<>();
+        Matcher call = CALL.matcher(source);
+        while (call.find()) {
+            StringBuilder data = new StringBuilder();
+            Matcher literal = LITERAL.matcher(call.group(2));
+            while (literal.find()) {
+                data.append(unescape(literal.group(1)));
+            }
+            switch (call.group(1)) {
+                case "binary" -> fixtures.add(DataConverter.parseHex(data.toString()));
+                case "buffer" -> fixtures.add(data.toString().getBytes(StandardCharsets.ISO_8859_1));
+                default -> fixtures.add(data.toString());
+            }
+        }
+        return fixtures;
+    }
+
+    public static Object toMessage(Object fixture) {
+        if (fixture instanceof byte[] data) {
+            return Unpooled.wrappedBuffer(data);
+        }
+        return fixture;
+    }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.geofence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GeofencePolygonBenchmark {
+
+    private static final int POINTS = 1024;
+
+    @Param({"100", "10000", "200000"})
+    private int vertices;
+
+    @Param({"false", "true"})
+    private boolean antimeridian;
+
+    private GeofencePolygon polygon;
+    private LinearPolygon linear;
+    private double[] latitudes;
+    private double[] longitudes;
+    private int index;
+
+    /**
+     * Point in polygon test that checks every edge, as the polygon geofence did before edge slabs.
+     */
+    private static final class LinearPolygon {
+
+        private final double[] lats;
+        private final double[] lons;
+        private final double[] constant;
+        private final double[] multiple;
+        private final boolean needNormalize;
+
+        LinearPolygon(List<GeofenceGeometry.Coordinate> coordinates) {
+            int count = coordinates.size();
+            lats = new double[count];
+            lons = new double[count];
+            boolean hasNegative = false;
+            boolean hasPositive = false;
+            for (int i = 0; i < count; i++) {
+                lats[i] = coordinates.get(i).lat();
+                lons[i] = coordinates.get(i).lon();
+                hasPositive |= lons[i] > 90;
+                hasNegative |= lons[i] < -90;
+            }
+            needNormalize = hasPositive && hasNegative;
+            constant = new double[count];
+            multiple = new double[count];
+            for (int i = 0, j = count - 1; i < count; j = i++) {
+                double lonI = normalizeLon(lons[i]);
+                double lonJ = normalizeLon(lons[j]);
+                if (lonI == lonJ) {
+                    constant[i] = lons[i];
+                } else {
+                    constant[i] = lats[i] - (lonI * lats[j]) / (lonJ - lonI) + (lonI * lats[i]) / (lonJ - lonI);
+                    multiple[i] = (lats[j] - lats[i]) / (lonJ - lonI);
+                }
+            }
+        }
+
+        private double normalizeLon(double lon) {
+            return needNormalize && lon < -90 ? lon + 360 : lon;
+        }
+
+        boolean containsPoint(double latitude, double longitude) {
+            double longitudeNorm = normalizeLon(longitude);
+            boolean oddNodes = false;
+            for (int i = 0, j = lons.length - 1; i < lons.length; j = i++) {
+                if (normalizeLon(lons[i]) < longitudeNorm && normalizeLon(lons[j]) >= longitudeNorm
+                        || normalizeLon(lons[j]) < longitudeNorm && normalizeLon(lons[i]) >= longitudeNorm) {
+                    oddNodes ^= longitudeNorm * multiple[i] + constant[i] < latitude;
+                }
+            }
+            return oddNodes;
+        }
+    }
+
+    private static double wrap(double longitude) {
+        return longitude > 180 ? longitude - 360 : longitude;
+    }
+
+    @Setup
+    public void setup() throws Exception {
+        Random random = new Random(42);
+        double centerLat = 45;
+        double centerLon = antimeridian ? 179 : 10;
+        double radius = 3;
+
+        // jagged boundary, similar to imported administrative borders
+        StringBuilder wkt = new StringBuilder("POLYGON ((");
+        double noise = 0;
+        for (int i = 0; i < vertices; i++) {
+            double angle = 2 * Math.PI * i / vertices;
+            noise = Math.max(-0.2, Math.min(0.2, noise + (random.nextDouble() - 0.5) * 0.01));
+            double distance = radius * (1 + noise);
+            if (i > 0) {
+                wkt.append(", ");
+            }
+            wkt.append(centerLat + distance * Math.sin(angle)).append(' ');
+            wkt.append(wrap(centerLon + distance * Math.cos(angle)));
+        }
+        wkt.append("))");
+
+        polygon = new GeofencePolygon(wkt.toString());
+        linear = new LinearPolygon(polygon.fromWkt(wkt.toString()));
+
+        latitudes = new double[POINTS];
+        longitudes = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            latitudes[i] = centerLat + (random.nextDouble() * 2 - 1) * radius * 1.5;
+            longitudes[i] = wrap(centerLon + (random.nextDouble() * 2 - 1) * radius * 1.5);
+        }
+    }
+
+    @Benchmark
+    public boolean indexed() {
+        index = (index + 1) & (POINTS - 1);
+        return polygon.containsPointInternal(latitudes[index], longitudes[index]);
+    }
+
+    @Benchmark
+    public boolean linear() {
+        index = (index + 1) & (POINTS - 1);
+        return linear.containsPoint(latitudes[index], longitudes[index]);
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.helper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ParserBenchmark {
+
+    private static final PatternBuilder BUILDER = new PatternBuilder()
+            .text("$GPRMC,")
+            .number("(dd)(dd)(dd).?d*,")
+            .expression("([AV]),")
+            .number("(d+)(dd.d+),([NS]),")
+            .number("(d+)(dd.d+),([EW]),")
+            .number("(d+.?d*)?,")
+            .number("(d+.?d*)?,")
+            .number("(dd)(dd)(dd)")
+            .any();
+
+    private static final String SENTENCE = "$GPRMC,123519.00,A,4807.038,N,01131.000,E,022.4,084.4,230394,003.1,W*6A";
+
+    @Param({"scanner", "regex"})
+    private String engine;
+
+    private Pattern pattern;
+
+    @Setup
+    public void setup() {
+        if (engine.equals("scanner")) {
+            pattern = BUILDER.compile();
+        } else {
+            pattern = Pattern.compile(BUILDER.toString(), Pattern.DOTALL);
+        }
+    }
+
+    @Benchmark
+    public double parse() {
+        Parser parser = new Parser(pattern, SENTENCE);
+        if (!parser.matches()) {
+            throw new IllegalStateException();
+        }
+        double result = parser.nextInt(0) * 3600 + parser.nextInt(0) * 60 + parser.nextInt(0);
+        result += parser.next().charAt(0);
+        result += parser.nextInt(0) + parser.nextDouble(0) / 60;
+        parser.skip(1);
+        result += parser.nextInt(0) + parser.nextDouble(0) / 60;
+        parser.skip(1);
+        result += parser.nextDouble(0) + parser.nextDouble(0);
+        result += parser.nextInt(0) + parser.nextInt(0) + parser.nextInt(0);
+        return result;
+    }
+
+}
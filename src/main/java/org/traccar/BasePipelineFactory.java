@@ -1,5 +1,5 @@
 /*
- * Copyright 2012 - 2024 Anton Tananaev (anton@traccar.org)
+ * Copyright 2012 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,13 +16,18 @@
 package org.traccar;
 
 import com.google.inject.Injector;
+import com.google.inject.MembersInjector;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelInboundHandler;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOutboundHandler;
 import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.http.HttpRequestDecoder;
+import io.netty.handler.codec.string.StringEncoder;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.AttributeKey;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.handler.network.AcknowledgementHandler;
@@ -34,14 +39,31 @@ import org.traccar.handler.network.RemoteAddressHandler;
 import org.traccar.handler.network.StandardLoggingHandler;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class BasePipelineFactory extends ChannelInitializer<Channel> {
 
+    /**
+     * Pipeline properties that are the same for all channels created by a factory. They are resolved once and attached
+     * to each channel, so hot paths don't need to scan the pipeline.
+     */
+    public record Capabilities(String protocol, boolean http, boolean stringEncoder) {
+    }
+
+    private static final AttributeKey<Capabilities> CAPABILITIES =
+            AttributeKey.valueOf(BasePipelineFactory.class, "capabilities");
+
     private final Injector injector;
     private final TrackerConnector connector;
     private final Config config;
     private final String protocol;
     private final int timeout;
+    private final int flushConsolidation;
+
+    private final Map<Class<?>, MembersInjector<Object>> membersInjectors = new ConcurrentHashMap<>();
+    private final NetworkForwarderHandler forwarderHandler;
+    private final StandardLoggingHandler loggingHandler;
+    private volatile Capabilities capabilities;
 
     public BasePipelineFactory(TrackerConnector connector, Config config, String protocol) {
         this.injector = Main.getInjector();
@@ -54,6 +76,14 @@ public abstract class BasePipelineFactory extends ChannelInitializer<Channel> {
         } else {
             this.timeout = timeout;
         }
+        flushConsolidation = config.getInteger(Keys.SERVER_FLUSH_CONSOLIDATION);
+        if (config.hasKey(Keys.SERVER_FORWARD)) {
+            int port = config.getInteger(Keys.PROTOCOL_PORT.withPrefix(protocol));
+            forwarderHandler = injectMembers(new NetworkForwarderHandler(port));
+        } else {
+            forwarderHandler = null;
+        }
+        loggingHandler = injectMembers(new StandardLoggingHandler(protocol));
     }
 
     protected abstract void addTransportHandlers(PipelineBuilder pipeline);
@@ -76,8 +106,24 @@ public abstract class BasePipelineFactory extends ChannelInitializer<Channel> {
         return null;
     }
 
+    public static Capabilities getCapabilities(Channel channel) {
+        Capabilities capabilities = channel.attr(CAPABILITIES).get();
+        return capabilities != null ? capabilities : createCapabilities(channel.pipeline());
+    }
+
+    private static Capabilities createCapabilities(ChannelPipeline pipeline) {
+        BaseProtocolDecoder decoder = getHandler(pipeline, BaseProtocolDecoder.class);
+        return new Capabilities(
+                decoder != null ? decoder.getProtocolName() : null,
+                getHandler(pipeline, HttpRequestDecoder.class) != null,
+                getHandler(pipeline, StringEncoder.class) != null);
+    }
+
+    @SuppressWarnings("unchecked")
     private <T> T injectMembers(T object) {
-        injector.injectMembers(object);
+        membersInjectors.computeIfAbsent(
+                object.getClass(), key -> (MembersInjector<Object>) injector.getMembersInjector(key))
+                .injectMembers(object);
         return object;
     }
 
@@ -85,18 +131,21 @@ public abstract class BasePipelineFactory extends ChannelInitializer<Channel> {
     protected void initChannel(Channel channel) {
         final ChannelPipeline pipeline = channel.pipeline();
 
+        if (flushConsolidation > 0 && !connector.isDatagram()) {
+            pipeline.addLast(new FlushConsolidationHandler(flushConsolidation));
+        }
+
         addTransportHandlers(pipeline::addLast);
 
         if (timeout > 0 && !connector.isDatagram()) {
             pipeline.addLast(new IdleStateHandler(timeout, 0, 0));
         }
         pipeline.addLast(new OpenChannelHandler(connector));
-        if (config.hasKey(Keys.SERVER_FORWARD)) {
-            int port = config.getInteger(Keys.PROTOCOL_PORT.withPrefix(protocol));
-            pipeline.addLast(injectMembers(new NetworkForwarderHandler(port)));
+        if (forwarderHandler != null) {
+            pipeline.addLast(forwarderHandler);
         }
         pipeline.addLast(new NetworkMessageHandler());
-        pipeline.addLast(injectMembers(new StandardLoggingHandler(protocol)));
+        pipeline.addLast(loggingHandler);
 
         if (config.getBoolean(Keys.SERVER_DELAY_ACKNOWLEDGEMENT) && !connector.isDatagram()) {
             pipeline.addLast(new AcknowledgementHandler());
@@ -118,6 +167,11 @@ public abstract class BasePipelineFactory extends ChannelInitializer<Channel> {
         pipeline.addLast(injector.getInstance(RemoteAddressHandler.class));
         pipeline.addLast(injector.getInstance(ProcessingHandler.class));
         pipeline.addLast(injector.getInstance(MainEventHandler.class));
+
+        if (capabilities == null) {
+            capabilities = createCapabilities(pipeline);
+        }
+        channel.attr(CAPABILITIES).set(capabilities);
     }
 
 }
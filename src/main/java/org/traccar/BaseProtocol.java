@@ -18,8 +18,9 @@ package org.traccar;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
-import io.netty.handler.codec.string.StringEncoder;
 import org.traccar.helper.DataConverter;
+import org.traccar.metrics.DecoderMetrics;
+import org.traccar.metrics.MetricsManager;
 import org.traccar.model.Command;
 import org.traccar.sms.SmsManager;
 
@@ -41,12 +42,17 @@ public abstract class BaseProtocol implements Protocol {
     private final List<TrackerConnector> connectorList = new LinkedList<>();
 
     private SmsManager smsManager;
+    private DecoderMetrics decoderMetrics;
 
     private StringProtocolEncoder textCommandEncoder = null;
 
     public static String nameFromClass(Class<?> clazz) {
-        String className = clazz.getSimpleName();
-        return className.substring(0, className.length() - 8).toLowerCase();
+        return nameFromClassName(clazz.getName());
+    }
+
+    public static String nameFromClassName(String className) {
+        String simpleName = className.substring(className.lastIndexOf('.') + 1);
+        return simpleName.substring(0, simpleName.length() - 8).toLowerCase();
     }
 
     public BaseProtocol() {
@@ -58,6 +64,15 @@ public abstract class BaseProtocol implements Protocol {
         this.smsManager = smsManager;
     }
 
+    @Inject
+    public void setMetricsManager(MetricsManager metricsManager) {
+        decoderMetrics = new DecoderMetrics(metricsManager, name);
+    }
+
+    public DecoderMetrics getDecoderMetrics() {
+        return decoderMetrics;
+    }
+
     @Override
     public String getName() {
         return name;
@@ -104,7 +119,7 @@ public abstract class BaseProtocol implements Protocol {
             channel.writeAndFlush(new NetworkMessage(command, remoteAddress));
         } else if (command.getType().equals(Command.TYPE_CUSTOM)) {
             String data = command.getString(Command.KEY_DATA);
-            if (BasePipelineFactory.getHandler(channel.pipeline(), StringEncoder.class) != null) {
+            if (BasePipelineFactory.getCapabilities(channel).stringEncoder()) {
                 channel.writeAndFlush(new NetworkMessage(
                         data.replace("\\r", "\r").replace("\\n", "\n"), remoteAddress));
             } else {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012 - 2024 Anton Tananaev (anton@traccar.org)
+ * Copyright 2012 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import org.traccar.database.MediaManager;
 import org.traccar.database.StatisticsManager;
 import org.traccar.helper.UnitsConverter;
 import org.traccar.helper.model.AttributeUtil;
+import org.traccar.metrics.DecoderMetrics;
 import org.traccar.model.Command;
 import org.traccar.model.Device;
 import org.traccar.model.Position;
@@ -51,10 +52,13 @@ public abstract class BaseProtocolDecoder extends ExtendedObjectDecoder {
     private MediaManager mediaManager;
     private CommandsManager commandsManager;
 
+    private final DecoderMetrics decoderMetrics;
+
     private String modelOverride;
 
     public BaseProtocolDecoder(Protocol protocol) {
         this.protocol = protocol;
+        decoderMetrics = protocol instanceof BaseProtocol baseProtocol ? baseProtocol.getDecoderMetrics() : null;
     }
 
     public CacheManager getCacheManager() {
@@ -76,6 +80,10 @@ public abstract class BaseProtocolDecoder extends ExtendedObjectDecoder {
         this.statisticsManager = statisticsManager;
     }
 
+    public MediaManager getMediaManager() {
+        return mediaManager;
+    }
+
     @Inject
     public void setMediaManager(MediaManager mediaManager) {
         this.mediaManager = mediaManager;
@@ -155,6 +163,13 @@ public abstract class BaseProtocolDecoder extends ExtendedObjectDecoder {
         }
     }
 
+    @Override
+    protected void onDecodeComplete(long duration, boolean failed) {
+        if (decoderMetrics != null) {
+            decoderMetrics.recordMessage(duration, failed);
+        }
+    }
+
     @Override
     protected void onMessageEvent(
             Channel channel, SocketAddress remoteAddress, Object originalMessage, Object decodedMessage) {
@@ -171,6 +186,9 @@ public abstract class BaseProtocolDecoder extends ExtendedObjectDecoder {
                     deviceIds.add(position.getDeviceId());
                 }
             }
+            if (decoderMetrics != null) {
+                decoderMetrics.recordPositions(decodedMessage instanceof Collection<?> c ? c.size() : 1);
+            }
         }
         if (deviceIds.isEmpty()) {
             DeviceSession deviceSession = getDeviceSession(channel, remoteAddress);
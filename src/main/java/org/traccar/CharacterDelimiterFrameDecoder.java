@@ -1,5 +1,5 @@
 /*
- * Copyright 2015 - 2018 Anton Tananaev (anton@traccar.org)
+ * Copyright 2015 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,50 +16,168 @@
 package org.traccar;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
-import io.netty.handler.codec.DelimiterBasedFrameDecoder;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.TooLongFrameException;
+import io.netty.util.ByteProcessor;
 
-public class CharacterDelimiterFrameDecoder extends DelimiterBasedFrameDecoder {
+/**
+ * Splits frames on any of the delimiters, like Netty DelimiterBasedFrameDecoder with fail fast enabled. All delimiters
+ * are searched in one pass using a table of their first bytes, and the scanned part of an incomplete frame is not
+ * searched again when more data arrives.
+ */
+public class CharacterDelimiterFrameDecoder extends BaseFrameDecoder {
 
-    private static ByteBuf createDelimiter(char delimiter) {
-        byte[] buf = {(byte) delimiter};
-        return Unpooled.wrappedBuffer(buf);
-    }
+    private final int maxFrameLength;
+    private final boolean stripDelimiter;
+    private final byte[][] delimiters;
+    private final int maxDelimiterLength;
+    private final ByteProcessor delimiterFinder;
 
-    private static ByteBuf createDelimiter(String delimiter) {
-        byte[] buf = new byte[delimiter.length()];
-        for (int i = 0; i < delimiter.length(); i++) {
-            buf[i] = (byte) delimiter.charAt(i);
-        }
-        return Unpooled.wrappedBuffer(buf);
-    }
+    private boolean discardingTooLongFrame;
+    private int tooLongFrameLength;
 
-    private static ByteBuf[] convertDelimiters(String[] delimiters) {
-        ByteBuf[] result = new ByteBuf[delimiters.length];
+    private ByteBuf scanBuffer;
+    private int scanReaderIndex;
+    private int scanIndex;
+
+    private static byte[][] convertDelimiters(String... delimiters) {
+        byte[][] result = new byte[delimiters.length][];
         for (int i = 0; i < delimiters.length; i++) {
-            result[i] = createDelimiter(delimiters[i]);
+            if (delimiters[i].isEmpty()) {
+                throw new IllegalArgumentException("empty delimiter");
+            }
+            result[i] = new byte[delimiters[i].length()];
+            for (int j = 0; j < delimiters[i].length(); j++) {
+                result[i][j] = (byte) delimiters[i].charAt(j);
+            }
         }
         return result;
     }
 
     public CharacterDelimiterFrameDecoder(int maxFrameLength, char delimiter) {
-        super(maxFrameLength, createDelimiter(delimiter));
+        this(maxFrameLength, true, String.valueOf(delimiter));
     }
 
     public CharacterDelimiterFrameDecoder(int maxFrameLength, String delimiter) {
-        super(maxFrameLength, createDelimiter(delimiter));
+        this(maxFrameLength, true, delimiter);
     }
 
     public CharacterDelimiterFrameDecoder(int maxFrameLength, boolean stripDelimiter, String delimiter) {
-        super(maxFrameLength, stripDelimiter, createDelimiter(delimiter));
+        this(maxFrameLength, stripDelimiter, new String[] {delimiter});
     }
 
     public CharacterDelimiterFrameDecoder(int maxFrameLength, String... delimiters) {
-        super(maxFrameLength, convertDelimiters(delimiters));
+        this(maxFrameLength, true, delimiters);
     }
 
     public CharacterDelimiterFrameDecoder(int maxFrameLength, boolean stripDelimiter, String... delimiters) {
-        super(maxFrameLength, stripDelimiter, convertDelimiters(delimiters));
+        if (maxFrameLength <= 0) {
+            throw new IllegalArgumentException("maxFrameLength must be positive");
+        }
+        if (delimiters.length == 0) {
+            throw new IllegalArgumentException("empty delimiters");
+        }
+        this.maxFrameLength = maxFrameLength;
+        this.stripDelimiter = stripDelimiter;
+        this.delimiters = convertDelimiters(delimiters);
+
+        int maxLength = 0;
+        boolean[] firstBytes = new boolean[256];
+        for (byte[] delimiter : this.delimiters) {
+            maxLength = Math.max(maxLength, delimiter.length);
+            firstBytes[delimiter[0] & 0xFF] = true;
+        }
+        maxDelimiterLength = maxLength;
+        delimiterFinder = value -> !firstBytes[value & 0xFF];
+    }
+
+    /**
+     * Returns length of the first delimiter, in configured order, that starts at the index.
+     */
+    private int matchDelimiter(ByteBuf buf, int index) {
+        for (byte[] delimiter : delimiters) {
+            if (index + delimiter.length <= buf.writerIndex()) {
+                int i = 0;
+                while (i < delimiter.length && buf.getByte(index + i) == delimiter[i]) {
+                    i += 1;
+                }
+                if (i == delimiter.length) {
+                    return delimiter.length;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private void fail(long frameLength) {
+        if (frameLength > 0) {
+            throw new TooLongFrameException(
+                    "frame length exceeds " + maxFrameLength + ": " + frameLength + " - discarded");
+        } else {
+            throw new TooLongFrameException(
+                    "frame length exceeds " + maxFrameLength + " - discarding");
+        }
+    }
+
+    @Override
+    protected Object decode(ChannelHandlerContext ctx, Channel channel, ByteBuf buf) throws Exception {
+
+        int index = buf.readerIndex();
+        if (buf == scanBuffer && buf.readerIndex() == scanReaderIndex && scanIndex <= buf.writerIndex()) {
+            index = scanIndex;
+        }
+        scanBuffer = null;
+
+        int delimiterLength = 0;
+        while (index < buf.writerIndex()) {
+            index = buf.forEachByte(index, buf.writerIndex() - index, delimiterFinder);
+            if (index < 0) {
+                break;
+            }
+            delimiterLength = matchDelimiter(buf, index);
+            if (delimiterLength > 0) {
+                break;
+            }
+            index += 1;
+        }
+
+        if (delimiterLength > 0) {
+            int frameLength = index - buf.readerIndex();
+            if (discardingTooLongFrame) {
+                discardingTooLongFrame = false;
+                tooLongFrameLength = 0;
+                buf.skipBytes(frameLength + delimiterLength);
+                return null;
+            }
+            if (frameLength > maxFrameLength) {
+                buf.skipBytes(frameLength + delimiterLength);
+                fail(frameLength);
+            }
+            if (stripDelimiter) {
+                ByteBuf frame = buf.readRetainedSlice(frameLength);
+                buf.skipBytes(delimiterLength);
+                return frame;
+            } else {
+                return buf.readRetainedSlice(frameLength + delimiterLength);
+            }
+        }
+
+        if (discardingTooLongFrame) {
+            tooLongFrameLength += buf.readableBytes();
+            buf.skipBytes(buf.readableBytes());
+        } else if (buf.readableBytes() > maxFrameLength) {
+            tooLongFrameLength = buf.readableBytes();
+            buf.skipBytes(buf.readableBytes());
+            discardingTooLongFrame = true;
+            fail(tooLongFrameLength);
+        } else {
+            // delimiter can still be completed by the next read
+            scanBuffer = buf;
+            scanReaderIndex = buf.readerIndex();
+            scanIndex = Math.max(buf.readerIndex(), buf.writerIndex() - maxDelimiterLength + 1);
+        }
+        return null;
     }
 
 }
@@ -15,27 +15,102 @@
  */
 package org.traccar;
 
+import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.IoHandlerFactory;
 import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollDatagramChannel;
+import io.netty.channel.epoll.EpollIoHandler;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
 import io.netty.channel.nio.NioIoHandler;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.uring.IoUring;
+import io.netty.channel.uring.IoUringChannelOption;
+import io.netty.channel.uring.IoUringDatagramChannel;
+import io.netty.channel.uring.IoUringIoHandler;
+import io.netty.channel.uring.IoUringServerSocketChannel;
+import io.netty.channel.uring.IoUringSocketChannel;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 
 @Singleton
 public class EventLoopGroupFactory {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventLoopGroupFactory.class);
+
+    private enum Transport {
+        NIO, EPOLL, IO_URING
+    }
+
+    private final Transport transport;
     private final EventLoopGroup bossGroup;
     private final EventLoopGroup workerGroup;
+    private final int datagramChannels;
 
     @Inject
     public EventLoopGroupFactory(Config config) {
-        var ioHandlerFactory = NioIoHandler.newFactory();
+        transport = selectTransport(config.getString(Keys.SERVER_NETTY_TRANSPORT));
+        LOGGER.info("Network transport: {}", transport.name().toLowerCase());
+
+        IoHandlerFactory ioHandlerFactory = switch (transport) {
+            case IO_URING -> IoUringIoHandler.newFactory();
+            case EPOLL -> EpollIoHandler.newFactory();
+            default -> NioIoHandler.newFactory();
+        };
         bossGroup = new MultiThreadIoEventLoopGroup(
                 config.getInteger(Keys.SERVER_NETTY_BOSS_THREADS), ioHandlerFactory);
         workerGroup = new MultiThreadIoEventLoopGroup(
                 config.getInteger(Keys.SERVER_NETTY_WORKER_THREADS), ioHandlerFactory);
+
+        if (transport == Transport.NIO) {
+            datagramChannels = 1;
+        } else {
+            int configured = config.getInteger(Keys.SERVER_NETTY_DATAGRAM_CHANNELS);
+            int workers = 0;
+            for (var ignored : workerGroup) {
+                workers += 1;
+            }
+            datagramChannels = configured > 0 ? configured : workers;
+        }
+    }
+
+    private static Transport selectTransport(String value) {
+        switch (value) {
+            case "native":
+                if (IoUring.isAvailable()) {
+                    return Transport.IO_URING;
+                } else if (Epoll.isAvailable()) {
+                    return Transport.EPOLL;
+                }
+                break;
+            case "io_uring":
+                if (IoUring.isAvailable()) {
+                    return Transport.IO_URING;
+                }
+                LOGGER.warn("io_uring transport is not available", IoUring.unavailabilityCause());
+                break;
+            case "epoll":
+                if (Epoll.isAvailable()) {
+                    return Transport.EPOLL;
+                }
+                LOGGER.warn("Epoll transport is not available", Epoll.unavailabilityCause());
+                break;
+            default:
+                break;
+        }
+        return Transport.NIO;
     }
 
     public EventLoopGroup getBossGroup() {
@@ -46,4 +121,46 @@ public class EventLoopGroupFactory {
         return workerGroup;
     }
 
+    public Class<? extends ServerSocketChannel> getServerChannelClass() {
+        return switch (transport) {
+            case IO_URING -> IoUringServerSocketChannel.class;
+            case EPOLL -> EpollServerSocketChannel.class;
+            default -> NioServerSocketChannel.class;
+        };
+    }
+
+    public Class<? extends SocketChannel> getSocketChannelClass() {
+        return switch (transport) {
+            case IO_URING -> IoUringSocketChannel.class;
+            case EPOLL -> EpollSocketChannel.class;
+            default -> NioSocketChannel.class;
+        };
+    }
+
+    public Class<? extends DatagramChannel> getDatagramChannelClass() {
+        return switch (transport) {
+            case IO_URING -> IoUringDatagramChannel.class;
+            case EPOLL -> EpollDatagramChannel.class;
+            default -> NioDatagramChannel.class;
+        };
+    }
+
+    /**
+     * Option to share a datagram port between multiple channels or null if not supported by the transport.
+     */
+    public ChannelOption<Boolean> getReusePortOption() {
+        return switch (transport) {
+            case IO_URING -> IoUringChannelOption.SO_REUSEPORT;
+            case EPOLL -> EpollChannelOption.SO_REUSEPORT;
+            default -> null;
+        };
+    }
+
+    /**
+     * Number of channels bound to each datagram port.
+     */
+    public int getDatagramChannels() {
+        return datagramChannels;
+    }
+
 }
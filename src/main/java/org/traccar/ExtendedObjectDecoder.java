@@ -1,5 +1,5 @@
 /*
- * Copyright 2015 - 2023 Anton Tananaev (anton@traccar.org)
+ * Copyright 2015 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -57,9 +57,9 @@ public abstract class ExtendedObjectDecoder extends ChannelInboundHandlerAdapter
         if (getConfig().getBoolean(Keys.DATABASE_SAVE_ORIGINAL) && decodedMessage instanceof Position position) {
             if (originalMessage instanceof ByteBuf buf) {
                 position.set(Position.KEY_ORIGINAL, ByteBufUtil.hexDump(buf, 0, buf.writerIndex()));
-            } else if (originalMessage instanceof String stringMessage) {
+            } else if (originalMessage instanceof CharSequence textMessage) {
                 position.set(Position.KEY_ORIGINAL, DataConverter.printHex(
-                        stringMessage.getBytes(StandardCharsets.US_ASCII)));
+                        textMessage.toString().getBytes(StandardCharsets.US_ASCII)));
             }
         }
     }
@@ -68,27 +68,43 @@ public abstract class ExtendedObjectDecoder extends ChannelInboundHandlerAdapter
     public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
         NetworkMessage networkMessage = (NetworkMessage) msg;
         Object originalMessage = networkMessage.getMessage();
-        ctx.writeAndFlush(new AcknowledgementHandler.EventReceived());
+        boolean acknowledgement = AcknowledgementHandler.isEnabled(ctx.channel());
+        if (acknowledgement) {
+            ctx.write(new AcknowledgementHandler.EventReceived(), ctx.voidPromise());
+        }
         try {
-            Object decodedMessage = decode(ctx.channel(), networkMessage.getRemoteAddress(), originalMessage);
+            Object decodedMessage;
+            long startTime = System.nanoTime();
+            boolean failed = true;
+            try {
+                decodedMessage = decode(ctx.channel(), networkMessage.getRemoteAddress(), originalMessage);
+                failed = false;
+            } finally {
+                onDecodeComplete(System.nanoTime() - startTime, failed);
+            }
             onMessageEvent(ctx.channel(), networkMessage.getRemoteAddress(), originalMessage, decodedMessage);
             if (decodedMessage == null) {
                 decodedMessage = handleEmptyMessage(ctx.channel(), networkMessage.getRemoteAddress(), originalMessage);
             }
             if (decodedMessage != null) {
                 if (decodedMessage instanceof Collection collection) {
-                    ctx.writeAndFlush(new AcknowledgementHandler.EventDecoded(collection));
+                    if (acknowledgement) {
+                        ctx.writeAndFlush(new AcknowledgementHandler.EventDecoded(collection), ctx.voidPromise());
+                    }
                     for (Object o : collection) {
                         saveOriginal(o, originalMessage);
                         ctx.fireChannelRead(o);
                     }
                 } else {
-                    ctx.writeAndFlush(new AcknowledgementHandler.EventDecoded(List.of(decodedMessage)));
+                    if (acknowledgement) {
+                        ctx.writeAndFlush(
+                                new AcknowledgementHandler.EventDecoded(List.of(decodedMessage)), ctx.voidPromise());
+                    }
                     saveOriginal(decodedMessage, originalMessage);
                     ctx.fireChannelRead(decodedMessage);
                 }
-            } else {
-                ctx.writeAndFlush(new AcknowledgementHandler.EventDecoded(List.of()));
+            } else if (acknowledgement) {
+                ctx.writeAndFlush(new AcknowledgementHandler.EventDecoded(List.of()), ctx.voidPromise());
             }
         } finally {
             ReferenceCountUtil.release(originalMessage);
@@ -99,6 +115,12 @@ public abstract class ExtendedObjectDecoder extends ChannelInboundHandlerAdapter
             Channel channel, SocketAddress remoteAddress, Object originalMessage, Object decodedMessage) {
     }
 
+    /**
+     * Method called after each decode attempt with its duration in nanoseconds.
+     */
+    protected void onDecodeComplete(long duration, boolean failed) {
+    }
+
     protected Object handleEmptyMessage(Channel channel, SocketAddress remoteAddress, Object msg) {
         return null;
     }
@@ -28,6 +28,11 @@ import com.nimbusds.oauth2.sdk.GeneralException;
 import io.netty.util.HashedWheelTimer;
 import io.netty.util.Timer;
 import org.apache.velocity.app.VelocityEngine;
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.spi.ConnectorProvider;
+import org.glassfish.jersey.jnh.connector.JavaNetHttpClientProperties;
+import org.glassfish.jersey.jnh.connector.JavaNetHttpConnectorProvider;
 import org.traccar.broadcast.BroadcastService;
 import org.traccar.broadcast.MulticastBroadcastService;
 import org.traccar.broadcast.RedisBroadcastService;
@@ -42,9 +47,11 @@ import org.traccar.forward.EventForwarderJson;
 import org.traccar.forward.EventForwarderAmqp;
 import org.traccar.forward.EventForwarderKafka;
 import org.traccar.forward.EventForwarderMqtt;
+import org.traccar.forward.ForwardSpool;
 import org.traccar.forward.PositionForwarder;
 import org.traccar.forward.PositionForwarderJson;
 import org.traccar.forward.PositionForwarderAmqp;
+import org.traccar.forward.PositionForwarderBatch;
 import org.traccar.forward.PositionForwarderKafka;
 import org.traccar.forward.PositionForwarderRedis;
 import org.traccar.forward.PositionForwarderUrl;
@@ -81,12 +88,14 @@ import org.traccar.handler.FilterHandler;
 import org.traccar.handler.GeocoderHandler;
 import org.traccar.handler.GeolocationHandler;
 import org.traccar.handler.SpeedLimitHandler;
+import org.traccar.helper.LimitedConnectorProvider;
 import org.traccar.helper.LogAction;
 import org.traccar.helper.ObjectMapperContextResolver;
 import org.traccar.helper.WebHelper;
 import org.traccar.mail.LogMailManager;
 import org.traccar.mail.MailManager;
 import org.traccar.mail.SmtpMailManager;
+import org.traccar.metrics.MetricsManager;
 import org.traccar.session.cache.CacheManager;
 import org.traccar.sms.HttpSmsClient;
 import org.traccar.sms.SmsManager;
@@ -105,6 +114,7 @@ import jakarta.ws.rs.client.Client;
 import jakarta.ws.rs.client.ClientBuilder;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.net.http.HttpClient;
 import java.util.Properties;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -151,8 +161,22 @@ public class MainModule extends AbstractModule {
 
     @Singleton
     @Provides
-    public static Client provideClient(ObjectMapperContextResolver objectMapperContextResolver) {
-        return ClientBuilder.newClient().register(objectMapperContextResolver);
+    public static Client provideClient(Config config, ObjectMapperContextResolver objectMapperContextResolver) {
+        ConnectorProvider connectorProvider = new JavaNetHttpConnectorProvider();
+        int maxRequests = config.getInteger(Keys.CLIENT_MAX_REQUESTS);
+        if (maxRequests > 0) {
+            connectorProvider = new LimitedConnectorProvider(connectorProvider, maxRequests);
+        }
+
+        ClientConfig clientConfig = new ClientConfig()
+                .connectorProvider(connectorProvider)
+                .property(ClientProperties.CONNECT_TIMEOUT, config.getInteger(Keys.CLIENT_CONNECT_TIMEOUT))
+                .property(ClientProperties.READ_TIMEOUT, config.getInteger(Keys.CLIENT_READ_TIMEOUT))
+                .property(JavaNetHttpClientProperties.HTTP_VERSION,
+                        config.getBoolean(Keys.CLIENT_HTTP2) ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .register(objectMapperContextResolver);
+
+        return ClientBuilder.newClient(clientConfig);
     }
 
     @Singleton
@@ -207,7 +231,8 @@ public class MainModule extends AbstractModule {
 
     @Singleton
     @Provides
-    public static Geocoder provideGeocoder(Config config, Client client, StatisticsManager statisticsManager) {
+    public static Geocoder provideGeocoder(
+            Config config, Client client, StatisticsManager statisticsManager, MetricsManager metricsManager) {
         if (config.getBoolean(Keys.GEOCODER_ENABLE)) {
             String type = config.getString(Keys.GEOCODER_TYPE);
             String url = config.getString(Keys.GEOCODER_URL);
@@ -240,6 +265,7 @@ public class MainModule extends AbstractModule {
                 default -> new GoogleGeocoder(client, url, key, language, cacheSize, addressFormat);
             };
             geocoder.setStatisticsManager(statisticsManager);
+            geocoder.setMetricsManager(metricsManager);
             return geocoder;
         }
         return null;
@@ -357,10 +383,11 @@ public class MainModule extends AbstractModule {
     @Provides
     public static PositionForwarder providePositionForwarder(
             Config config, Client client, ExecutorService executorService,
-            ObjectMapper objectMapper, CacheManager cacheManager) {
+            ObjectMapper objectMapper, CacheManager cacheManager, Timer timer) {
         if (config.hasKey(Keys.FORWARD_URL)) {
             return switch (config.getString(Keys.FORWARD_TYPE)) {
                 case "json" -> new PositionForwarderJson(config, client, objectMapper, cacheManager);
+                case "batch" -> new PositionForwarderBatch(config, client, objectMapper, timer, executorService);
                 case "amqp" -> new PositionForwarderAmqp(config, objectMapper);
                 case "kafka" -> new PositionForwarderKafka(config, objectMapper);
                 case "mqtt" -> new PositionForwarderMqtt(config, objectMapper);
@@ -372,11 +399,24 @@ public class MainModule extends AbstractModule {
         return null;
     }
 
+    @Singleton
+    @Provides
+    public static ForwardSpool provideForwardSpool(Config config) throws IOException {
+        if (config.hasKey(Keys.FORWARD_SPOOL_PATH)) {
+            return new ForwardSpool(config);
+        }
+        return null;
+    }
+
     @Singleton
     @Provides
     public static VelocityEngine provideVelocityEngine(Config config) {
         Properties properties = new Properties();
         properties.setProperty("resource.loader.file.path", config.getString(Keys.TEMPLATES_ROOT) + "/");
+        properties.setProperty("resource.loader.file.cache", "true");
+        properties.setProperty(
+                "resource.loader.file.modification_check_interval",
+                String.valueOf(config.getLong(Keys.TEMPLATES_CHECK_INTERVAL)));
         properties.setProperty("web.url", WebHelper.retrieveWebUrl(config));
 
         VelocityEngine velocityEngine = new VelocityEngine();
@@ -56,15 +56,20 @@ import org.traccar.handler.events.MotionEventHandler;
 import org.traccar.handler.events.OverspeedEventHandler;
 import org.traccar.handler.network.AcknowledgementHandler;
 import org.traccar.helper.PositionLogger;
+import org.traccar.metrics.Histogram;
+import org.traccar.metrics.MetricsManager;
+import org.traccar.metrics.ProcessingTracer;
 import org.traccar.model.Position;
 import org.traccar.session.cache.CacheManager;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Stream;
 
 @Singleton
@@ -76,10 +81,14 @@ public class ProcessingHandler extends ChannelInboundHandlerAdapter implements B
     private final PositionLogger positionLogger;
     private final BufferingManager bufferingManager;
     private final List<BasePositionHandler> positionHandlers;
+    private final List<Histogram> positionHandlerHistograms;
     private final List<BaseEventHandler> eventHandlers;
+    private final List<Histogram> eventHandlerHistograms;
     private final PostProcessHandler postProcessHandler;
+    private final ProcessingTracer processingTracer;
 
     private final Map<Long, Queue<Position>> queues = new HashMap<>();
+    private final LongAdder queuedPositions = new LongAdder();
 
     private synchronized Queue<Position> getQueue(long deviceId) {
         return queues.computeIfAbsent(deviceId, k -> new LinkedList<>());
@@ -88,10 +97,12 @@ public class ProcessingHandler extends ChannelInboundHandlerAdapter implements B
     @Inject
     public ProcessingHandler(
             Injector injector, Config config,
-            CacheManager cacheManager, NotificationManager notificationManager, PositionLogger positionLogger) {
+            CacheManager cacheManager, NotificationManager notificationManager, PositionLogger positionLogger,
+            MetricsManager metricsManager, ProcessingTracer processingTracer) {
         this.cacheManager = cacheManager;
         this.notificationManager = notificationManager;
         this.positionLogger = positionLogger;
+        this.processingTracer = processingTracer;
         bufferingManager = new BufferingManager(config, this);
 
         positionHandlers = Stream.of(
@@ -133,6 +144,25 @@ public class ProcessingHandler extends ChannelInboundHandlerAdapter implements B
                 .toList();
 
         postProcessHandler = injector.getInstance(PostProcessHandler.class);
+
+        List<String> stages = new ArrayList<>();
+        Stream.concat(positionHandlers.stream(), eventHandlers.stream()).forEach(handler -> {
+            Class<?> clazz = handler.getClass();
+            stages.add(clazz.getName().substring(clazz.getPackageName().length() + 1).replace('$', '.'));
+        });
+        positionHandlerHistograms = stages.subList(0, positionHandlers.size()).stream()
+                .map(name -> metricsManager.histogram(
+                        "traccar_handler_duration_seconds", "Position handler processing time", "handler", name))
+                .toList();
+        eventHandlerHistograms = stages.subList(positionHandlers.size(), stages.size()).stream()
+                .map(name -> metricsManager.histogram(
+                        "traccar_event_handler_duration_seconds", "Event handler processing time", "handler", name))
+                .toList();
+        stages.add(PostProcessHandler.class.getSimpleName());
+        processingTracer.setStages(stages);
+
+        metricsManager.gauge(
+                "traccar_processing_queue_size", "Positions waiting for processing", queuedPositions::sum);
     }
 
     @Override
@@ -153,25 +183,37 @@ public class ProcessingHandler extends ChannelInboundHandlerAdapter implements B
             queued = !queue.isEmpty();
             queue.offer(position);
         }
+        queuedPositions.increment();
         if (!queued) {
             processPositionHandlers(context, position);
         }
     }
 
     private void processPositionHandlers(ChannelHandlerContext ctx, Position position) {
-        var iterator = positionHandlers.iterator();
-        iterator.next().handlePosition(position, new BasePositionHandler.Callback() {
+        long traceId = processingTracer.start(position);
+        new BasePositionHandler.Callback() {
+            private int index;
+            private long startTime;
+
+            private void handleNext() {
+                startTime = System.nanoTime();
+                positionHandlers.get(index).handlePosition(position, this);
+            }
+
             @Override
             public void processed(boolean filtered) {
+                positionHandlerHistograms.get(index).recordSince(startTime);
+                processingTracer.stage(traceId, index);
+                index += 1;
                 Runnable continuation = () -> {
                     if (!filtered) {
-                        if (iterator.hasNext()) {
-                            iterator.next().handlePosition(position, this);
+                        if (index < positionHandlers.size()) {
+                            handleNext();
                         } else {
-                            processEventHandlers(ctx, position);
+                            processEventHandlers(ctx, position, traceId);
                         }
                     } else {
-                        finishedProcessing(ctx, position, true);
+                        finishedProcessing(ctx, position, true, traceId);
                     }
                 };
                 if (ctx.executor().inEventLoop()) {
@@ -180,29 +222,43 @@ public class ProcessingHandler extends ChannelInboundHandlerAdapter implements B
                     ctx.executor().execute(continuation);
                 }
             }
-        });
+        }.handleNext();
     }
 
-    private void processEventHandlers(ChannelHandlerContext ctx, Position position) {
-        eventHandlers.forEach(handler -> handler.analyzePosition(
-                position, (event) -> notificationManager.updateEvents(Map.of(event, position))));
-        finishedProcessing(ctx, position, false);
+    private void processEventHandlers(ChannelHandlerContext ctx, Position position, long traceId) {
+        for (int i = 0; i < eventHandlers.size(); i++) {
+            long startTime = System.nanoTime();
+            eventHandlers.get(i).analyzePosition(
+                    position, (event) -> notificationManager.updateEvents(Map.of(event, position)));
+            eventHandlerHistograms.get(i).recordSince(startTime);
+            processingTracer.stage(traceId, positionHandlers.size() + i);
+        }
+        finishedProcessing(ctx, position, false, traceId);
     }
 
-    private void finishedProcessing(ChannelHandlerContext ctx, Position position, boolean filtered) {
+    private void finishedProcessing(ChannelHandlerContext ctx, Position position, boolean filtered, long traceId) {
         if (!filtered) {
             postProcessHandler.handlePosition(position, ignore -> {
+                processingTracer.stage(traceId, positionHandlers.size() + eventHandlers.size());
+                processingTracer.finish(traceId);
                 positionLogger.log(ctx, position);
-                ctx.writeAndFlush(new AcknowledgementHandler.EventHandled(position));
+                acknowledge(ctx, position);
                 processNextPosition(ctx, position.getDeviceId());
             });
         } else {
-            ctx.writeAndFlush(new AcknowledgementHandler.EventHandled(position));
+            processingTracer.finish(traceId);
+            acknowledge(ctx, position);
             processNextPosition(ctx, position.getDeviceId());
         }
         cacheManager.removeDevice(position.getDeviceId(), position);
     }
 
+    private void acknowledge(ChannelHandlerContext ctx, Position position) {
+        if (AcknowledgementHandler.isEnabled(ctx.channel())) {
+            ctx.writeAndFlush(new AcknowledgementHandler.EventHandled(position), ctx.voidPromise());
+        }
+    }
+
     private void processNextPosition(ChannelHandlerContext ctx, long deviceId) {
         Queue<Position> queue = getQueue(deviceId);
         Position nextPosition;
@@ -210,6 +266,7 @@ public class ProcessingHandler extends ChannelInboundHandlerAdapter implements B
             queue.poll(); // remove current position
             nextPosition = queue.peek();
         }
+        queuedPositions.decrement();
         if (nextPosition != null) {
             processPositionHandlers(ctx, nextPosition);
         }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012 - 2022 Anton Tananaev (anton@traccar.org)
+ * Copyright 2012 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,10 +24,15 @@ import org.traccar.helper.ClassScanner;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.BindException;
 import java.net.ConnectException;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -41,6 +46,8 @@ public class ServerManager implements LifecycleObject {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ServerManager.class);
 
+    private static final String PROTOCOL_INDEX = "META-INF/traccar/protocols";
+
     private final List<TrackerConnector> connectorList = new LinkedList<>();
     private final Map<String, BaseProtocol> protocolList = new ConcurrentHashMap<>();
 
@@ -51,11 +58,11 @@ public class ServerManager implements LifecycleObject {
         if (config.hasKey(Keys.PROTOCOLS_ENABLE)) {
             enabledProtocols = new HashSet<>(Arrays.asList(config.getString(Keys.PROTOCOLS_ENABLE).split("[, ]")));
         }
-        for (Class<?> protocolClass : ClassScanner.findSubclasses(BaseProtocol.class, "org.traccar.protocol")) {
-            String protocolName = BaseProtocol.nameFromClass(protocolClass);
+        for (String protocolClassName : findProtocolClasses()) {
+            String protocolName = BaseProtocol.nameFromClassName(protocolClassName);
             if (enabledProtocols == null || enabledProtocols.contains(protocolName)) {
                 if (config.getInteger(Keys.PROTOCOL_PORT.withPrefix(protocolName)) > 0) {
-                    BaseProtocol protocol = (BaseProtocol) injector.getInstance(protocolClass);
+                    BaseProtocol protocol = (BaseProtocol) injector.getInstance(Class.forName(protocolClassName));
                     connectorList.addAll(protocol.getConnectorList());
                     protocolList.put(protocol.getName(), protocol);
                 }
@@ -63,6 +70,35 @@ public class ServerManager implements LifecycleObject {
         }
     }
 
+    /**
+     * Protocol class names from the index generated at build time. Classes are only loaded for enabled protocols, so
+     * decoders of unused protocols don't need to be initialized. Scanning is used when the index is not available.
+     */
+    private static List<String> findProtocolClasses()
+            throws IOException, URISyntaxException, ReflectiveOperationException {
+        return findProtocolClasses(ServerManager.class.getClassLoader().getResourceAsStream(PROTOCOL_INDEX));
+    }
+
+    static List<String> findProtocolClasses(InputStream index)
+            throws IOException, URISyntaxException, ReflectiveOperationException {
+        List<String> result = new ArrayList<>();
+        if (index != null) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(index, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        result.add(line.trim());
+                    }
+                }
+            }
+        } else {
+            for (Class<?> protocolClass : ClassScanner.findSubclasses(BaseProtocol.class, "org.traccar.protocol")) {
+                result.add(protocolClass.getName());
+            }
+        }
+        return result;
+    }
+
     public BaseProtocol getProtocol(String name) {
         return protocolList.get(name);
     }
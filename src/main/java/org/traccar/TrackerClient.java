@@ -18,7 +18,6 @@ package org.traccar;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.DefaultChannelGroup;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GenericFutureListener;
@@ -87,7 +86,7 @@ public abstract class TrackerClient implements TrackerConnector {
         var eventLoopGroupFactory = Main.getInjector().getInstance(EventLoopGroupFactory.class);
         bootstrap = new Bootstrap()
                 .group(eventLoopGroupFactory.getWorkerGroup())
-                .channel(NioSocketChannel.class)
+                .channel(eventLoopGroupFactory.getSocketChannelClass())
                 .handler(pipelineFactory);
     }
 
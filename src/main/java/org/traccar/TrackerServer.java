@@ -19,10 +19,9 @@ import io.netty.bootstrap.AbstractBootstrap;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.DefaultChannelGroup;
-import io.netty.channel.socket.nio.NioDatagramChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.util.concurrent.GlobalEventExecutor;
 import org.traccar.config.Config;
@@ -42,6 +41,7 @@ public abstract class TrackerServer implements TrackerConnector {
 
     private final int port;
     private final String address;
+    private final int channels;
 
     private final ChannelGroup channelGroup = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
 
@@ -56,11 +56,40 @@ public abstract class TrackerServer implements TrackerConnector {
     }
 
     public TrackerServer(Config config, String protocol, boolean datagram) {
+        this(config, protocol, datagram, Main.getInjector().getInstance(EventLoopGroupFactory.class));
+    }
+
+    TrackerServer(Config config, String protocol, boolean datagram, EventLoopGroupFactory eventLoopGroupFactory) {
         secure = config.getBoolean(Keys.PROTOCOL_SSL.withPrefix(protocol));
         address = config.getString(Keys.PROTOCOL_ADDRESS.withPrefix(protocol));
         port = config.getInteger(Keys.PROTOCOL_PORT.withPrefix(protocol));
 
-        BasePipelineFactory pipelineFactory = new BasePipelineFactory(this, config, protocol) {
+        this.datagram = datagram;
+        ChannelHandler pipelineFactory = createPipelineFactory(config, protocol);
+        if (datagram) {
+            Bootstrap datagramBootstrap = new Bootstrap()
+                    .group(eventLoopGroupFactory.getWorkerGroup())
+                    .channel(eventLoopGroupFactory.getDatagramChannelClass())
+                    .handler(pipelineFactory);
+            var reusePortOption = eventLoopGroupFactory.getReusePortOption();
+            if (reusePortOption != null && eventLoopGroupFactory.getDatagramChannels() > 1) {
+                datagramBootstrap.option(reusePortOption, true);
+                channels = eventLoopGroupFactory.getDatagramChannels();
+            } else {
+                channels = 1;
+            }
+            bootstrap = datagramBootstrap;
+        } else {
+            bootstrap = new ServerBootstrap()
+                    .group(eventLoopGroupFactory.getBossGroup(), eventLoopGroupFactory.getWorkerGroup())
+                    .channel(eventLoopGroupFactory.getServerChannelClass())
+                    .childHandler(pipelineFactory);
+            channels = 1;
+        }
+    }
+
+    ChannelHandler createPipelineFactory(Config config, String protocol) {
+        return new BasePipelineFactory(this, config, protocol) {
             @Override
             protected void addTransportHandlers(PipelineBuilder pipeline) {
                 try {
@@ -78,20 +107,6 @@ public abstract class TrackerServer implements TrackerConnector {
                 TrackerServer.this.addProtocolHandlers(pipeline, config);
             }
         };
-
-        this.datagram = datagram;
-        var eventLoopGroupFactory = Main.getInjector().getInstance(EventLoopGroupFactory.class);
-        if (datagram) {
-            bootstrap = new Bootstrap()
-                    .group(eventLoopGroupFactory.getWorkerGroup())
-                    .channel(NioDatagramChannel.class)
-                    .handler(pipelineFactory);
-        } else {
-            bootstrap = new ServerBootstrap()
-                    .group(eventLoopGroupFactory.getBossGroup(), eventLoopGroupFactory.getWorkerGroup())
-                    .channel(NioServerSocketChannel.class)
-                    .childHandler(pipelineFactory);
-        }
     }
 
     protected abstract void addProtocolHandlers(PipelineBuilder pipeline, Config config);
@@ -118,9 +133,11 @@ public abstract class TrackerServer implements TrackerConnector {
             endpoint = new InetSocketAddress(address, port);
         }
 
-        Channel channel = bootstrap.bind(endpoint).syncUninterruptibly().channel();
-        if (channel != null) {
-            getChannelGroup().add(channel);
+        for (int i = 0; i < channels; i++) {
+            Channel channel = bootstrap.bind(endpoint).syncUninterruptibly().channel();
+            if (channel != null) {
+                getChannelGroup().add(channel);
+            }
         }
     }
 
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.api.resource;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.traccar.api.BaseResource;
+import org.traccar.metrics.ProcessingTracer;
+import org.traccar.storage.StorageException;
+
+import java.util.List;
+
+@Path("traces")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class TraceResource extends BaseResource {
+
+    @Inject
+    private ProcessingTracer processingTracer;
+
+    @GET
+    public List<ProcessingTracer.Trace> get(
+            @QueryParam("recent") boolean recent,
+            @QueryParam("limit") @DefaultValue("100") int limit) throws StorageException {
+        permissionsService.checkAdmin(getUserId());
+        if (recent) {
+            return processingTracer.getRecent(limit);
+        } else {
+            return processingTracer.getSlowest();
+        }
+    }
+
+    @DELETE
+    public Response reset() throws StorageException {
+        permissionsService.checkAdmin(getUserId());
+        processingTracer.reset();
+        return Response.noContent().build();
+    }
+
+}
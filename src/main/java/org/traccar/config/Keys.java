@@ -322,6 +322,15 @@ public final class Keys {
             "server.delayAcknowledgement",
             List.of(KeyType.CONFIG));
 
+    /**
+     * Maximum number of flushes consolidated into a single socket write while reading a batch of frames from a TCP
+     * connection. Responses are still sent at the end of each read. Zero disables flush consolidation.
+     */
+    public static final ConfigKey<Integer> SERVER_FLUSH_CONSOLIDATION = new IntegerConfigKey(
+            "server.flushConsolidation",
+            List.of(KeyType.CONFIG),
+            0);
+
     /**
      * Number of Netty boss threads. If not specified or zero, Netty default value is used.
      */
@@ -338,6 +347,25 @@ public final class Keys {
             List.of(KeyType.CONFIG),
             0);
 
+    /**
+     * Netty network transport. Options are 'nio' (default), 'epoll', 'io_uring' and 'native'. Native option selects
+     * io_uring or epoll depending on what is available on the system. If the requested transport is not available,
+     * server falls back to 'nio'.
+     */
+    public static final ConfigKey<String> SERVER_NETTY_TRANSPORT = new StringConfigKey(
+            "server.nettyTransport",
+            List.of(KeyType.CONFIG),
+            "nio");
+
+    /**
+     * Number of channels bound to each UDP port with SO_REUSEPORT, so incoming datagrams are distributed between
+     * multiple worker threads. Only used with native transports. By default, matches the number of worker threads.
+     */
+    public static final ConfigKey<Integer> SERVER_NETTY_DATAGRAM_CHANNELS = new IntegerConfigKey(
+            "server.nettyDatagramChannels",
+            List.of(KeyType.CONFIG),
+            0);
+
     /**
      * Address for uploading aggregated anonymous usage statistics. Uploaded information is the same you can see on the
      * statistics screen in the web app. It does not include any sensitive (e.g. locations).
@@ -347,6 +375,39 @@ public final class Keys {
             List.of(KeyType.CONFIG),
             "https://www.traccar.org/analytics/");
 
+    /**
+     * HTTP client connection timeout in milliseconds. Applies to geocoding, geolocation, speed limit, forwarding and
+     * other outgoing HTTP requests.
+     */
+    public static final ConfigKey<Integer> CLIENT_CONNECT_TIMEOUT = new IntegerConfigKey(
+            "client.connectTimeout",
+            List.of(KeyType.CONFIG),
+            10000);
+
+    /**
+     * HTTP client response timeout in milliseconds. Zero means no timeout.
+     */
+    public static final ConfigKey<Integer> CLIENT_READ_TIMEOUT = new IntegerConfigKey(
+            "client.readTimeout",
+            List.of(KeyType.CONFIG),
+            30000);
+
+    /**
+     * Allow HTTP client to negotiate HTTP/2 with servers that support it. By default HTTP/1.1 is used.
+     */
+    public static final ConfigKey<Boolean> CLIENT_HTTP2 = new BooleanConfigKey(
+            "client.http2",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Maximum number of HTTP client requests executed at the same time. Asynchronous requests over the limit are
+     * queued until earlier requests complete. Zero means no limit.
+     */
+    public static final ConfigKey<Integer> CLIENT_MAX_REQUESTS = new IntegerConfigKey(
+            "client.maxRequests",
+            List.of(KeyType.CONFIG),
+            256);
+
     /**
      * Fuel drop threshold value. When fuel level drops from one position to another for more the value, an event is
      * generated.
@@ -556,6 +617,40 @@ public final class Keys {
             "database.saveEmpty",
             List.of(KeyType.CONFIG));
 
+    /**
+     * Number of days to keep positions. Can be overridden on the server, group or device level. Latest device positions
+     * and positions referenced by events are never removed. Zero means positions are kept forever.
+     */
+    public static final ConfigKey<Integer> RETENTION_POSITIONS = new IntegerConfigKey(
+            "retention.positions",
+            List.of(KeyType.CONFIG, KeyType.SERVER, KeyType.DEVICE),
+            0);
+
+    /**
+     * Number of days to keep events. Can be overridden on the server, group or device level. Zero means events are kept
+     * forever.
+     */
+    public static final ConfigKey<Integer> RETENTION_EVENTS = new IntegerConfigKey(
+            "retention.events",
+            List.of(KeyType.CONFIG, KeyType.SERVER, KeyType.DEVICE),
+            0);
+
+    /**
+     * Maximum number of rows removed by a single retention delete statement.
+     */
+    public static final ConfigKey<Integer> RETENTION_BATCH_SIZE = new IntegerConfigKey(
+            "retention.batchSize",
+            List.of(KeyType.CONFIG),
+            1000);
+
+    /**
+     * Delay in milliseconds between retention delete statements. Limits the load on the database.
+     */
+    public static final ConfigKey<Long> RETENTION_BATCH_DELAY = new LongConfigKey(
+            "retention.batchDelay",
+            List.of(KeyType.CONFIG),
+            100L);
+
     /**
      * Device limit for self registered users. Default value is -1, which indicates no limit.
      */
@@ -765,6 +860,32 @@ public final class Keys {
             List.of(KeyType.CONFIG),
             "./media");
 
+    /**
+     * Maximum size in bytes of incomplete media uploads kept for a single device. Oldest uploads of the device are
+     * dropped when a new one doesn't fit.
+     */
+    public static final ConfigKey<Long> MEDIA_UPLOAD_DEVICE_LIMIT = new LongConfigKey(
+            "media.upload.deviceLimit",
+            List.of(KeyType.CONFIG),
+            16L * 1024 * 1024);
+
+    /**
+     * Maximum size in bytes of all incomplete media uploads on the server. Oldest uploads are dropped when a new one
+     * doesn't fit.
+     */
+    public static final ConfigKey<Long> MEDIA_UPLOAD_LIMIT = new LongConfigKey(
+            "media.upload.limit",
+            List.of(KeyType.CONFIG),
+            256L * 1024 * 1024);
+
+    /**
+     * Time in seconds after which an incomplete media upload without new data is dropped.
+     */
+    public static final ConfigKey<Long> MEDIA_UPLOAD_TIMEOUT = new LongConfigKey(
+            "media.upload.timeout",
+            List.of(KeyType.CONFIG),
+            600L);
+
     /**
      * Optional parameter to specify network interface for web interface to bind to. By default server will bind to all
      * available interfaces.
@@ -835,6 +956,14 @@ public final class Keys {
             "web.console",
             List.of(KeyType.CONFIG));
 
+    /**
+     * Enable Prometheus / OpenMetrics scrape endpoint via '/metrics' URL. Access requires an administrator account,
+     * for example using a bearer token in the scrape configuration or the service account token.
+     */
+    public static final ConfigKey<Boolean> WEB_METRICS = new BooleanConfigKey(
+            "web.metrics",
+            List.of(KeyType.CONFIG));
+
     /**
      * Server debug version of the web app. Not recommended to use for performance reasons. It is intended to be used
      * for development and debugging purposes.
@@ -896,7 +1025,7 @@ public final class Keys {
             List.of(KeyType.CONFIG));
 
     /**
-     * Position forwarding format. Available options are "url", "json" and "kafka". Default is "url".
+     * Position forwarding format. Available options are "url", "json", "batch" and "kafka". Default is "url".
      */
     public static final ConfigKey<String> FORWARD_TYPE = new StringConfigKey(
             "forward.type",
@@ -919,6 +1048,37 @@ public final class Keys {
             List.of(KeyType.CONFIG),
             "positions");
 
+    /**
+     * Kafka producer linger time in milliseconds. Used for both position and event forwarding.
+     */
+    public static final ConfigKey<Integer> FORWARD_KAFKA_LINGER = new IntegerConfigKey(
+            "forward.kafka.linger",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Kafka producer batch size in bytes. Used for both position and event forwarding.
+     */
+    public static final ConfigKey<Integer> FORWARD_KAFKA_BATCH_SIZE = new IntegerConfigKey(
+            "forward.kafka.batchSize",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Kafka producer compression type. Available options are "none", "gzip", "snappy", "lz4" and "zstd".
+     */
+    public static final ConfigKey<String> FORWARD_KAFKA_COMPRESSION = new StringConfigKey(
+            "forward.kafka.compression",
+            List.of(KeyType.CONFIG),
+            "none");
+
+    /**
+     * Kafka message format. Available options are "json" and "protobuf". Protobuf schema is defined in
+     * ForwardMessages.proto file.
+     */
+    public static final ConfigKey<String> FORWARD_KAFKA_FORMAT = new StringConfigKey(
+            "forward.kafka.format",
+            List.of(KeyType.CONFIG),
+            "json");
+
     /**
      * URL to forward positions. Data is passed through URL parameters. For example, {uniqueId} for device identifier,
      * {latitude} and {longitude} for coordinates.
@@ -934,6 +1094,63 @@ public final class Keys {
             "forward.header",
             List.of(KeyType.CONFIG));
 
+    /**
+     * Maximum number of positions in one batch for the "batch" forwarding type.
+     */
+    public static final ConfigKey<Integer> FORWARD_BATCH_SIZE = new IntegerConfigKey(
+            "forward.batch.size",
+            List.of(KeyType.CONFIG),
+            100);
+
+    /**
+     * Maximum uncompressed size of one batch in bytes for the "batch" forwarding type.
+     */
+    public static final ConfigKey<Integer> FORWARD_BATCH_BYTES = new IntegerConfigKey(
+            "forward.batch.bytes",
+            List.of(KeyType.CONFIG),
+            1048576);
+
+    /**
+     * Maximum time in milliseconds a position waits in an incomplete batch before it is sent.
+     */
+    public static final ConfigKey<Long> FORWARD_BATCH_INTERVAL = new LongConfigKey(
+            "forward.batch.interval",
+            List.of(KeyType.CONFIG),
+            1000L);
+
+    /**
+     * Batch body format. Available options are "array" for a JSON array and "ndjson" for newline delimited JSON.
+     */
+    public static final ConfigKey<String> FORWARD_BATCH_FORMAT = new StringConfigKey(
+            "forward.batch.format",
+            List.of(KeyType.CONFIG),
+            "array");
+
+    /**
+     * Compress batch body using gzip.
+     */
+    public static final ConfigKey<Boolean> FORWARD_BATCH_COMPRESS = new BooleanConfigKey(
+            "forward.batch.compress",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Maximum number of batch requests in flight. When the limit is reached, complete batches wait until one of the
+     * requests finishes.
+     */
+    public static final ConfigKey<Integer> FORWARD_BATCH_WINDOW = new IntegerConfigKey(
+            "forward.batch.window",
+            List.of(KeyType.CONFIG),
+            4);
+
+    /**
+     * Maximum number of complete batches waiting for a free request slot. Positions of batches over the limit are
+     * reported as failed and go through the regular retry logic.
+     */
+    public static final ConfigKey<Integer> FORWARD_BATCH_QUEUE = new IntegerConfigKey(
+            "forward.batch.queue",
+            List.of(KeyType.CONFIG),
+            100);
+
     /**
      * Position forwarding retrying enable. When enabled, additional attempts are made to deliver positions. If initial
      * delivery fails, because of an unreachable server or an HTTP response different from '2xx', the software waits
@@ -972,6 +1189,47 @@ public final class Keys {
             List.of(KeyType.CONFIG),
             100);
 
+    /**
+     * Directory for the position forwarding spool. If set, positions that could not be delivered after all retries
+     * are written to disk and replayed once the destination becomes available again.
+     */
+    public static final ConfigKey<String> FORWARD_SPOOL_PATH = new StringConfigKey(
+            "forward.spool.path",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Size of a single forwarding spool segment file in bytes.
+     */
+    public static final ConfigKey<Integer> FORWARD_SPOOL_SEGMENT_SIZE = new IntegerConfigKey(
+            "forward.spool.segmentSize",
+            List.of(KeyType.CONFIG),
+            16 * 1024 * 1024);
+
+    /**
+     * Maximum disk space used by the forwarding spool in bytes. When the limit is reached, the oldest segment is
+     * dropped.
+     */
+    public static final ConfigKey<Long> FORWARD_SPOOL_MAX_SIZE = new LongConfigKey(
+            "forward.spool.maxSize",
+            List.of(KeyType.CONFIG),
+            1024L * 1024 * 1024);
+
+    /**
+     * Number of spooled positions replayed concurrently.
+     */
+    public static final ConfigKey<Integer> FORWARD_SPOOL_WINDOW = new IntegerConfigKey(
+            "forward.spool.window",
+            List.of(KeyType.CONFIG),
+            10);
+
+    /**
+     * Delay in milliseconds before retrying spool replay after a failure.
+     */
+    public static final ConfigKey<Long> FORWARD_SPOOL_INTERVAL = new LongConfigKey(
+            "forward.spool.interval",
+            List.of(KeyType.CONFIG),
+            10000L);
+
     /**
      * Events forwarding format. Available options are "json" and "kafka". Default is "json".
      */
@@ -1020,6 +1278,14 @@ public final class Keys {
             List.of(KeyType.CONFIG),
             "templates");
 
+    /**
+     * Interval in seconds for checking template files for modifications. Parsed templates are cached in between.
+     */
+    public static final ConfigKey<Long> TEMPLATES_CHECK_INTERVAL = new LongConfigKey(
+            "templates.checkInterval",
+            List.of(KeyType.CONFIG),
+            10L);
+
     /**
      * Log emails instead of sending them via SMTP. Intended for testing purposes only.
      */
@@ -1606,6 +1872,31 @@ public final class Keys {
             "processing.useLinkedDriver",
             List.of(KeyType.CONFIG));
 
+    /**
+     * Trace every Nth processed position through the handler chain. Traces record the time spent in each position
+     * handler, event handler and post-processing. Results are available via 'api/traces' for administrators.
+     * Disabled by default.
+     */
+    public static final ConfigKey<Integer> PROCESSING_TRACE_INTERVAL = new IntegerConfigKey(
+            "processing.trace.interval",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Number of most recent processing traces kept in memory.
+     */
+    public static final ConfigKey<Integer> PROCESSING_TRACE_SIZE = new IntegerConfigKey(
+            "processing.trace.size",
+            List.of(KeyType.CONFIG),
+            1024);
+
+    /**
+     * Number of slowest processing traces kept in memory.
+     */
+    public static final ConfigKey<Integer> PROCESSING_TRACE_SLOWEST = new IntegerConfigKey(
+            "processing.trace.slowest",
+            List.of(KeyType.CONFIG),
+            20);
+
     /**
      * Enable copying of missing attributes from last position to the current one. Might be useful if device doesn't
      * send some values in every message.
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017 - 2022 Anton Tananaev (anton@traccar.org)
+ * Copyright 2017 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,13 +27,27 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
 import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 @Singleton
 public class MediaManager {
@@ -42,9 +56,56 @@ public class MediaManager {
 
     private final String path;
 
+    private final long uploadDeviceLimit;
+    private final long uploadLimit;
+    private final long uploadTimeout;
+
+    /**
+     * Creates, moves and deletes upload files and drops stale uploads, so none of it runs on network threads.
+     */
+    private final ScheduledExecutorService uploadExecutor;
+
+    private record UploadKey(String uniqueId, long uploadId) {
+    }
+
+    private record UploadFile(Path file, AsynchronousFileChannel channel) {
+    }
+
+    private static final class Upload {
+        private final long size;
+        private final CompletableFuture<UploadFile> target;
+        private CompletableFuture<Void> pending;
+        private long received;
+        private final NavigableMap<Long, Long> ranges = new TreeMap<>();
+        private long lastUpdate;
+
+        private Upload(long size, CompletableFuture<UploadFile> target) {
+            this.size = size;
+            this.target = target;
+            pending = target.thenAccept(file -> { });
+        }
+    }
+
+    private final Map<UploadKey, Upload> uploads = new LinkedHashMap<>();
+    private long uploadSize;
+
     @Inject
     public MediaManager(Config config) {
         path = config.getString(Keys.MEDIA_PATH);
+        uploadDeviceLimit = config.getLong(Keys.MEDIA_UPLOAD_DEVICE_LIMIT);
+        uploadLimit = config.getLong(Keys.MEDIA_UPLOAD_LIMIT);
+        uploadTimeout = config.getLong(Keys.MEDIA_UPLOAD_TIMEOUT) * 1000;
+        if (path != null) {
+            uploadExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "media-upload");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long period = Math.max(uploadTimeout, 1000);
+            uploadExecutor.scheduleWithFixedDelay(this::removeStale, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            uploadExecutor = null;
+        }
     }
 
     private File createFile(String uniqueId, String name) throws IOException {
@@ -56,6 +117,10 @@ public class MediaManager {
         return filePath.toFile();
     }
 
+    private static String createName(String extension) {
+        return new SimpleDateFormat("yyyyMMddHHmmss").format(new Date()) + "." + extension;
+    }
+
     public OutputStream createFileStream(String uniqueId, String name, String extension) throws IOException {
         return new FileOutputStream(createFile(uniqueId, name + "." + extension));
     }
@@ -63,10 +128,10 @@ public class MediaManager {
     public String writeFile(String uniqueId, ByteBuf buf, String extension) {
         if (path != null) {
             int size = buf.readableBytes();
-            String name = new SimpleDateFormat("yyyyMMddHHmmss").format(new Date()) + "." + extension;
+            String name = createName(extension);
             try (FileOutputStream output = new FileOutputStream(createFile(uniqueId, name));
                     FileChannel fileChannel = output.getChannel()) {
-                    ByteBuffer byteBuffer = buf.nioBuffer();
+                ByteBuffer byteBuffer = buf.nioBuffer();
                 int written = 0;
                 while (written < size) {
                     written += fileChannel.write(byteBuffer);
@@ -80,4 +145,193 @@ public class MediaManager {
         return null;
     }
 
+    private UploadFile openUpload(String uniqueId) {
+        try {
+            Path directory = Files.createDirectories(Paths.get(path, uniqueId));
+            Path file = Files.createTempFile(directory, "upload", ".tmp");
+            return new UploadFile(file, AsynchronousFileChannel.open(file, StandardOpenOption.WRITE));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Starts assembling a file that device sends in chunks. The temporary file is created on a worker thread and data
+     * is written to it as it arrives. Older incomplete uploads are dropped if the new upload doesn't fit into the
+     * configured limits. Uploads without new data are dropped after the configured timeout.
+     *
+     * @return false if upload is not possible
+     */
+    public boolean startUpload(String uniqueId, long uploadId, long size) {
+        if (path == null || size <= 0 || size > uploadDeviceLimit || size > uploadLimit) {
+            return false;
+        }
+        Upload upload = new Upload(size, CompletableFuture.supplyAsync(() -> openUpload(uniqueId), uploadExecutor));
+        UploadKey key = new UploadKey(uniqueId, uploadId);
+        synchronized (uploads) {
+            long now = System.currentTimeMillis();
+            upload.lastUpdate = now;
+            removeStale(now);
+            Upload previous = uploads.remove(key);
+            if (previous != null) {
+                discard(previous);
+            }
+            long deviceSize = 0;
+            for (var entry : uploads.entrySet()) {
+                if (entry.getKey().uniqueId().equals(uniqueId)) {
+                    deviceSize += entry.getValue().size;
+                }
+            }
+            Iterator<Map.Entry<UploadKey, Upload>> iterator = uploads.entrySet().iterator();
+            while (iterator.hasNext() && (deviceSize + size > uploadDeviceLimit || uploadSize + size > uploadLimit)) {
+                var entry = iterator.next();
+                boolean device = entry.getKey().uniqueId().equals(uniqueId);
+                if (device || uploadSize + size > uploadLimit) {
+                    iterator.remove();
+                    discard(entry.getValue());
+                    if (device) {
+                        deviceSize -= entry.getValue().size;
+                    }
+                }
+            }
+            uploads.put(key, upload);
+            uploadSize += size;
+        }
+        return true;
+    }
+
+    /**
+     * Writes a chunk of an upload, consuming all readable bytes of the buffer. Data beyond the size declared in
+     * {@link #startUpload} is ignored. Chunks can arrive in any order, but the upload is only complete when there are
+     * no gaps left.
+     *
+     * @return number of bytes after the end of data received without gaps from the start, or -1 if upload is unknown
+     */
+    public long writeUpload(String uniqueId, long uploadId, long offset, ByteBuf buf) {
+        Upload upload;
+        synchronized (uploads) {
+            upload = uploads.get(new UploadKey(uniqueId, uploadId));
+            if (upload == null || offset < 0) {
+                buf.skipBytes(buf.readableBytes());
+                return -1;
+            }
+            upload.lastUpdate = System.currentTimeMillis();
+        }
+        int count = (int) Math.min(buf.readableBytes(), Math.max(upload.size - offset, 0));
+        ByteBuf data = buf.readRetainedSlice(count);
+        buf.skipBytes(buf.readableBytes());
+        CompletableFuture<Void> result = upload.target.thenCompose(target -> {
+            CompletableFuture<Void> written = new CompletableFuture<>();
+            write(target.channel(), data.nioBuffer(), offset, written);
+            return written;
+        });
+        result.whenComplete((value, error) -> data.release());
+        synchronized (uploads) {
+            upload.pending = CompletableFuture.allOf(upload.pending, result);
+            if (count > 0) {
+                long end = offset + count;
+                if (offset <= upload.received) {
+                    upload.received = Math.max(upload.received, end);
+                } else {
+                    upload.ranges.merge(offset, end, Math::max);
+                }
+                Map.Entry<Long, Long> range;
+                while ((range = upload.ranges.firstEntry()) != null && range.getKey() <= upload.received) {
+                    upload.ranges.pollFirstEntry();
+                    upload.received = Math.max(upload.received, range.getValue());
+                }
+            }
+            return upload.size - upload.received;
+        }
+    }
+
+    /**
+     * Finishes an upload. The file is moved to its final location on a worker thread after all chunks are written.
+     *
+     * @return name of the media file, or null if upload is unknown
+     */
+    public String finishUpload(String uniqueId, long uploadId, String extension) {
+        Upload upload;
+        synchronized (uploads) {
+            upload = uploads.remove(new UploadKey(uniqueId, uploadId));
+            if (upload == null) {
+                return null;
+            }
+            uploadSize -= upload.size;
+        }
+        String name = createName(extension);
+        close(upload, uniqueId, name);
+        return name;
+    }
+
+    private void removeStale() {
+        synchronized (uploads) {
+            removeStale(System.currentTimeMillis());
+        }
+    }
+
+    private void removeStale(long now) {
+        Iterator<Upload> iterator = uploads.values().iterator();
+        while (iterator.hasNext()) {
+            Upload upload = iterator.next();
+            if (now - upload.lastUpdate > uploadTimeout) {
+                iterator.remove();
+                discard(upload);
+            }
+        }
+    }
+
+    private void discard(Upload upload) {
+        uploadSize -= upload.size;
+        close(upload, null, null);
+    }
+
+    /**
+     * Closes the upload file after pending writes. The file is moved to the media directory if name is provided and
+     * all writes succeeded, otherwise it is deleted.
+     */
+    private void close(Upload upload, String uniqueId, String name) {
+        upload.pending.whenCompleteAsync((value, error) -> {
+            if (upload.target.isCompletedExceptionally()) {
+                LOGGER.warn("Create media upload error", error);
+                return;
+            }
+            UploadFile target = upload.target.join();
+            try {
+                if (name != null && error == null) {
+                    target.channel().force(false);
+                    target.channel().close();
+                    Files.move(target.file(), createFile(uniqueId, name).toPath(), StandardCopyOption.REPLACE_EXISTING);
+                } else {
+                    if (error != null) {
+                        LOGGER.warn("Write media upload error", error);
+                    }
+                    target.channel().close();
+                    Files.deleteIfExists(target.file());
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Save media upload error", e);
+            }
+        }, uploadExecutor);
+    }
+
+    private static void write(
+            AsynchronousFileChannel channel, ByteBuffer buffer, long position, CompletableFuture<Void> result) {
+        if (!buffer.hasRemaining()) {
+            result.complete(null);
+            return;
+        }
+        channel.write(buffer, position, null, new CompletionHandler<Integer, Void>() {
+            @Override
+            public void completed(Integer count, Void attachment) {
+                write(channel, buffer, position + count, result);
+            }
+
+            @Override
+            public void failed(Throwable e, Void attachment) {
+                result.completeExceptionally(e);
+            }
+        });
+    }
+
 }
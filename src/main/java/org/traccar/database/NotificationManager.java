@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 - 2022 Anton Tananaev (anton@traccar.org)
+ * Copyright 2016 - 2025 Anton Tananaev (anton@traccar.org)
  * Copyright 2016 - 2018 Andrey Kunitsyn (andrey@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
@@ -16,6 +16,7 @@
  */
 package org.traccar.database;
 
+import org.apache.velocity.context.Context;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.traccar.config.Config;
@@ -31,6 +32,7 @@ import org.traccar.model.Geofence;
 import org.traccar.model.Maintenance;
 import org.traccar.model.Position;
 import org.traccar.notification.MessageException;
+import org.traccar.notification.NotificationFormatter;
 import org.traccar.notification.NotificatorManager;
 import org.traccar.session.cache.CacheManager;
 import org.traccar.storage.Storage;
@@ -56,6 +58,7 @@ public class NotificationManager {
     private final CacheManager cacheManager;
     private final EventForwarder eventForwarder;
     private final NotificatorManager notificatorManager;
+    private final NotificationFormatter notificationFormatter;
     private final Geocoder geocoder;
 
     private final boolean geocodeOnRequest;
@@ -65,11 +68,13 @@ public class NotificationManager {
     @Inject
     public NotificationManager(
             Config config, Storage storage, CacheManager cacheManager, @Nullable EventForwarder eventForwarder,
-            NotificatorManager notificatorManager, @Nullable Geocoder geocoder) {
+            NotificatorManager notificatorManager, NotificationFormatter notificationFormatter,
+            @Nullable Geocoder geocoder) {
         this.storage = storage;
         this.cacheManager = cacheManager;
         this.eventForwarder = eventForwarder;
         this.notificatorManager = notificatorManager;
+        this.notificationFormatter = notificationFormatter;
         this.geocoder = geocoder;
         geocodeOnRequest = config.getBoolean(Keys.GEOCODER_ON_REQUEST);
         timeThreshold = config.getLong(Keys.NOTIFICATOR_TIME_THRESHOLD);
@@ -128,6 +133,7 @@ public class NotificationManager {
                 position.setAddress(geocoder.getAddress(position.getLatitude(), position.getLongitude(), null));
             }
 
+            Context sharedContext = notificationFormatter.prepareSharedContext(event, position);
             notifications.forEach(notification -> {
                 cacheManager.getNotificationUsers(notification.getId(), event.getDeviceId()).forEach(user -> {
                     if (blockedUsers.contains(user.getId())) {
@@ -136,7 +142,8 @@ public class NotificationManager {
                     }
                     for (String notificator : notification.getNotificatorsTypes()) {
                         try {
-                            notificatorManager.getNotificator(notificator).send(notification, user, event, position);
+                            notificatorManager.getNotificator(notificator)
+                                    .send(notification, user, event, position, sharedContext);
                         } catch (MessageException exception) {
                             LOGGER.warn("Notification failed", exception);
                         }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 - 2024 Anton Tananaev (anton@traccar.org)
+ * Copyright 2016 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -34,39 +34,45 @@ import jakarta.inject.Singleton;
 import jakarta.ws.rs.client.Client;
 import jakarta.ws.rs.client.Entity;
 import jakarta.ws.rs.core.Form;
-import java.util.Calendar;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 @Singleton
 public class StatisticsManager {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(StatisticsManager.class);
 
-    private static final int SPLIT_MODE = Calendar.DAY_OF_MONTH;
-
     private final Config config;
     private final Storage storage;
     private final Client client;
     private final ObjectMapper objectMapper;
 
-    private final AtomicInteger lastUpdate = new AtomicInteger(Calendar.getInstance().get(SPLIT_MODE));
-
-    private final Set<Long> users = new HashSet<>();
-    private final Map<Long, String> deviceProtocols = new HashMap<>();
-    private final Map<Long, Integer> deviceMessages = new HashMap<>();
+    /**
+     * Counters for a single day. The whole period is replaced on split, so registration never takes a lock.
+     */
+    private static final class Period {
+        private final Set<Long> users = ConcurrentHashMap.newKeySet();
+        private final Map<Long, String> deviceProtocols = new ConcurrentHashMap<>();
+        private final Map<Long, LongAdder> deviceMessages = new ConcurrentHashMap<>();
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder messagesReceived = new LongAdder();
+        private final LongAdder messagesStored = new LongAdder();
+        private final LongAdder mailSent = new LongAdder();
+        private final LongAdder smsSent = new LongAdder();
+        private final LongAdder geocoderRequests = new LongAdder();
+        private final LongAdder geolocationRequests = new LongAdder();
+    }
 
-    private int requests;
-    private int messagesReceived;
-    private int messagesStored;
-    private int mailSent;
-    private int smsSent;
-    private int geocoderRequests;
-    private int geolocationRequests;
+    private final AtomicReference<Period> period = new AtomicReference<>(new Period());
+    private final AtomicLong nextSplit = new AtomicLong(getNextSplit());
 
     @Inject
     public StatisticsManager(Config config, Storage storage, Client client, ObjectMapper objectMapper) {
@@ -76,132 +82,125 @@ public class StatisticsManager {
         this.objectMapper = objectMapper;
     }
 
-    private void checkSplit() {
-        int currentUpdate = Calendar.getInstance().get(SPLIT_MODE);
-        if (lastUpdate.getAndSet(currentUpdate) != currentUpdate) {
-            Statistics statistics = new Statistics();
-
-            synchronized (this) {
-                statistics.setCaptureTime(new Date());
-                statistics.setActiveUsers(users.size());
-                statistics.setActiveDevices(deviceProtocols.size());
-                statistics.setRequests(requests);
-                statistics.setMessagesReceived(messagesReceived);
-                statistics.setMessagesStored(messagesStored);
-                statistics.setMailSent(mailSent);
-                statistics.setSmsSent(smsSent);
-                statistics.setGeocoderRequests(geocoderRequests);
-                statistics.setGeolocationRequests(geolocationRequests);
-                if (!deviceProtocols.isEmpty()) {
-                    Map<String, Integer> protocols = new HashMap<>();
-                    for (String protocol : deviceProtocols.values()) {
-                        protocols.compute(protocol, (key, count) -> count != null ? count + 1 : 1);
-                    }
-                    statistics.setProtocols(protocols);
-                }
+    private static long getNextSplit() {
+        ZoneId zone = ZoneId.systemDefault();
+        return LocalDate.now(zone).plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+    }
 
-                users.clear();
-                deviceProtocols.clear();
-                deviceMessages.clear();
-                requests = 0;
-                messagesReceived = 0;
-                messagesStored = 0;
-                mailSent = 0;
-                smsSent = 0;
-                geocoderRequests = 0;
-                geolocationRequests = 0;
-            }
+    private Period currentPeriod() {
+        long split = nextSplit.get();
+        if (System.currentTimeMillis() >= split && nextSplit.compareAndSet(split, getNextSplit())) {
+            Period previous = period.getAndSet(new Period());
+            saveStatistics(previous);
+        }
+        return period.get();
+    }
 
-            try {
-                storage.addObject(statistics, new Request(new Columns.Exclude("id")));
-            } catch (StorageException e) {
-                LOGGER.warn("Error saving statistics", e);
+    private void saveStatistics(Period previous) {
+        Statistics statistics = new Statistics();
+        statistics.setCaptureTime(new Date());
+        statistics.setActiveUsers(previous.users.size());
+        statistics.setActiveDevices(previous.deviceProtocols.size());
+        statistics.setRequests(previous.requests.intValue());
+        statistics.setMessagesReceived(previous.messagesReceived.intValue());
+        statistics.setMessagesStored(previous.messagesStored.intValue());
+        statistics.setMailSent(previous.mailSent.intValue());
+        statistics.setSmsSent(previous.smsSent.intValue());
+        statistics.setGeocoderRequests(previous.geocoderRequests.intValue());
+        statistics.setGeolocationRequests(previous.geolocationRequests.intValue());
+        if (!previous.deviceProtocols.isEmpty()) {
+            Map<String, Integer> protocols = new HashMap<>();
+            for (String protocol : previous.deviceProtocols.values()) {
+                protocols.merge(protocol, 1, Integer::sum);
             }
+            statistics.setProtocols(protocols);
+        }
+
+        try {
+            storage.addObject(statistics, new Request(new Columns.Exclude("id")));
+        } catch (StorageException e) {
+            LOGGER.warn("Error saving statistics", e);
+        }
 
-            String url = config.getString(Keys.SERVER_STATISTICS);
-            if (url != null && !url.isEmpty()) {
-                String time = DateUtil.formatDate(statistics.getCaptureTime());
-
-                Form form = new Form();
-                form.param("version", getClass().getPackage().getImplementationVersion());
-                form.param("captureTime", time);
-                form.param("activeUsers", String.valueOf(statistics.getActiveUsers()));
-                form.param("activeDevices", String.valueOf(statistics.getActiveDevices()));
-                form.param("requests", String.valueOf(statistics.getRequests()));
-                form.param("messagesReceived", String.valueOf(statistics.getMessagesReceived()));
-                form.param("messagesStored", String.valueOf(statistics.getMessagesStored()));
-                form.param("mailSent", String.valueOf(statistics.getMailSent()));
-                form.param("smsSent", String.valueOf(statistics.getSmsSent()));
-                form.param("geocoderRequests", String.valueOf(statistics.getGeocoderRequests()));
-                form.param("geolocationRequests", String.valueOf(statistics.getGeolocationRequests()));
-                if (statistics.getProtocols() != null) {
-                    try {
-                        form.param("protocols", objectMapper.writeValueAsString(statistics.getProtocols()));
-                    } catch (JsonProcessingException e) {
-                        LOGGER.warn("Failed to serialize protocols", e);
-                    }
+        String url = config.getString(Keys.SERVER_STATISTICS);
+        if (url != null && !url.isEmpty()) {
+            String time = DateUtil.formatDate(statistics.getCaptureTime());
+
+            Form form = new Form();
+            form.param("version", getClass().getPackage().getImplementationVersion());
+            form.param("captureTime", time);
+            form.param("activeUsers", String.valueOf(statistics.getActiveUsers()));
+            form.param("activeDevices", String.valueOf(statistics.getActiveDevices()));
+            form.param("requests", String.valueOf(statistics.getRequests()));
+            form.param("messagesReceived", String.valueOf(statistics.getMessagesReceived()));
+            form.param("messagesStored", String.valueOf(statistics.getMessagesStored()));
+            form.param("mailSent", String.valueOf(statistics.getMailSent()));
+            form.param("smsSent", String.valueOf(statistics.getSmsSent()));
+            form.param("geocoderRequests", String.valueOf(statistics.getGeocoderRequests()));
+            form.param("geolocationRequests", String.valueOf(statistics.getGeolocationRequests()));
+            if (statistics.getProtocols() != null) {
+                try {
+                    form.param("protocols", objectMapper.writeValueAsString(statistics.getProtocols()));
+                } catch (JsonProcessingException e) {
+                    LOGGER.warn("Failed to serialize protocols", e);
                 }
-                if (!statistics.getAttributes().isEmpty()) {
-                    try {
-                        form.param("attributes", objectMapper.writeValueAsString(statistics.getAttributes()));
-                    } catch (JsonProcessingException e) {
-                        LOGGER.warn("Failed to serialize attributes", e);
-                    }
+            }
+            if (!statistics.getAttributes().isEmpty()) {
+                try {
+                    form.param("attributes", objectMapper.writeValueAsString(statistics.getAttributes()));
+                } catch (JsonProcessingException e) {
+                    LOGGER.warn("Failed to serialize attributes", e);
                 }
-
-                client.target(url).request().async().post(Entity.form(form));
             }
+
+            client.target(url).request().async().post(Entity.form(form));
         }
     }
 
-    public synchronized void registerRequest(long userId) {
-        checkSplit();
-        requests += 1;
+    public void registerRequest(long userId) {
+        Period current = currentPeriod();
+        current.requests.increment();
         if (userId != 0 && userId != ServiceAccountUser.ID) {
-            users.add(userId);
+            current.users.add(userId);
         }
     }
 
-    public synchronized void registerMessageReceived() {
-        checkSplit();
-        messagesReceived += 1;
+    public void registerMessageReceived() {
+        currentPeriod().messagesReceived.increment();
     }
 
-    public synchronized void registerMessageStored(long deviceId, String protocol) {
-        checkSplit();
-        messagesStored += 1;
+    public void registerMessageStored(long deviceId, String protocol) {
+        Period current = currentPeriod();
+        current.messagesStored.increment();
         if (deviceId != 0) {
-            deviceProtocols.put(deviceId, protocol);
-            deviceMessages.merge(deviceId, 1, Integer::sum);
+            current.deviceProtocols.put(deviceId, protocol);
+            current.deviceMessages.computeIfAbsent(deviceId, k -> new LongAdder()).increment();
         }
     }
 
-    public synchronized int messageStoredCount() {
-        return messagesStored;
+    public int messageStoredCount() {
+        return currentPeriod().messagesStored.intValue();
     }
 
-    public synchronized int messageStoredCount(long deviceId) {
-        return deviceMessages.getOrDefault(deviceId, 0);
+    public int messageStoredCount(long deviceId) {
+        LongAdder count = currentPeriod().deviceMessages.get(deviceId);
+        return count != null ? count.intValue() : 0;
     }
 
-    public synchronized void registerMail() {
-        checkSplit();
-        mailSent += 1;
+    public void registerMail() {
+        currentPeriod().mailSent.increment();
     }
 
-    public synchronized void registerSms() {
-        checkSplit();
-        smsSent += 1;
+    public void registerSms() {
+        currentPeriod().smsSent.increment();
     }
 
-    public synchronized void registerGeocoderRequest() {
-        checkSplit();
-        geocoderRequests += 1;
+    public void registerGeocoderRequest() {
+        currentPeriod().geocoderRequests.increment();
     }
 
-    public synchronized void registerGeolocationRequest() {
-        checkSplit();
-        geolocationRequests += 1;
+    public void registerGeolocationRequest() {
+        currentPeriod().geolocationRequests.increment();
     }
 
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2022 Anton Tananaev (anton@traccar.org)
+ * Copyright 2022 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,39 +17,28 @@ package org.traccar.forward;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.apache.kafka.clients.producer.KafkaProducer;
-import org.apache.kafka.clients.producer.Producer;
-import org.apache.kafka.clients.producer.ProducerRecord;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 
-import java.util.Properties;
-
 public class EventForwarderKafka implements EventForwarder {
 
-    private final Producer<String, String> producer;
-    private final ObjectMapper objectMapper;
-
-    private final String topic;
+    private final KafkaClient kafkaClient;
+    private final ObjectWriter objectWriter;
 
     public EventForwarderKafka(Config config, ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
-        Properties properties = new Properties();
-        properties.put("bootstrap.servers", config.getString(Keys.EVENT_FORWARD_URL));
-        properties.put("acks", "all");
-        properties.put("key.serializer", "org.apache.kafka.common.serialization.StringSerializer");
-        properties.put("value.serializer", "org.apache.kafka.common.serialization.StringSerializer");
-        producer = new KafkaProducer<>(properties);
-        topic = config.getString(Keys.EVENT_FORWARD_TOPIC);
+        kafkaClient = new KafkaClient(
+                config, config.getString(Keys.EVENT_FORWARD_URL), config.getString(Keys.EVENT_FORWARD_TOPIC));
+        objectWriter = objectMapper.writerFor(EventData.class);
     }
 
     @Override
     public void forward(EventData eventData, ResultHandler resultHandler) {
         try {
             String key = Long.toString(eventData.getDevice().getId());
-            String value = objectMapper.writeValueAsString(eventData);
-            producer.send(new ProducerRecord<>(topic, key, value));
-            resultHandler.onResult(true, null);
+            byte[] value = kafkaClient.isProtobuf()
+                    ? ForwardProtobuf.toBytes(eventData) : objectWriter.writeValueAsBytes(eventData);
+            kafkaClient.send(key, value, resultHandler);
         } catch (JsonProcessingException e) {
             resultHandler.onResult(false, e);
         }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.forward;
+
+import org.traccar.model.Device;
+import org.traccar.model.Event;
+import org.traccar.model.Position;
+import org.traccar.protobuf.forward.ForwardMessages;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class ForwardProtobuf {
+
+    private ForwardProtobuf() {
+    }
+
+    private static long toTime(Date date) {
+        return date != null ? date.getTime() : 0;
+    }
+
+    private static Map<String, String> convertAttributes(Map<String, Object> attributes) {
+        Map<String, String> result = new HashMap<>();
+        attributes.forEach((key, value) -> {
+            if (value != null) {
+                result.put(key, value.toString());
+            }
+        });
+        return result;
+    }
+
+    private static ForwardMessages.Device convert(Device device) {
+        var builder = ForwardMessages.Device.newBuilder().setId(device.getId());
+        if (device.getUniqueId() != null) {
+            builder.setUniqueId(device.getUniqueId());
+        }
+        if (device.getName() != null) {
+            builder.setName(device.getName());
+        }
+        if (device.getStatus() != null) {
+            builder.setStatus(device.getStatus());
+        }
+        return builder.build();
+    }
+
+    private static ForwardMessages.Position convert(Position position) {
+        var builder = ForwardMessages.Position.newBuilder()
+                .setId(position.getId())
+                .setDeviceId(position.getDeviceId())
+                .setServerTime(toTime(position.getServerTime()))
+                .setDeviceTime(toTime(position.getDeviceTime()))
+                .setFixTime(toTime(position.getFixTime()))
+                .setValid(position.getValid())
+                .setLatitude(position.getLatitude())
+                .setLongitude(position.getLongitude())
+                .setAltitude(position.getAltitude())
+                .setSpeed(position.getSpeed())
+                .setCourse(position.getCourse())
+                .setAccuracy(position.getAccuracy());
+        if (position.getProtocol() != null) {
+            builder.setProtocol(position.getProtocol());
+        }
+        if (position.getAddress() != null) {
+            builder.setAddress(position.getAddress());
+        }
+        builder.putAllAttributes(convertAttributes(position.getAttributes()));
+        return builder.build();
+    }
+
+    private static ForwardMessages.Event convert(Event event) {
+        var builder = ForwardMessages.Event.newBuilder()
+                .setId(event.getId())
+                .setDeviceId(event.getDeviceId())
+                .setEventTime(toTime(event.getEventTime()))
+                .setPositionId(event.getPositionId())
+                .setGeofenceId(event.getGeofenceId())
+                .setMaintenanceId(event.getMaintenanceId());
+        if (event.getType() != null) {
+            builder.setType(event.getType());
+        }
+        builder.putAllAttributes(convertAttributes(event.getAttributes()));
+        return builder.build();
+    }
+
+    public static byte[] toBytes(PositionData positionData) {
+        var builder = ForwardMessages.PositionMessage.newBuilder();
+        if (positionData.getPosition() != null) {
+            builder.setPosition(convert(positionData.getPosition()));
+        }
+        if (positionData.getDevice() != null) {
+            builder.setDevice(convert(positionData.getDevice()));
+        }
+        return builder.build().toByteArray();
+    }
+
+    public static byte[] toBytes(EventData eventData) {
+        var builder = ForwardMessages.EventMessage.newBuilder();
+        if (eventData.getEvent() != null) {
+            builder.setEvent(convert(eventData.getEvent()));
+        }
+        if (eventData.getPosition() != null) {
+            builder.setPosition(convert(eventData.getPosition()));
+        }
+        if (eventData.getDevice() != null) {
+            builder.setDevice(convert(eventData.getDevice()));
+        }
+        return builder.build().toByteArray();
+    }
+
+}
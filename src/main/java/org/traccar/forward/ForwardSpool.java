@@ -0,0 +1,203 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.forward;
+
+import io.netty.util.internal.PlatformDependent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Append-only spool of undelivered forwarding records. Data is stored in memory-mapped segment files. Each record
+ * is prefixed with its length, and the length is negated once the record is delivered, so the read position can be
+ * restored after restart by scanning the segments.
+ */
+public class ForwardSpool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ForwardSpool.class);
+
+    private static final String PREFIX = "spool-";
+    private static final String SUFFIX = ".dat";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long maxSize;
+
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private volatile boolean pending;
+
+    private static final class Segment {
+
+        private final long index;
+        private final Path file;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int readPosition;
+        private int writePosition;
+
+        private Segment(long index, Path file, int size) throws IOException {
+            this.index = index;
+            this.file = file;
+            channel = FileChannel.open(
+                    file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, channel.size()));
+            boolean consumed = true;
+            while (writePosition + Integer.BYTES <= buffer.capacity()) {
+                int length = buffer.getInt(writePosition);
+                if (length == 0) {
+                    break;
+                }
+                if (length > 0) {
+                    consumed = false;
+                } else if (consumed) {
+                    readPosition = writePosition + Integer.BYTES - length;
+                }
+                writePosition += Integer.BYTES + Math.abs(length);
+            }
+        }
+
+        private boolean isConsumed() {
+            return readPosition >= writePosition;
+        }
+
+        private void delete() {
+            PlatformDependent.freeDirectBuffer(buffer); // unmap right away instead of waiting for garbage collection
+            try {
+                channel.close();
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                LOGGER.warn("Spool segment delete error", e);
+            }
+        }
+
+    }
+
+    public record Entry(Object segment, int position, byte[] data) {
+    }
+
+    public ForwardSpool(Config config) throws IOException {
+        directory = Paths.get(config.getString(Keys.FORWARD_SPOOL_PATH));
+        segmentSize = config.getInteger(Keys.FORWARD_SPOOL_SEGMENT_SIZE);
+        maxSize = config.getLong(Keys.FORWARD_SPOOL_MAX_SIZE);
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(this::isSegment).sorted().toList()) {
+                String name = file.getFileName().toString();
+                long index = Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+                segments.add(new Segment(index, file, segmentSize));
+            }
+        }
+        while (segments.size() > 1 && segments.getFirst().isConsumed()) {
+            segments.removeFirst().delete();
+        }
+        updatePending();
+    }
+
+    private void updatePending() {
+        pending = !segments.stream().allMatch(Segment::isConsumed);
+    }
+
+    private boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    private Segment createSegment(long index) throws IOException {
+        Path file = directory.resolve(String.format("%s%019d%s", PREFIX, index, SUFFIX));
+        Segment segment = new Segment(index, file, segmentSize);
+        segments.addLast(segment);
+        while (segments.size() > 1 && (long) segments.size() * segmentSize > maxSize) {
+            LOGGER.warn("Forwarding spool size limit reached, dropping oldest segment");
+            segments.removeFirst().delete();
+        }
+        return segment;
+    }
+
+    public synchronized void write(byte[] data) throws IOException {
+        int recordSize = Integer.BYTES + data.length;
+        if (recordSize > segmentSize) {
+            throw new IOException("Record exceeds spool segment size");
+        }
+        Segment segment = segments.peekLast();
+        if (segment == null || segment.writePosition + recordSize > segment.buffer.capacity()) {
+            long index = 0;
+            if (segment != null) {
+                segment.buffer.force();
+                index = segment.index + 1;
+            }
+            segment = createSegment(index);
+        }
+        segment.buffer.put(segment.writePosition + Integer.BYTES, data);
+        segment.buffer.putInt(segment.writePosition, data.length);
+        segment.writePosition += recordSize;
+        pending = true;
+    }
+
+    /**
+     * Checked after every delivery, so it reads a flag instead of taking the lock.
+     */
+    public boolean isEmpty() {
+        return !pending;
+    }
+
+    public synchronized List<Entry> read(int limit) {
+        List<Entry> entries = new ArrayList<>();
+        for (Segment segment : segments) {
+            int position = segment.readPosition;
+            while (position < segment.writePosition && entries.size() < limit) {
+                int length = segment.buffer.getInt(position);
+                byte[] data = new byte[length];
+                segment.buffer.get(position + Integer.BYTES, data);
+                entries.add(new Entry(segment, position, data));
+                position += Integer.BYTES + length;
+            }
+            if (entries.size() >= limit) {
+                break;
+            }
+        }
+        return entries;
+    }
+
+    public synchronized void commit(Entry entry) {
+        Segment segment = (Segment) entry.segment();
+        if (segments.contains(segment) && segment.readPosition == entry.position()) {
+            segment.buffer.putInt(entry.position(), -entry.data().length);
+            segment.readPosition += Integer.BYTES + entry.data().length;
+            if (segment.isConsumed()) {
+                if (segment != segments.getLast()) {
+                    segments.remove(segment);
+                    segment.delete();
+                }
+                updatePending();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.forward;
+
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+
+import java.util.Properties;
+
+public class KafkaClient {
+
+    private final Producer<String, byte[]> producer;
+    private final String topic;
+    private final boolean protobuf;
+
+    KafkaClient(Config config, String servers, String topic) {
+        this.topic = topic;
+        protobuf = config.getString(Keys.FORWARD_KAFKA_FORMAT).equals("protobuf");
+
+        Properties properties = new Properties();
+        properties.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, servers);
+        properties.put(ProducerConfig.ACKS_CONFIG, "all");
+        properties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+        properties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+        properties.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, config.getString(Keys.FORWARD_KAFKA_COMPRESSION));
+        if (config.hasKey(Keys.FORWARD_KAFKA_LINGER)) {
+            properties.put(ProducerConfig.LINGER_MS_CONFIG, config.getInteger(Keys.FORWARD_KAFKA_LINGER));
+        }
+        if (config.hasKey(Keys.FORWARD_KAFKA_BATCH_SIZE)) {
+            properties.put(ProducerConfig.BATCH_SIZE_CONFIG, config.getInteger(Keys.FORWARD_KAFKA_BATCH_SIZE));
+        }
+        producer = new KafkaProducer<>(properties);
+    }
+
+    public boolean isProtobuf() {
+        return protobuf;
+    }
+
+    public void send(String key, byte[] value, ResultHandler resultHandler) {
+        try {
+            producer.send(new ProducerRecord<>(topic, key, value),
+                    (metadata, exception) -> resultHandler.onResult(exception == null, exception));
+        } catch (KafkaException e) {
+            resultHandler.onResult(false, e);
+        }
+    }
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2022 Anton Tananaev (anton@traccar.org)
+ * Copyright 2022 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,4 +17,13 @@ package org.traccar.forward;
 
 public interface PositionForwarder {
     void forward(PositionData positionData, ResultHandler resultHandler);
+
+    /**
+     * Forwards position data already serialized by the shared object mapper, for example when replaying the spool.
+     *
+     * @return false if the forwarder needs decoded data, in which case the result handler is not called
+     */
+    default boolean forwardSerialized(byte[] data, ResultHandler resultHandler) {
+        return false;
+    }
 }
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.forward;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.client.InvocationCallback;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+public class PositionForwarderBatch implements PositionForwarder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PositionForwarderBatch.class);
+
+    private static final MediaType NDJSON_TYPE = new MediaType("application", "x-ndjson");
+
+    private final String url;
+    private final Map<String, String> headers = new LinkedHashMap<>();
+    private final MediaType mediaType;
+    private final boolean ndjson;
+    private final boolean compress;
+    private final int maxSize;
+    private final int maxBytes;
+    private final long interval;
+    private final int window;
+    private final int queueLimit;
+
+    private final Client client;
+    private final ObjectMapper objectMapper;
+    private final Timer timer;
+    private final ExecutorService executorService;
+
+    private record Item(byte[] data, ResultHandler resultHandler) {
+    }
+
+    private List<Item> items = new ArrayList<>();
+    private int bytes;
+    private Timeout timeout;
+    private int inFlight;
+    private final Deque<List<Item>> queue = new ArrayDeque<>();
+
+    public PositionForwarderBatch(
+            Config config, Client client, ObjectMapper objectMapper, Timer timer, ExecutorService executorService) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.timer = timer;
+        this.executorService = executorService;
+        url = config.getString(Keys.FORWARD_URL);
+        ndjson = config.getString(Keys.FORWARD_BATCH_FORMAT).equals("ndjson");
+        compress = config.getBoolean(Keys.FORWARD_BATCH_COMPRESS);
+        maxSize = config.getInteger(Keys.FORWARD_BATCH_SIZE);
+        maxBytes = config.getInteger(Keys.FORWARD_BATCH_BYTES);
+        interval = config.getLong(Keys.FORWARD_BATCH_INTERVAL);
+        window = config.getInteger(Keys.FORWARD_BATCH_WINDOW);
+        queueLimit = config.getInteger(Keys.FORWARD_BATCH_QUEUE);
+
+        MediaType mediaType = ndjson ? NDJSON_TYPE : MediaType.APPLICATION_JSON_TYPE;
+        String header = config.getString(Keys.FORWARD_HEADER);
+        if (header != null && !header.isEmpty()) {
+            for (String line: header.split("\\r?\\n")) {
+                String[] values = line.split(":", 2);
+                if (values.length < 2) {
+                    LOGGER.warn("Forwarding header ignored: {}", line);
+                    continue;
+                }
+                String headerName = values[0].trim();
+                String headerValue = values[1].trim();
+                if (headerName.equals(HttpHeaders.CONTENT_TYPE)) {
+                    try {
+                        mediaType = MediaType.valueOf(headerValue);
+                    } catch (IllegalArgumentException e) {
+                        LOGGER.warn("Forwarding content type ignored: {}", headerValue, e);
+                    }
+                } else {
+                    headers.put(headerName, headerValue);
+                }
+            }
+        }
+        this.mediaType = mediaType;
+    }
+
+    @Override
+    public void forward(PositionData positionData, ResultHandler resultHandler) {
+        byte[] data;
+        try {
+            data = objectMapper.writeValueAsBytes(positionData);
+        } catch (JsonProcessingException e) {
+            resultHandler.onResult(false, e);
+            return;
+        }
+        forwardSerialized(data, resultHandler);
+    }
+
+    @Override
+    public boolean forwardSerialized(byte[] data, ResultHandler resultHandler) {
+        List<Item> batch = null;
+        synchronized (this) {
+            items.add(new Item(data, resultHandler));
+            bytes += data.length + 1;
+            if (items.size() >= maxSize || bytes >= maxBytes) {
+                batch = takeBatch();
+            } else if (timeout == null) {
+                timeout = timer.newTimeout(t -> flush(), interval, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (batch != null) {
+            submit(batch);
+        }
+        return true;
+    }
+
+    private void flush() {
+        List<Item> batch;
+        synchronized (this) {
+            timeout = null;
+            if (items.isEmpty()) {
+                return;
+            }
+            batch = takeBatch();
+        }
+        submit(batch);
+    }
+
+    private List<Item> takeBatch() {
+        if (timeout != null) {
+            timeout.cancel();
+            timeout = null;
+        }
+        List<Item> batch = items;
+        items = new ArrayList<>();
+        bytes = 0;
+        return batch;
+    }
+
+    /**
+     * Sends the batch if there is a free window slot, otherwise holds it until one of the requests in flight
+     * completes. Only when too many batches are waiting, positions are reported as failed.
+     */
+    private void submit(List<Item> batch) {
+        boolean accepted;
+        synchronized (this) {
+            if (inFlight < window) {
+                inFlight += 1;
+                accepted = true;
+            } else if (queue.size() < queueLimit) {
+                queue.add(batch);
+                return;
+            } else {
+                accepted = false;
+            }
+        }
+        if (accepted) {
+            executorService.execute(() -> send(batch));
+        } else {
+            RuntimeException error = new RuntimeException("Batch queue full");
+            batch.forEach(item -> item.resultHandler().onResult(false, error));
+        }
+    }
+
+    private void complete(List<Item> batch, boolean success, Throwable throwable) {
+        List<Item> next;
+        synchronized (this) {
+            next = queue.poll();
+            if (next == null) {
+                inFlight -= 1;
+            }
+        }
+        if (next != null) {
+            executorService.execute(() -> send(next));
+        }
+        batch.forEach(item -> item.resultHandler().onResult(success, throwable));
+    }
+
+    byte[] formatBatch(List<byte[]> batch) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (OutputStream output = compress ? new GZIPOutputStream(buffer) : buffer) {
+            if (!ndjson) {
+                output.write('[');
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                if (i > 0 && !ndjson) {
+                    output.write(',');
+                }
+                output.write(batch.get(i));
+                if (ndjson) {
+                    output.write('\n');
+                }
+            }
+            if (!ndjson) {
+                output.write(']');
+            }
+        }
+        return buffer.toByteArray();
+    }
+
+    private void send(List<Item> batch) {
+        byte[] body;
+        try {
+            body = formatBatch(batch.stream().map(Item::data).toList());
+        } catch (IOException e) {
+            complete(batch, false, e);
+            return;
+        }
+
+        try {
+            var requestBuilder = client.target(url).request();
+            headers.forEach(requestBuilder::header);
+            if (compress) {
+                requestBuilder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+
+            requestBuilder.async().post(Entity.entity(body, mediaType), new InvocationCallback<Response>() {
+                @Override
+                public void completed(Response response) {
+                    if (response.getStatusInfo().getFamily() == Response.Status.Family.SUCCESSFUL) {
+                        complete(batch, true, null);
+                    } else {
+                        int code = response.getStatusInfo().getStatusCode();
+                        complete(batch, false, new RuntimeException("HTTP code " + code));
+                    }
+                }
+
+                @Override
+                public void failed(Throwable throwable) {
+                    complete(batch, false, throwable);
+                }
+            });
+        } catch (RuntimeException e) {
+            complete(batch, false, e);
+        }
+    }
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012 - 2017 Anton Tananaev (anton@traccar.org)
+ * Copyright 2012 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 package org.traccar.geocoder;
 
 import org.traccar.database.StatisticsManager;
+import org.traccar.metrics.MetricsManager;
 
 public interface Geocoder {
 
@@ -31,4 +32,6 @@ public interface Geocoder {
 
     void setStatisticsManager(StatisticsManager statisticsManager);
 
+    void setMetricsManager(MetricsManager metricsManager);
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015 - 2024 Anton Tananaev (anton@traccar.org)
+ * Copyright 2015 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.traccar.geocoder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.traccar.database.StatisticsManager;
+import org.traccar.metrics.MetricsManager;
 
 import jakarta.json.JsonObject;
 import jakarta.ws.rs.client.Client;
@@ -27,6 +28,7 @@ import java.util.AbstractMap;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 public abstract class JsonGeocoder implements Geocoder {
 
@@ -36,6 +38,8 @@ public abstract class JsonGeocoder implements Geocoder {
     private final String url;
     private final AddressFormat addressFormat;
     private StatisticsManager statisticsManager;
+    private LongAdder cacheHits;
+    private LongAdder cacheMisses;
 
     private Map<Map.Entry<Double, Double>, String> cache;
 
@@ -58,6 +62,14 @@ public abstract class JsonGeocoder implements Geocoder {
         this.statisticsManager = statisticsManager;
     }
 
+    @Override
+    public void setMetricsManager(MetricsManager metricsManager) {
+        String name = "traccar_geocoder_cache_requests_total";
+        String help = "Geocoder cache lookups";
+        cacheHits = metricsManager.counter(name, help, "result", "hit");
+        cacheMisses = metricsManager.counter(name, help, "result", "miss");
+    }
+
     protected String readValue(JsonObject object, String key) {
         if (object.containsKey(key) && !object.isNull(key)) {
             return object.getString(key);
@@ -95,6 +107,9 @@ public abstract class JsonGeocoder implements Geocoder {
 
         if (cache != null) {
             String cachedAddress = cache.get(new AbstractMap.SimpleImmutableEntry<>(latitude, longitude));
+            if (cacheHits != null) {
+                (cachedAddress != null ? cacheHits : cacheMisses).increment();
+            }
             if (cachedAddress != null) {
                 if (callback != null) {
                     callback.onSuccess(cachedAddress);
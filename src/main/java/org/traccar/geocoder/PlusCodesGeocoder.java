@@ -1,5 +1,5 @@
 /*
- * Copyright 2022 - 2024 Anton Tananaev (anton@traccar.org)
+ * Copyright 2022 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@ package org.traccar.geocoder;
 
 import com.google.openlocationcode.OpenLocationCode;
 import org.traccar.database.StatisticsManager;
+import org.traccar.metrics.MetricsManager;
 
 public class PlusCodesGeocoder implements Geocoder {
 
@@ -24,6 +25,10 @@ public class PlusCodesGeocoder implements Geocoder {
     public void setStatisticsManager(StatisticsManager statisticsManager) {
     }
 
+    @Override
+    public void setMetricsManager(MetricsManager metricsManager) {
+    }
+
     @Override
     public String getAddress(double latitude, double longitude, ReverseGeocoderCallback callback) {
         String address = new OpenLocationCode(latitude, longitude).getCode();
@@ -23,17 +23,29 @@ import org.locationtech.spatial4j.shape.jts.JtsShapeFactory;
 
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class GeofencePolygon extends GeofenceGeometry {
 
+    private static final int INDEX_THRESHOLD = 32;
+    private static final int EDGES_PER_SLAB = 4;
+    private static final int MAX_SLABS = 1 << 16;
+    private static final int MAX_ENTRIES_PER_EDGE = 16;
+
     private final List<Coordinate> coordinates;
 
+    private final double[] longitudes;
     private final double[] constant;
     private final double[] multiple;
 
     private final boolean needNormalize;
 
+    private double slabOrigin;
+    private double slabWidth;
+    private int[] slabOffsets;
+    private int[] slabEdges;
+
     public GeofencePolygon(String wkt) throws ParseException {
         coordinates = fromWkt(wkt);
         calculateBoundary(coordinates, 0);
@@ -42,6 +54,7 @@ public class GeofencePolygon extends GeofenceGeometry {
         int i;
         int j = polyCorners - 1;
 
+        longitudes = new double[polyCorners];
         constant = new double[polyCorners];
         multiple = new double[polyCorners];
 
@@ -56,20 +69,23 @@ public class GeofencePolygon extends GeofenceGeometry {
         }
         needNormalize = hasPositive && hasNegative;
 
+        for (i = 0; i < polyCorners; i++) {
+            longitudes[i] = normalizeLon(coordinates.get(i).lon());
+        }
+
         for (i = 0; i < polyCorners; j = i++) {
-            if (normalizeLon(coordinates.get(j).lon()) == normalizeLon(coordinates.get(i).lon())) {
+            if (longitudes[j] == longitudes[i]) {
                 constant[i] = coordinates.get(i).lon();
                 multiple[i] = 0;
             } else {
                 constant[i] = coordinates.get(i).lat()
-                        - (normalizeLon(coordinates.get(i).lon()) * coordinates.get(j).lat())
-                        / (normalizeLon(coordinates.get(j).lon()) - normalizeLon(coordinates.get(i).lon()))
-                        + (normalizeLon(coordinates.get(i).lon()) * coordinates.get(i).lat())
-                        / (normalizeLon(coordinates.get(j).lon()) - normalizeLon(coordinates.get(i).lon()));
-                multiple[i] = (coordinates.get(j).lat() - coordinates.get(i).lat())
-                        / (normalizeLon(coordinates.get(j).lon()) - normalizeLon(coordinates.get(i).lon()));
+                        - (longitudes[i] * coordinates.get(j).lat()) / (longitudes[j] - longitudes[i])
+                        + (longitudes[i] * coordinates.get(i).lat()) / (longitudes[j] - longitudes[i]);
+                multiple[i] = (coordinates.get(j).lat() - coordinates.get(i).lat()) / (longitudes[j] - longitudes[i]);
             }
         }
+
+        buildSlabs();
     }
 
     private double normalizeLon(double lon) {
@@ -79,21 +95,99 @@ public class GeofencePolygon extends GeofenceGeometry {
         return lon;
     }
 
+    private static int slabIndex(double longitude, double origin, double width, int count) {
+        int index = (int) ((longitude - origin) / width);
+        return Math.max(0, Math.min(count - 1, index));
+    }
+
+    /**
+     * Splits the normalized longitude range into slabs and stores the edges spanning each slab. Only edges of the
+     * slab containing the point can cross the meridian of the point, so the test doesn't need to check other edges.
+     */
+    private void buildSlabs() {
+        int polyCorners = longitudes.length;
+        if (polyCorners < INDEX_THRESHOLD) {
+            return;
+        }
+        double minLon = Double.POSITIVE_INFINITY;
+        double maxLon = Double.NEGATIVE_INFINITY;
+        for (double longitude : longitudes) {
+            minLon = Math.min(minLon, longitude);
+            maxLon = Math.max(maxLon, longitude);
+        }
+        if (maxLon <= minLon) {
+            return;
+        }
+
+        int slabCount = Math.min(MAX_SLABS, polyCorners / EDGES_PER_SLAB);
+        int[] offsets;
+        while (true) {
+            double width = (maxLon - minLon) / slabCount;
+            offsets = new int[slabCount + 1];
+            long total = 0;
+            for (int i = 0, j = polyCorners - 1; i < polyCorners; j = i++) {
+                if (longitudes[i] != longitudes[j]) {
+                    int first = slabIndex(Math.min(longitudes[i], longitudes[j]), minLon, width, slabCount);
+                    int last = slabIndex(Math.max(longitudes[i], longitudes[j]), minLon, width, slabCount);
+                    offsets[first] += 1;
+                    offsets[last + 1] -= 1;
+                    total += last - first + 1;
+                }
+            }
+            if (total <= (long) polyCorners * MAX_ENTRIES_PER_EDGE || slabCount == 1) {
+                slabWidth = width;
+                break;
+            }
+            slabCount /= 2;
+        }
+
+        int running = 0;
+        int position = 0;
+        for (int k = 0; k < slabCount; k++) {
+            running += offsets[k];
+            offsets[k] = position;
+            position += running;
+        }
+        offsets[slabCount] = position;
+
+        int[] cursor = Arrays.copyOf(offsets, slabCount);
+        int[] edges = new int[position];
+        for (int i = 0, j = polyCorners - 1; i < polyCorners; j = i++) {
+            if (longitudes[i] != longitudes[j]) {
+                int first = slabIndex(Math.min(longitudes[i], longitudes[j]), minLon, slabWidth, slabCount);
+                int last = slabIndex(Math.max(longitudes[i], longitudes[j]), minLon, slabWidth, slabCount);
+                for (int k = first; k <= last; k++) {
+                    edges[cursor[k]++] = i;
+                }
+            }
+        }
+
+        slabOrigin = minLon;
+        slabOffsets = offsets;
+        slabEdges = edges;
+    }
+
+    private boolean crossesMeridian(int i, double longitude, double latitude) {
+        double current = longitudes[i];
+        double previous = longitudes[i > 0 ? i - 1 : longitudes.length - 1];
+        return (current < longitude && previous >= longitude || previous < longitude && current >= longitude)
+                && longitude * multiple[i] + constant[i] < latitude;
+    }
+
     @Override
     protected boolean containsPointInternal(double latitude, double longitude) {
 
-        int polyCorners = coordinates.size();
-        int i;
-        int j = polyCorners - 1;
         double longitudeNorm = normalizeLon(longitude);
         boolean oddNodes = false;
 
-        for (i = 0; i < polyCorners; j = i++) {
-            if (normalizeLon(coordinates.get(i).lon()) < longitudeNorm
-                    && normalizeLon(coordinates.get(j).lon()) >= longitudeNorm
-                    || normalizeLon(coordinates.get(j).lon()) < longitudeNorm
-                    && normalizeLon(coordinates.get(i).lon()) >= longitudeNorm) {
-                oddNodes ^= longitudeNorm * multiple[i] + constant[i] < latitude;
+        if (slabOffsets != null) {
+            int slab = slabIndex(longitudeNorm, slabOrigin, slabWidth, slabOffsets.length - 1);
+            for (int k = slabOffsets[slab]; k < slabOffsets[slab + 1]; k++) {
+                oddNodes ^= crossesMeridian(slabEdges[k], longitudeNorm, latitude);
+            }
+        } else {
+            for (int i = 0; i < longitudes.length; i++) {
+                oddNodes ^= crossesMeridian(i, longitudeNorm, latitude);
             }
         }
         return oddNodes;
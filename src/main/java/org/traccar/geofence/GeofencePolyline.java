@@ -24,21 +24,243 @@ import org.traccar.helper.DistanceCalculator;
 
 public class GeofencePolyline extends GeofenceGeometry {
 
+    private static final int NODE_SIZE = 16;
+    private static final double METERS_PER_DEGREE = 111320;
+    private static final double PREFILTER_MAX_SEGMENT = 0.5;
+    private static final double PREFILTER_MAX_LATITUDE = 80;
+
     private final List<Coordinate> coordinates;
     private final double polylineDistance;
 
+    private final double[] lats;
+    private final double[] lons;
+
+    /**
+     * Distance is measured to the great circle arc between segment ends, which bulges poleward from the straight line
+     * in coordinate space. Latitudes of the arc points closest to a pole, or NaN if the arc doesn't go beyond its ends,
+     * and the largest deviation of the arc from the straight line used by the approximate check.
+     */
+    private final double[] vertexLats;
+    private final double[] deviations;
+
+    /**
+     * Bounding boxes padded by the polyline distance. The first level contains segments, every next level groups
+     * consecutive boxes of the previous one. Consecutive segments of a route are close to each other, so grouping them
+     * in order gives tight boxes without sorting.
+     */
+    private final List<double[]> levels = new ArrayList<>();
+
+    private volatile int lastSegment;
+
     public GeofencePolyline(String wkt, double polylineDistance) throws ParseException {
         coordinates = fromWkt(wkt);
-        calculateBoundary(coordinates, polylineDistance);
         this.polylineDistance = polylineDistance;
+
+        lats = new double[coordinates.size()];
+        lons = new double[coordinates.size()];
+        for (int i = 0; i < coordinates.size(); i++) {
+            lats[i] = coordinates.get(i).lat();
+            lons[i] = coordinates.get(i).lon();
+        }
+
+        List<Coordinate> extent = new ArrayList<>(coordinates);
+        vertexLats = new double[lats.length - 1];
+        deviations = new double[lats.length - 1];
+        for (int i = 0; i < deviations.length; i++) {
+            vertexLats[i] = getVertexLatitude(i);
+            if (!Double.isNaN(vertexLats[i])) {
+                extent.add(new Coordinate(vertexLats[i], lons[i]));
+            }
+            double[] middle = toVector(lats[i], lons[i]);
+            double[] end = toVector(lats[i + 1], lons[i + 1]);
+            for (int j = 0; j < 3; j++) {
+                middle[j] += end[j];
+            }
+            double distance = approximateDistance(i, getLatitude(middle), getLongitude(middle));
+            deviations[i] = Double.isNaN(distance) ? 0 : distance;
+        }
+        calculateBoundary(extent, polylineDistance);
+
+        buildLevels();
+    }
+
+    private void buildLevels() {
+        int count = lats.length - 1;
+        double padding = polylineDistance * 1.1 + 1;
+        double latPadding = DistanceCalculator.getLatitudeDelta(padding);
+        double[] boxes = new double[count * 4];
+        for (int i = 0; i < count; i++) {
+            double minLat = Math.min(lats[i], lats[i + 1]);
+            double maxLat = Math.max(lats[i], lats[i + 1]);
+            if (!Double.isNaN(vertexLats[i])) {
+                minLat = Math.min(minLat, vertexLats[i]);
+                maxLat = Math.max(maxLat, vertexLats[i]);
+            }
+            minLat -= latPadding;
+            maxLat += latPadding;
+            double lonPadding = DistanceCalculator.getLongitudeDelta(
+                    padding, Math.min(89.9, Math.max(Math.abs(minLat), Math.abs(maxLat))));
+            double minLon = Math.min(lons[i], lons[i + 1]) - lonPadding;
+            double maxLon = Math.max(lons[i], lons[i + 1]) + lonPadding;
+            if (Math.abs(lons[i + 1] - lons[i]) > 180 || minLon < -180 || maxLon > 180) {
+                minLon = Double.NEGATIVE_INFINITY;
+                maxLon = Double.POSITIVE_INFINITY;
+            }
+            boxes[i * 4] = minLat;
+            boxes[i * 4 + 1] = maxLat;
+            boxes[i * 4 + 2] = minLon;
+            boxes[i * 4 + 3] = maxLon;
+        }
+        levels.add(boxes);
+
+        while (count > NODE_SIZE) {
+            double[] children = boxes;
+            int childCount = count;
+            count = (childCount + NODE_SIZE - 1) / NODE_SIZE;
+            boxes = new double[count * 4];
+            for (int i = 0; i < count; i++) {
+                boxes[i * 4] = Double.POSITIVE_INFINITY;
+                boxes[i * 4 + 1] = Double.NEGATIVE_INFINITY;
+                boxes[i * 4 + 2] = Double.POSITIVE_INFINITY;
+                boxes[i * 4 + 3] = Double.NEGATIVE_INFINITY;
+                for (int child = i * NODE_SIZE; child < Math.min((i + 1) * NODE_SIZE, childCount); child++) {
+                    boxes[i * 4] = Math.min(boxes[i * 4], children[child * 4]);
+                    boxes[i * 4 + 1] = Math.max(boxes[i * 4 + 1], children[child * 4 + 1]);
+                    boxes[i * 4 + 2] = Math.min(boxes[i * 4 + 2], children[child * 4 + 2]);
+                    boxes[i * 4 + 3] = Math.max(boxes[i * 4 + 3], children[child * 4 + 3]);
+                }
+            }
+            levels.add(boxes);
+        }
+    }
+
+    private static boolean boxContains(double[] boxes, int index, double latitude, double longitude) {
+        int offset = index * 4;
+        return latitude >= boxes[offset] && latitude <= boxes[offset + 1]
+                && longitude >= boxes[offset + 2] && longitude <= boxes[offset + 3];
+    }
+
+    private static double[] toVector(double latitude, double longitude) {
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        return new double[] {Math.cos(lat) * Math.cos(lon), Math.cos(lat) * Math.sin(lon), Math.sin(lat)};
+    }
+
+    private static double getLatitude(double[] vector) {
+        return Math.toDegrees(Math.atan2(vector[2], Math.hypot(vector[0], vector[1])));
+    }
+
+    private static double getLongitude(double[] vector) {
+        return Math.toDegrees(Math.atan2(vector[1], vector[0]));
+    }
+
+    private static double[] cross(double[] a, double[] b) {
+        return new double[] {a[1] * b[2] - a[2] * b[1], a[2] * b[0] - a[0] * b[2], a[0] * b[1] - a[1] * b[0]};
+    }
+
+    private static double dot(double[] a, double[] b) {
+        return a[0] * b[0] + a[1] * b[1] + a[2] * b[2];
+    }
+
+    /**
+     * Latitude of the point where the great circle arc of the segment is closest to a pole, or NaN if that point is
+     * outside of the arc and the arc latitude is between the latitudes of its ends.
+     */
+    private double getVertexLatitude(int segment) {
+        double[] a = toVector(lats[segment], lons[segment]);
+        double[] b = toVector(lats[segment + 1], lons[segment + 1]);
+        double[] normal = cross(a, b);
+        double horizontal = Math.hypot(normal[0], normal[1]);
+        if (horizontal == 0) {
+            return Double.NaN;
+        }
+        double[] vertex = {-normal[0] * normal[2], -normal[1] * normal[2], horizontal * horizontal};
+        for (int sign = 1; sign >= -1; sign -= 2) {
+            double[] candidate = {sign * vertex[0], sign * vertex[1], sign * vertex[2]};
+            if (dot(cross(a, candidate), normal) >= 0 && dot(cross(candidate, b), normal) >= 0) {
+                return getLatitude(candidate);
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static double wrapLon(double delta) {
+        if (delta > 180) {
+            return delta - 360;
+        } else if (delta < -180) {
+            return delta + 360;
+        }
+        return delta;
+    }
+
+    /**
+     * Equirectangular distance to the straight segment in meters, or NaN if the segment is too long for the
+     * approximation.
+     */
+    private double approximateDistance(int segment, double latitude, double longitude) {
+        double scale = Math.cos(Math.toRadians(latitude));
+        double ax = wrapLon(lons[segment] - longitude) * scale;
+        double ay = lats[segment] - latitude;
+        double dx = wrapLon(lons[segment + 1] - lons[segment]) * scale;
+        double dy = lats[segment + 1] - lats[segment];
+        double lengthSquared = dx * dx + dy * dy;
+        if (lengthSquared > PREFILTER_MAX_SEGMENT * PREFILTER_MAX_SEGMENT) {
+            return Double.NaN;
+        }
+        double t = lengthSquared > 0 ? Math.max(0, Math.min(1, -(ax * dx + ay * dy) / lengthSquared)) : 0;
+        return Math.hypot(ax + t * dx, ay + t * dy) * METERS_PER_DEGREE;
+    }
+
+    /**
+     * Cheap equirectangular distance check. Only used for short segments away from poles. The margin covers the
+     * approximation error and the deviation of the great circle arc from the straight segment.
+     */
+    private boolean isApproximatelyFar(int segment, double latitude, double longitude) {
+        if (Math.abs(latitude) > PREFILTER_MAX_LATITUDE) {
+            return false;
+        }
+        double distance = approximateDistance(segment, latitude, longitude);
+        return distance > polylineDistance * 1.1 + 10 + deviations[segment];
+    }
+
+    private boolean checkSegment(int segment, double latitude, double longitude) {
+        if (!boxContains(levels.get(0), segment, latitude, longitude)
+                || isApproximatelyFar(segment, latitude, longitude)) {
+            return false;
+        }
+        if (DistanceCalculator.distanceToLine(
+                latitude, longitude, lats[segment], lons[segment],
+                lats[segment + 1], lons[segment + 1]) <= polylineDistance) {
+            lastSegment = segment;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean search(int level, int index, double latitude, double longitude) {
+        if (level == 0) {
+            return checkSegment(index, latitude, longitude);
+        }
+        if (!boxContains(levels.get(level), index, latitude, longitude)) {
+            return false;
+        }
+        int childCount = levels.get(level - 1).length / 4;
+        for (int child = index * NODE_SIZE; child < Math.min((index + 1) * NODE_SIZE, childCount); child++) {
+            if (search(level - 1, child, latitude, longitude)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
     protected boolean containsPointInternal(double latitude, double longitude) {
-        for (int i = 1; i < coordinates.size(); i++) {
-            if (DistanceCalculator.distanceToLine(
-                    latitude, longitude, coordinates.get(i - 1).lat(), coordinates.get(i - 1).lon(),
-                    coordinates.get(i).lat(), coordinates.get(i).lon()) <= polylineDistance) {
+        if (checkSegment(lastSegment, latitude, longitude)) {
+            return true;
+        }
+        int top = levels.size() - 1;
+        for (int i = 0; i < levels.get(top).length / 4; i++) {
+            if (search(top, i, latitude, longitude)) {
                 return true;
             }
         }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015 - 2024 Anton Tananaev (anton@traccar.org)
+ * Copyright 2015 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,6 +15,7 @@
  */
 package org.traccar.handler;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.netty.util.Timeout;
 import io.netty.util.Timer;
 import io.netty.util.TimerTask;
@@ -24,15 +25,23 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
+import org.traccar.forward.ForwardSpool;
 import org.traccar.forward.PositionData;
 import org.traccar.forward.PositionForwarder;
 import org.traccar.forward.ResultHandler;
+import org.traccar.metrics.MetricsManager;
 import org.traccar.model.Device;
 import org.traccar.model.Position;
 import org.traccar.session.cache.CacheManager;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 public class PositionForwardingHandler extends BasePositionHandler {
 
@@ -42,28 +51,132 @@ public class PositionForwardingHandler extends BasePositionHandler {
     private final Timer timer;
 
     private final PositionForwarder positionForwarder;
+    private final ForwardSpool forwardSpool;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService replayExecutor;
 
     private final boolean retryEnabled;
     private final int retryDelay;
     private final int retryCount;
     private final int retryLimit;
 
+    private final int spoolWindow;
+    private final long spoolInterval;
+
     private final AtomicInteger deliveryPending;
+    private final AtomicBoolean replaying = new AtomicBoolean();
+
+    private final LongAdder deliveredCounter;
+    private final LongAdder failedCounter;
+    private final LongAdder spooledCounter;
 
     @Inject
     public PositionForwardingHandler(
-            Config config, CacheManager cacheManager, Timer timer, @Nullable PositionForwarder positionForwarder) {
+            Config config, CacheManager cacheManager, Timer timer, @Nullable PositionForwarder positionForwarder,
+            @Nullable ForwardSpool forwardSpool, ObjectMapper objectMapper, MetricsManager metricsManager) {
 
         this.cacheManager = cacheManager;
         this.timer = timer;
         this.positionForwarder = positionForwarder;
+        this.forwardSpool = positionForwarder != null ? forwardSpool : null;
+        this.objectMapper = objectMapper;
+        this.replayExecutor = this.forwardSpool != null ? Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "forward-spool-replay");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
 
         this.retryEnabled = config.getBoolean(Keys.FORWARD_RETRY_ENABLE);
         this.retryDelay = config.getInteger(Keys.FORWARD_RETRY_DELAY);
         this.retryCount = config.getInteger(Keys.FORWARD_RETRY_COUNT);
         this.retryLimit = config.getInteger(Keys.FORWARD_RETRY_LIMIT);
+        this.spoolWindow = config.getInteger(Keys.FORWARD_SPOOL_WINDOW);
+        this.spoolInterval = config.getLong(Keys.FORWARD_SPOOL_INTERVAL);
 
         this.deliveryPending = new AtomicInteger();
+
+        String name = "traccar_forward_positions_total";
+        String help = "Position forwarding attempts by result";
+        deliveredCounter = metricsManager.counter(name, help, "result", "delivered");
+        failedCounter = metricsManager.counter(name, help, "result", "failed");
+        spooledCounter = metricsManager.counter(name, help, "result", "spooled");
+        metricsManager.gauge(
+                "traccar_forward_pending", "Positions waiting for forwarding delivery or retry", deliveryPending::get);
+
+        if (this.forwardSpool != null && !this.forwardSpool.isEmpty()) {
+            timer.newTimeout(timeout -> scheduleReplay(), spoolInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Replay reads and decodes spooled records, so it always runs on its own thread rather than on timer or client
+     * callback threads.
+     */
+    private void scheduleReplay() {
+        if (!replaying.get()) {
+            replayExecutor.execute(this::replay);
+        }
+    }
+
+    private void spool(PositionData positionData) {
+        try {
+            forwardSpool.write(objectMapper.writeValueAsBytes(positionData));
+            spooledCounter.increment();
+        } catch (IOException e) {
+            LOGGER.warn("Position spooling failed", e);
+        }
+    }
+
+    private void replay() {
+        if (!replaying.compareAndSet(false, true)) {
+            return;
+        }
+        List<ForwardSpool.Entry> entries = forwardSpool.read(spoolWindow);
+        if (entries.isEmpty()) {
+            replaying.set(false);
+            return;
+        }
+        boolean[] results = new boolean[entries.size()];
+        AtomicInteger remaining = new AtomicInteger(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            int index = i;
+            ResultHandler resultHandler = (success, throwable) -> {
+                results[index] = success;
+                if (remaining.decrementAndGet() == 0) {
+                    finishReplay(entries, results);
+                }
+            };
+            byte[] data = entries.get(i).data();
+            if (positionForwarder.forwardSerialized(data, resultHandler)) {
+                continue;
+            }
+            PositionData positionData;
+            try {
+                positionData = objectMapper.readValue(data, PositionData.class);
+            } catch (IOException e) {
+                LOGGER.warn("Spooled position decoding failed", e);
+                resultHandler.onResult(true, null);
+                continue;
+            }
+            positionForwarder.forward(positionData, resultHandler);
+        }
+    }
+
+    private void finishReplay(List<ForwardSpool.Entry> entries, boolean[] results) {
+        boolean delivered = true;
+        for (int i = 0; i < entries.size(); i++) {
+            if (!results[i]) {
+                delivered = false;
+                break;
+            }
+            forwardSpool.commit(entries.get(i));
+        }
+        replaying.set(false);
+        if (delivered) {
+            scheduleReplay();
+        } else {
+            timer.newTimeout(timeout -> scheduleReplay(), spoolInterval, TimeUnit.MILLISECONDS);
+        }
     }
 
     class AsyncRequestAndCallback implements ResultHandler, TimerTask {
@@ -91,6 +204,9 @@ public class PositionForwardingHandler extends BasePositionHandler {
             } finally {
                 int pending = scheduled ? deliveryPending.get() : deliveryPending.decrementAndGet();
                 LOGGER.warn("Position forwarding failed: " + pending + " pending", throwable);
+                if (!scheduled && forwardSpool != null) {
+                    spool(positionData);
+                }
             }
         }
 
@@ -102,7 +218,12 @@ public class PositionForwardingHandler extends BasePositionHandler {
         public void onResult(boolean success, Throwable throwable) {
             if (success) {
                 deliveryPending.decrementAndGet();
+                deliveredCounter.increment();
+                if (forwardSpool != null && !replaying.get() && !forwardSpool.isEmpty()) {
+                    scheduleReplay();
+                }
             } else {
+                failedCounter.increment();
                 retry(throwable);
             }
         }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2023 Anton Tananaev (anton@traccar.org)
+ * Copyright 2023 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,9 +15,11 @@
  */
 package org.traccar.handler.network;
 
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
+import io.netty.util.AttributeKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,6 +33,15 @@ public class AcknowledgementHandler extends ChannelOutboundHandlerAdapter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AcknowledgementHandler.class);
 
+    private static final AttributeKey<Boolean> ENABLED = AttributeKey.valueOf(AcknowledgementHandler.class, "enabled");
+
+    /**
+     * Acknowledgement events should only be written if the handler is present in the channel pipeline.
+     */
+    public static boolean isEnabled(Channel channel) {
+        return channel.hasAttr(ENABLED);
+    }
+
     public interface Event {
     }
 
@@ -82,6 +93,11 @@ public class AcknowledgementHandler extends ChannelOutboundHandlerAdapter {
     private List<Entry> queue;
     private final Set<Object> waiting = new HashSet<>();
 
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        ctx.channel().attr(ENABLED).set(true);
+    }
+
     @Override
     public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
         List<Entry> output = new LinkedList<>();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012 - 2024 Anton Tananaev (anton@traccar.org)
+ * Copyright 2012 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,14 +20,12 @@ import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.socket.DatagramChannel;
-import io.netty.handler.codec.http.HttpRequestDecoder;
 import io.netty.handler.timeout.IdleStateEvent;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.traccar.BasePipelineFactory;
-import org.traccar.BaseProtocolDecoder;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.helper.NetworkUtil;
@@ -67,8 +65,8 @@ public class MainEventHandler extends ChannelInboundHandlerAdapter {
         LOGGER.info("[{}] disconnected", NetworkUtil.session(ctx.channel()));
         closeChannel(ctx.channel());
 
-        boolean supportsOffline = BasePipelineFactory.getHandler(ctx.pipeline(), HttpRequestDecoder.class) == null
-                && !connectionlessProtocols.contains(ctx.pipeline().get(BaseProtocolDecoder.class).getProtocolName());
+        BasePipelineFactory.Capabilities capabilities = BasePipelineFactory.getCapabilities(ctx.channel());
+        boolean supportsOffline = !capabilities.http() && !connectionlessProtocols.contains(capabilities.protocol());
         connectionManager.deviceDisconnected(ctx.channel(), supportsOffline);
     }
 
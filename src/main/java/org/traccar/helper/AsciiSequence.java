@@ -0,0 +1,122 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.helper;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.ReferenceCounted;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Read-only ASCII view of buffer bytes. Regular expressions can match it directly, so a frame doesn't need to be
+ * copied into a string first. Only matched groups are converted into strings. The view holds a reference to the
+ * buffer and is only valid until it is released.
+ */
+public final class AsciiSequence implements CharSequence, ReferenceCounted {
+
+    private final ByteBuf buf;
+    private final int offset;
+    private final int length;
+    private final byte[] array;
+    private final int arrayOffset;
+
+    public AsciiSequence(ByteBuf buf) {
+        this(buf, buf.readerIndex(), buf.readableBytes());
+    }
+
+    private AsciiSequence(ByteBuf buf, int offset, int length) {
+        this.buf = buf;
+        this.offset = offset;
+        this.length = length;
+        if (buf.hasArray()) {
+            array = buf.array();
+            arrayOffset = buf.arrayOffset() + offset;
+        } else {
+            array = null;
+            arrayOffset = 0;
+        }
+    }
+
+    public ByteBuf getBuffer() {
+        return buf;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        Objects.checkIndex(index, length);
+        if (array != null) {
+            return (char) (array[arrayOffset + index] & 0xFF);
+        }
+        return (char) (buf.getByte(offset + index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        Objects.checkFromToIndex(start, end, length);
+        return new AsciiSequence(buf, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return buf.toString(offset, length, StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public int refCnt() {
+        return buf.refCnt();
+    }
+
+    @Override
+    public AsciiSequence retain() {
+        buf.retain();
+        return this;
+    }
+
+    @Override
+    public AsciiSequence retain(int increment) {
+        buf.retain(increment);
+        return this;
+    }
+
+    @Override
+    public AsciiSequence touch() {
+        buf.touch();
+        return this;
+    }
+
+    @Override
+    public AsciiSequence touch(Object hint) {
+        buf.touch(hint);
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        return buf.release();
+    }
+
+    @Override
+    public boolean release(int decrement) {
+        return buf.release(decrement);
+    }
+
+}
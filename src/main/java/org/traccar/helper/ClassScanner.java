@@ -1,5 +1,5 @@
 /*
- * Copyright 2022 Anton Tananaev (anton@traccar.org)
+ * Copyright 2022 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,8 +23,10 @@ import java.net.URL;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.util.Enumeration;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
@@ -41,28 +43,31 @@ public final class ClassScanner {
     public static List<Class<?>> findSubclasses(Class<?> baseClass, String packageName)
             throws IOException, URISyntaxException, ReflectiveOperationException {
 
-        List<String> names = new LinkedList<>();
+        Set<String> names = new LinkedHashSet<>();
         String packagePath = packageName.replace('.', '/');
-        URL packageUrl = baseClass.getClassLoader().getResource(packagePath);
+        Enumeration<URL> packageUrls = baseClass.getClassLoader().getResources(packagePath);
 
-        if (packageUrl.getProtocol().equals("jar")) {
-            String jarFileName = URLDecoder.decode(packageUrl.getFile(), StandardCharsets.UTF_8);
-            try (JarFile jf = new JarFile(jarFileName.substring(5, jarFileName.indexOf("!")))) {
-                Enumeration<JarEntry> jarEntries = jf.entries();
-                while (jarEntries.hasMoreElements()) {
-                    String entryName = jarEntries.nextElement().getName();
-                    if (entryName.startsWith(packagePath) && entryName.length() > packagePath.length() + 5) {
-                        names.add(entryName.substring(packagePath.length() + 1, entryName.lastIndexOf('.')));
+        while (packageUrls.hasMoreElements()) {
+            URL packageUrl = packageUrls.nextElement();
+            if (packageUrl.getProtocol().equals("jar")) {
+                String jarFileName = URLDecoder.decode(packageUrl.getFile(), StandardCharsets.UTF_8);
+                try (JarFile jf = new JarFile(jarFileName.substring(5, jarFileName.indexOf("!")))) {
+                    Enumeration<JarEntry> jarEntries = jf.entries();
+                    while (jarEntries.hasMoreElements()) {
+                        String entryName = jarEntries.nextElement().getName();
+                        if (entryName.startsWith(packagePath) && entryName.length() > packagePath.length() + 5) {
+                            names.add(entryName.substring(packagePath.length() + 1, entryName.lastIndexOf('.')));
+                        }
                     }
                 }
-            }
-        } else {
-            File folder = new File(new URI(packageUrl.toString()));
-            File[] files = folder.listFiles();
-            if (files != null) {
-                for (File actual: files) {
-                    String entryName = actual.getName();
-                    names.add(entryName.substring(0, entryName.lastIndexOf('.')));
+            } else {
+                File folder = new File(new URI(packageUrl.toString()));
+                File[] files = folder.listFiles();
+                if (files != null) {
+                    for (File actual: files) {
+                        String entryName = actual.getName();
+                        names.add(entryName.substring(0, entryName.lastIndexOf('.')));
+                    }
                 }
             }
         }
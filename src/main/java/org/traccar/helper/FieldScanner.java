@@ -0,0 +1,726 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.helper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Deterministic scanner compiled from a regular expression. Only a subset of expressions is supported: characters and
+ * character classes with quantifiers, capturing and non-capturing groups, optional groups and alternatives. The
+ * expression also has to be decidable with one character of lookahead, so that greedy matching without backtracking
+ * gives the same groups as {@link java.util.regex.Matcher#matches()}. The only exception is a common case of a
+ * variable run followed by fixed runs of the same characters, like {@code (\d+)(\d{2}\.\d+)} for coordinates.
+ * Other expressions are left to the regex engine.
+ */
+final class FieldScanner {
+
+    private static final Map<Pattern, FieldScanner> SCANNERS = new ConcurrentHashMap<>();
+
+    private final Node root;
+    private final int groupCount;
+
+    private FieldScanner(Node root, int groupCount) {
+        this.root = root;
+        this.groupCount = groupCount;
+    }
+
+    int getGroupCount() {
+        return groupCount;
+    }
+
+    static void register(Pattern pattern) {
+        FieldScanner scanner = compile(pattern.pattern(), pattern.flags());
+        if (scanner != null && scanner.groupCount == pattern.matcher("").groupCount()) {
+            SCANNERS.put(pattern, scanner);
+        }
+    }
+
+    static FieldScanner get(Pattern pattern) {
+        return SCANNERS.get(pattern);
+    }
+
+    static FieldScanner compile(String regex, int flags) {
+        if (flags != 0 && flags != Pattern.DOTALL) {
+            return null;
+        }
+        try {
+            Compiler compiler = new Compiler(regex, flags == Pattern.DOTALL);
+            Node root = compiler.parseAlternation();
+            if (compiler.index < regex.length() || !root.check(new Follow(new CharClass(), true, false))) {
+                return null;
+            }
+            return new FieldScanner(root, compiler.groupCount);
+        } catch (UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Matches whole input and stores group boundaries. Groups that don't participate in the match get -1.
+     */
+    boolean matches(CharSequence input, int[] starts, int[] ends) {
+        Arrays.fill(starts, -1);
+        Arrays.fill(ends, -1);
+        starts[0] = 0;
+        ends[0] = input.length();
+        return root.match(input, 0, starts, ends) == input.length();
+    }
+
+    private static final class CharClass {
+
+        private final long[] bits = new long[4];
+        private boolean high;
+
+        static CharClass of(char c) {
+            CharClass result = new CharClass();
+            result.add(c);
+            return result;
+        }
+
+        static CharClass range(char from, char to) {
+            CharClass result = new CharClass();
+            for (char c = from; c <= to; c++) {
+                result.add(c);
+            }
+            return result;
+        }
+
+        void add(char c) {
+            if (c > 0xFF) {
+                throw new UnsupportedOperationException();
+            }
+            bits[c >> 6] |= 1L << c;
+        }
+
+        void addAll(CharClass other) {
+            for (int i = 0; i < bits.length; i++) {
+                bits[i] |= other.bits[i];
+            }
+            high |= other.high;
+        }
+
+        CharClass invert() {
+            CharClass result = new CharClass();
+            for (int i = 0; i < bits.length; i++) {
+                result.bits[i] = ~bits[i];
+            }
+            result.high = !high;
+            return result;
+        }
+
+        boolean isFull() {
+            for (long value : bits) {
+                if (value != -1L) {
+                    return false;
+                }
+            }
+            return high;
+        }
+
+        boolean isSame(CharClass other) {
+            return high == other.high && Arrays.equals(bits, other.bits);
+        }
+
+        boolean contains(char c) {
+            return c > 0xFF ? high : (bits[c >> 6] & 1L << c) != 0;
+        }
+
+        boolean intersects(CharClass other) {
+            for (int i = 0; i < bits.length; i++) {
+                if ((bits[i] & other.bits[i]) != 0) {
+                    return true;
+                }
+            }
+            return high && other.high;
+        }
+
+    }
+
+    /**
+     * What can come after a node: characters that can start the rest of the pattern, whether the rest can match
+     * nothing and whether it matches any input.
+     */
+    private record Follow(CharClass chars, boolean nullable, boolean universal) {
+
+        Follow prepend(Node node) {
+            if (node instanceof Mark) {
+                return this;
+            }
+            boolean prependUniversal = node.universal() && nullable;
+            CharClass prependChars = new CharClass();
+            prependChars.addAll(node.first());
+            if (node.nullable()) {
+                prependChars.addAll(chars);
+            }
+            return new Follow(
+                    prependUniversal ? new CharClass().invert() : prependChars,
+                    node.nullable() && nullable, prependUniversal);
+        }
+
+    }
+
+    private interface Node {
+
+        CharClass first();
+
+        boolean nullable();
+
+        boolean universal();
+
+        boolean check(Follow follow);
+
+        int match(CharSequence input, int index, int[] starts, int[] ends);
+
+    }
+
+    /**
+     * Run of characters from a class. Variable run can leave a number of characters to the fixed runs that follow it.
+     */
+    private record Repeat(CharClass chars, int min, int max, int reserve) implements Node {
+
+        @Override
+        public CharClass first() {
+            return chars;
+        }
+
+        @Override
+        public boolean nullable() {
+            return min == 0;
+        }
+
+        @Override
+        public boolean universal() {
+            return min == 0 && max == Integer.MAX_VALUE && chars.isFull();
+        }
+
+        @Override
+        public boolean check(Follow follow) {
+            if (min == max || follow.universal() || !chars.intersects(follow.chars())) {
+                return true;
+            }
+            return reserve == 0 && max == Integer.MAX_VALUE && chars.isFull() && follow.nullable();
+        }
+
+        @Override
+        public int match(CharSequence input, int index, int[] starts, int[] ends) {
+            int limit = max < input.length() - index ? index + max : input.length();
+            int end = index;
+            while (end < limit && chars.contains(input.charAt(end))) {
+                end += 1;
+            }
+            int count = end - index - reserve;
+            return count >= min ? index + count : -1;
+        }
+
+    }
+
+    /**
+     * Start or end of a capturing group.
+     */
+    private record Mark(int group, boolean end) implements Node {
+
+        private static final CharClass EMPTY = new CharClass();
+
+        @Override
+        public CharClass first() {
+            return EMPTY;
+        }
+
+        @Override
+        public boolean nullable() {
+            return true;
+        }
+
+        @Override
+        public boolean universal() {
+            return false;
+        }
+
+        @Override
+        public boolean check(Follow follow) {
+            return true;
+        }
+
+        @Override
+        public int match(CharSequence input, int index, int[] starts, int[] ends) {
+            if (end) {
+                ends[group] = index;
+            } else {
+                starts[group] = index;
+            }
+            return index;
+        }
+
+    }
+
+    private record Sequence(Node[] items) implements Node {
+
+        @Override
+        public CharClass first() {
+            CharClass result = new CharClass();
+            for (Node item : items) {
+                result.addAll(item.first());
+                if (!item.nullable()) {
+                    break;
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public boolean nullable() {
+            for (Node item : items) {
+                if (!item.nullable()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean universal() {
+            int index = 0;
+            while (index < items.length && items[index] instanceof Mark) {
+                index += 1;
+            }
+            if (index == items.length || !items[index].universal()) {
+                return false;
+            }
+            for (int i = index + 1; i < items.length; i++) {
+                if (!items[i].nullable()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int runEnd(int index) {
+            Repeat repeat = (Repeat) items[index];
+            int result = index;
+            for (int i = index + 1; i < items.length; i++) {
+                if (items[i] instanceof Repeat fixed
+                        && fixed.min() == fixed.max() && fixed.chars().isSame(repeat.chars())) {
+                    result = i;
+                } else if (!(items[i] instanceof Mark)) {
+                    break;
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Variable run doesn't need backtracking if the same characters can only be taken by a later unbounded run,
+         * like in {@code \d+\.?\d*}, with only optional items in between that can't start with those characters.
+         */
+        private boolean isAbsorbed(int index) {
+            Repeat repeat = (Repeat) items[index];
+            for (int i = index + 1; i < items.length; i++) {
+                if (items[i] instanceof Repeat other && other.min() == 0 && other.max() == Integer.MAX_VALUE
+                        && other.chars().isSame(repeat.chars())) {
+                    return true;
+                }
+                if (!items[i].nullable() || items[i].first().intersects(repeat.chars())) {
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean check(Follow follow) {
+            Follow[] follows = new Follow[items.length];
+            for (int i = items.length - 1; i >= 0; i--) {
+                follows[i] = follow;
+                Node item = items[i];
+                Follow itemFollow = follow;
+                boolean absorbed = false;
+                if (item instanceof Repeat repeat) {
+                    if (repeat.reserve() > 0) {
+                        itemFollow = follows[runEnd(i)];
+                    } else {
+                        absorbed = isAbsorbed(i);
+                    }
+                }
+                if (!item.check(itemFollow) && !absorbed) {
+                    return false;
+                }
+                follow = follow.prepend(item);
+            }
+            return true;
+        }
+
+        @Override
+        public int match(CharSequence input, int index, int[] starts, int[] ends) {
+            for (Node item : items) {
+                index = item.match(input, index, starts, ends);
+                if (index < 0) {
+                    break;
+                }
+            }
+            return index;
+        }
+
+    }
+
+    private record Alternation(Node[] options, CharClass[] firsts) implements Node {
+
+        @Override
+        public CharClass first() {
+            CharClass result = new CharClass();
+            for (CharClass first : firsts) {
+                result.addAll(first);
+            }
+            return result;
+        }
+
+        @Override
+        public boolean nullable() {
+            for (Node option : options) {
+                if (option.nullable()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean universal() {
+            return false;
+        }
+
+        @Override
+        public boolean check(Follow follow) {
+            for (int i = 0; i < options.length; i++) {
+                for (int j = i + 1; j < options.length; j++) {
+                    if (firsts[i].intersects(firsts[j]) || options[i].nullable() && options[j].nullable()) {
+                        return false;
+                    }
+                }
+                if (!options[i].check(follow)) {
+                    return false;
+                }
+            }
+            return !nullable() || !follow.universal() && !first().intersects(follow.chars());
+        }
+
+        @Override
+        public int match(CharSequence input, int index, int[] starts, int[] ends) {
+            if (index < input.length()) {
+                char c = input.charAt(index);
+                for (int i = 0; i < options.length; i++) {
+                    if (firsts[i].contains(c)) {
+                        return options[i].match(input, index, starts, ends);
+                    }
+                }
+            }
+            for (Node option : options) {
+                if (option.nullable()) {
+                    return option.match(input, index, starts, ends);
+                }
+            }
+            return -1;
+        }
+
+    }
+
+    private record OptionalGroup(Node body, CharClass first) implements Node {
+
+        @Override
+        public boolean nullable() {
+            return true;
+        }
+
+        @Override
+        public boolean universal() {
+            return false;
+        }
+
+        @Override
+        public boolean check(Follow follow) {
+            return !body.nullable() && !follow.universal() && !first.intersects(follow.chars()) && body.check(follow);
+        }
+
+        @Override
+        public int match(CharSequence input, int index, int[] starts, int[] ends) {
+            if (index < input.length() && first.contains(input.charAt(index))) {
+                return body.match(input, index, starts, ends);
+            }
+            return index;
+        }
+
+    }
+
+    private static final class Compiler {
+
+        private static final CharClass DIGIT = CharClass.range('0', '9');
+        private static final CharClass SPACE = new CharClass();
+        private static final CharClass WORD = new CharClass();
+        private static final CharClass LINE = new CharClass();
+
+        static {
+            for (char c : " \t\n\u000B\f\r".toCharArray()) {
+                SPACE.add(c);
+            }
+            WORD.addAll(DIGIT);
+            WORD.addAll(CharClass.range('a', 'z'));
+            WORD.addAll(CharClass.range('A', 'Z'));
+            WORD.add('_');
+            LINE.add('\n');
+            LINE.add('\r');
+            LINE.add('\u0085');
+            LINE.high = true;
+        }
+
+        private final String regex;
+        private final boolean dotAll;
+        private int index;
+        private int groupCount;
+
+        Compiler(String regex, boolean dotAll) {
+            this.regex = regex;
+            this.dotAll = dotAll;
+        }
+
+        private boolean hasNext(char c) {
+            return index < regex.length() && regex.charAt(index) == c;
+        }
+
+        private char nextChar() {
+            if (index >= regex.length()) {
+                throw new UnsupportedOperationException();
+            }
+            return regex.charAt(index++);
+        }
+
+        Node parseAlternation() {
+            List<Node> options = new ArrayList<>();
+            options.add(parseSequence());
+            while (hasNext('|')) {
+                index += 1;
+                options.add(parseSequence());
+            }
+            if (options.size() == 1) {
+                return options.get(0);
+            }
+            return new Alternation(
+                    options.toArray(new Node[0]), options.stream().map(Node::first).toArray(CharClass[]::new));
+        }
+
+        private Node parseSequence() {
+            List<Node> items = new ArrayList<>();
+            while (index < regex.length() && !hasNext(')') && !hasNext('|')) {
+                parseItem(items);
+            }
+            return toNode(items);
+        }
+
+        /**
+         * Creates a sequence and assigns fixed runs that follow each variable run, skipping group boundaries.
+         */
+        private static Node toNode(List<Node> items) {
+            if (items.size() == 1) {
+                return items.get(0);
+            }
+            for (int i = 0; i < items.size(); i++) {
+                if (items.get(i) instanceof Repeat repeat && repeat.min() < repeat.max()
+                        && repeat.max() == Integer.MAX_VALUE) {
+                    int reserve = 0;
+                    for (int j = i + 1; j < items.size(); j++) {
+                        if (items.get(j) instanceof Repeat fixed
+                                && fixed.min() == fixed.max() && fixed.chars().isSame(repeat.chars())) {
+                            reserve += fixed.min();
+                        } else if (!(items.get(j) instanceof Mark)) {
+                            break;
+                        }
+                    }
+                    items.set(i, new Repeat(repeat.chars(), repeat.min(), repeat.max(), reserve));
+                }
+            }
+            return new Sequence(items.toArray(new Node[0]));
+        }
+
+        private void parseItem(List<Node> items) {
+            char c = nextChar();
+            if (c == '(') {
+                int group = 0;
+                if (hasNext('?')) {
+                    index += 1;
+                    if (nextChar() != ':') {
+                        throw new UnsupportedOperationException();
+                    }
+                } else {
+                    group = ++groupCount;
+                }
+                Node body = parseAlternation();
+                if (nextChar() != ')') {
+                    throw new UnsupportedOperationException();
+                }
+                List<Node> content = new ArrayList<>();
+                if (group > 0) {
+                    content.add(new Mark(group, false));
+                }
+                if (body instanceof Sequence sequence) {
+                    content.addAll(List.of(sequence.items()));
+                } else {
+                    content.add(body);
+                }
+                if (group > 0) {
+                    content.add(new Mark(group, true));
+                }
+                if (hasNext('?')) {
+                    index += 1;
+                    checkGreedy();
+                    Node optional = toNode(content);
+                    items.add(new OptionalGroup(optional, optional.first()));
+                } else if (hasNext('*') || hasNext('+') || hasNext('{')) {
+                    throw new UnsupportedOperationException();
+                } else {
+                    items.addAll(content);
+                }
+                return;
+            }
+            CharClass chars = switch (c) {
+                case '[' -> parseClass();
+                case '.' -> dotAll ? new CharClass().invert() : LINE.invert();
+                case '\\' -> parseEscape();
+                case '^', '$', '*', '+', '?', '{' -> throw new UnsupportedOperationException();
+                default -> CharClass.of(c);
+            };
+            items.add(parseQuantifier(chars));
+        }
+
+        private void checkGreedy() {
+            if (hasNext('?') || hasNext('+')) {
+                throw new UnsupportedOperationException();
+            }
+        }
+
+        private int parseNumber() {
+            int start = index;
+            while (index < regex.length() && Character.isDigit(regex.charAt(index))) {
+                index += 1;
+            }
+            if (start == index) {
+                throw new UnsupportedOperationException();
+            }
+            return Integer.parseInt(regex.substring(start, index));
+        }
+
+        private Node parseQuantifier(CharClass chars) {
+            int min = 1;
+            int max = 1;
+            if (index < regex.length()) {
+                switch (regex.charAt(index)) {
+                    case '?' -> {
+                        min = 0;
+                        index += 1;
+                    }
+                    case '*' -> {
+                        min = 0;
+                        max = Integer.MAX_VALUE;
+                        index += 1;
+                    }
+                    case '+' -> {
+                        max = Integer.MAX_VALUE;
+                        index += 1;
+                    }
+                    case '{' -> {
+                        index += 1;
+                        min = parseNumber();
+                        max = min;
+                        if (hasNext(',')) {
+                            index += 1;
+                            max = hasNext('}') ? Integer.MAX_VALUE : parseNumber();
+                        }
+                        if (nextChar() != '}' || max < min) {
+                            throw new UnsupportedOperationException();
+                        }
+                    }
+                    default -> {
+                        return new Repeat(chars, min, max, 0);
+                    }
+                }
+                checkGreedy();
+            }
+            return new Repeat(chars, min, max, 0);
+        }
+
+        private CharClass parseEscape() {
+            char c = nextChar();
+            return switch (c) {
+                case 'd' -> DIGIT;
+                case 'D' -> DIGIT.invert();
+                case 's' -> SPACE;
+                case 'S' -> SPACE.invert();
+                case 'w' -> WORD;
+                case 'W' -> WORD.invert();
+                case 't' -> CharClass.of('\t');
+                case 'n' -> CharClass.of('\n');
+                case 'r' -> CharClass.of('\r');
+                case 'f' -> CharClass.of('\f');
+                default -> {
+                    if (Character.isLetterOrDigit(c)) {
+                        throw new UnsupportedOperationException();
+                    }
+                    yield CharClass.of(c);
+                }
+            };
+        }
+
+        private CharClass parseClass() {
+            boolean negated = hasNext('^');
+            if (negated) {
+                index += 1;
+            }
+            CharClass result = new CharClass();
+            int start = index;
+            while (!hasNext(']')) {
+                char c = nextChar();
+                if (c == '[' || c == '&' && hasNext('&')) {
+                    throw new UnsupportedOperationException();
+                }
+                boolean range = hasNext('-') && index + 1 < regex.length() && regex.charAt(index + 1) != ']';
+                if (c == '\\') {
+                    if (range) {
+                        throw new UnsupportedOperationException();
+                    }
+                    result.addAll(parseEscape());
+                } else if (range) {
+                    index += 1;
+                    char to = nextChar();
+                    if (to == '\\' || to == '[' || to < c) {
+                        throw new UnsupportedOperationException();
+                    }
+                    result.addAll(CharClass.range(c, to));
+                } else {
+                    result.add(c);
+                }
+            }
+            if (index == start) {
+                throw new UnsupportedOperationException();
+            }
+            index += 1;
+            return negated ? result.invert() : result;
+        }
+
+    }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.helper;
+
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.core.Configuration;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.ConnectorProvider;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits the number of requests the client executes at the same time. Asynchronous requests over the limit are queued
+ * without blocking the calling thread and started as soon as earlier requests complete. Synchronous requests wait.
+ */
+public class LimitedConnectorProvider implements ConnectorProvider {
+
+    private final ConnectorProvider connectorProvider;
+    private final int limit;
+
+    public LimitedConnectorProvider(ConnectorProvider connectorProvider, int limit) {
+        this.connectorProvider = connectorProvider;
+        this.limit = limit;
+    }
+
+    @Override
+    public Connector getConnector(Client client, Configuration runtimeConfig) {
+        return new LimitedConnector(connectorProvider.getConnector(client, runtimeConfig), limit);
+    }
+
+    static class LimitedConnector implements Connector {
+
+        private final Connector connector;
+        private final Semaphore semaphore;
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger drainCount = new AtomicInteger();
+
+        LimitedConnector(Connector connector, int limit) {
+            this.connector = connector;
+            this.semaphore = new Semaphore(limit);
+        }
+
+        private void release() {
+            semaphore.release();
+            drain();
+        }
+
+        private void drain() {
+            if (drainCount.getAndIncrement() != 0) {
+                return; // another thread or an outer call on this stack picks up the change
+            }
+            int missed = 1;
+            do {
+                while (!queue.isEmpty() && semaphore.tryAcquire()) {
+                    Runnable task = queue.poll();
+                    if (task != null) {
+                        task.run();
+                    } else {
+                        semaphore.release();
+                    }
+                }
+                missed = drainCount.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        @Override
+        public ClientResponse apply(ClientRequest request) {
+            try {
+                semaphore.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ProcessingException(e);
+            }
+            try {
+                return connector.apply(request);
+            } finally {
+                release();
+            }
+        }
+
+        @Override
+        public Future<?> apply(ClientRequest request, AsyncConnectorCallback callback) {
+            CompletableFuture<ClientResponse> result = new CompletableFuture<>();
+            queue.add(() -> {
+                if (result.isDone()) {
+                    release();
+                    return;
+                }
+                try {
+                    connector.apply(request, new AsyncConnectorCallback() {
+                        @Override
+                        public void response(ClientResponse response) {
+                            release();
+                            result.complete(response);
+                            callback.response(response);
+                        }
+
+                        @Override
+                        public void failure(Throwable failure) {
+                            release();
+                            result.completeExceptionally(failure);
+                            callback.failure(failure);
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    release();
+                    result.completeExceptionally(e);
+                    callback.failure(e);
+                }
+            });
+            drain();
+            return result;
+        }
+
+        @Override
+        public String getName() {
+            return connector.getName();
+        }
+
+        @Override
+        public void close() {
+            connector.close();
+        }
+
+    }
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015 - 2017 Anton Tananaev (anton@traccar.org)
+ * Copyright 2015 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,23 +22,63 @@ import java.util.regex.Pattern;
 
 public class Parser {
 
-    private int position;
-    private final Matcher matcher;
+    private static final long NO_VALUE = Long.MIN_VALUE;
+
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
 
-    public Parser(Pattern pattern, String input) {
-        matcher = pattern.matcher(input);
+    private int position;
+    private final Pattern pattern;
+    private final CharSequence input;
+    private final FieldScanner scanner;
+    private Matcher matcher;
+    private final int[] starts;
+    private final int[] ends;
+
+    public Parser(Pattern pattern, CharSequence input) {
+        this.pattern = pattern;
+        this.input = input;
+        scanner = FieldScanner.get(pattern);
+        if (scanner != null) {
+            starts = new int[scanner.getGroupCount() + 1];
+            ends = new int[starts.length];
+        } else {
+            starts = null;
+            ends = null;
+            matcher = pattern.matcher(input);
+        }
     }
 
     public boolean matches() {
         position = 1;
+        if (matcher == null) {
+            return scanner.matches(input, starts, ends);
+        }
         return matcher.matches();
     }
 
     public boolean find() {
         position = 1;
+        if (matcher == null) {
+            matcher = pattern.matcher(input);
+        }
         return matcher.find();
     }
 
+    private int start(int group) {
+        return matcher != null ? matcher.start(group) : starts[group];
+    }
+
+    private int end(int group) {
+        return matcher != null ? matcher.end(group) : ends[group];
+    }
+
+    private boolean isEmpty(int group) {
+        int start = start(group);
+        return start < 0 || start == end(group);
+    }
+
     public void skip(int number) {
         position += number;
     }
@@ -49,8 +89,7 @@ public class Parser {
 
     public boolean hasNext(int number) {
         for (int i = position; i < position + number; i++) {
-            String value = matcher.group(i);
-            if (value == null || value.isEmpty()) {
+            if (isEmpty(i)) {
                 position += number;
                 return false;
             }
@@ -60,8 +99,7 @@ public class Parser {
 
     public boolean hasNextAny(int number) {
         for (int i = position; i < position + number; i++) {
-            String value = matcher.group(i);
-            if (value != null && !value.isEmpty()) {
+            if (!isEmpty(i)) {
                 return true;
             }
         }
@@ -70,12 +108,104 @@ public class Parser {
     }
 
     public String next() {
-        return matcher.group(position++);
+        int start = start(position);
+        int end = end(position);
+        position += 1;
+        return start >= 0 ? input.subSequence(start, end).toString() : null;
+    }
+
+    /**
+     * Reads integer value of the current group directly from the input. Returns {@link #NO_VALUE} for anything that
+     * is not a short plain number, so the caller can fall back to the standard parsing and its errors.
+     */
+    private long parseNumber(int radix) {
+        int maxDigits = switch (radix) {
+            case 2 -> 62;
+            case 10 -> 18;
+            case 16 -> 15;
+            default -> 0;
+        };
+        int index = start(position);
+        int end = end(position);
+        boolean negative = false;
+        char first = input.charAt(index);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            index += 1;
+        }
+        if (index == end || end - index > maxDigits) {
+            return NO_VALUE;
+        }
+        long value = 0;
+        for (; index < end; index++) {
+            int digit = Character.digit(input.charAt(index), radix);
+            if (digit < 0) {
+                return NO_VALUE;
+            }
+            value = value * radix + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    private int nextIntValue(int radix) {
+        long value = parseNumber(radix);
+        if (value != NO_VALUE && value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            position += 1;
+            return (int) value;
+        }
+        return Integer.parseInt(next(), radix);
+    }
+
+    private long nextLongValue(int radix) {
+        long value = parseNumber(radix);
+        if (value != NO_VALUE) {
+            position += 1;
+            return value;
+        }
+        return Long.parseLong(next(), radix);
+    }
+
+    /**
+     * Plain decimals with up to 15 digits are exact as a long divided by a power of ten, so the result is the same as
+     * from {@link Double#parseDouble(String)}. Other values use the standard parsing.
+     */
+    private double nextDoubleValue() {
+        int index = start(position);
+        int end = end(position);
+        boolean negative = false;
+        char first = input.charAt(index);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            index += 1;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; index < end; index++) {
+            char c = input.charAt(index);
+            if (c >= '0' && c <= '9' && digits < POWERS_OF_TEN.length - 1) {
+                mantissa = mantissa * 10 + c - '0';
+                digits += 1;
+                if (scale >= 0) {
+                    scale += 1;
+                }
+            } else if (c == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                return Double.parseDouble(next());
+            }
+        }
+        if (digits == 0) {
+            return Double.parseDouble(next());
+        }
+        position += 1;
+        double value = scale > 0 ? mantissa / POWERS_OF_TEN[scale] : mantissa;
+        return negative ? -value : value;
     }
 
     public Integer nextInt() {
         if (hasNext()) {
-            return Integer.parseInt(next());
+            return nextIntValue(10);
         } else {
             return null;
         }
@@ -83,7 +213,7 @@ public class Parser {
 
     public int nextInt(int defaultValue) {
         if (hasNext()) {
-            return Integer.parseInt(next());
+            return nextIntValue(10);
         } else {
             return defaultValue;
         }
@@ -91,7 +221,7 @@ public class Parser {
 
     public Integer nextHexInt() {
         if (hasNext()) {
-            return Integer.parseInt(next(), 16);
+            return nextIntValue(16);
         } else {
             return null;
         }
@@ -99,7 +229,7 @@ public class Parser {
 
     public int nextHexInt(int defaultValue) {
         if (hasNext()) {
-            return Integer.parseInt(next(), 16);
+            return nextIntValue(16);
         } else {
             return defaultValue;
         }
@@ -107,7 +237,7 @@ public class Parser {
 
     public Integer nextBinInt() {
         if (hasNext()) {
-            return Integer.parseInt(next(), 2);
+            return nextIntValue(2);
         } else {
             return null;
         }
@@ -115,7 +245,7 @@ public class Parser {
 
     public int nextBinInt(int defaultValue) {
         if (hasNext()) {
-            return Integer.parseInt(next(), 2);
+            return nextIntValue(2);
         } else {
             return defaultValue;
         }
@@ -123,7 +253,7 @@ public class Parser {
 
     public Long nextLong() {
         if (hasNext()) {
-            return Long.parseLong(next());
+            return nextLongValue(10);
         } else {
             return null;
         }
@@ -131,7 +261,7 @@ public class Parser {
 
     public Long nextHexLong() {
         if (hasNext()) {
-            return Long.parseLong(next(), 16);
+            return nextLongValue(16);
         } else {
             return null;
         }
@@ -143,7 +273,7 @@ public class Parser {
 
     public long nextLong(int radix, long defaultValue) {
         if (hasNext()) {
-            return Long.parseLong(next(), radix);
+            return nextLongValue(radix);
         } else {
             return defaultValue;
         }
@@ -151,7 +281,7 @@ public class Parser {
 
     public Double nextDouble() {
         if (hasNext()) {
-            return Double.parseDouble(next());
+            return nextDoubleValue();
         } else {
             return null;
         }
@@ -159,7 +289,7 @@ public class Parser {
 
     public double nextDouble(double defaultValue) {
         if (hasNext()) {
-            return Double.parseDouble(next());
+            return nextDoubleValue();
         } else {
             return defaultValue;
         }
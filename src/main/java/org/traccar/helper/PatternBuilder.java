@@ -1,5 +1,5 @@
 /*
- * Copyright 2015 - 2020 Anton Tananaev (anton@traccar.org)
+ * Copyright 2015 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -83,7 +83,9 @@ public class PatternBuilder {
     }
 
     public Pattern compile() {
-        return Pattern.compile(toString(), Pattern.DOTALL);
+        Pattern pattern = Pattern.compile(toString(), Pattern.DOTALL);
+        FieldScanner.register(pattern);
+        return pattern;
     }
 
     @Override
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of one protocol. Created once per protocol and shared by all decoder instances of that protocol.
+ */
+public class DecoderMetrics {
+
+    private final LongAdder messages;
+    private final LongAdder errors;
+    private final LongAdder positions;
+    private final Histogram duration;
+
+    public DecoderMetrics(MetricsManager metricsManager, String protocol) {
+        messages = metricsManager.counter(
+                "traccar_decoder_messages_total", "Received protocol messages", "protocol", protocol);
+        errors = metricsManager.counter(
+                "traccar_decoder_errors_total", "Protocol messages failed to decode", "protocol", protocol);
+        positions = metricsManager.counter(
+                "traccar_decoder_positions_total", "Decoded positions", "protocol", protocol);
+        duration = metricsManager.histogram(
+                "traccar_decoder_duration_seconds", "Protocol message decoding time", "protocol", protocol);
+    }
+
+    public void recordMessage(long nanos, boolean failed) {
+        messages.increment();
+        duration.record(nanos);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    public void recordPositions(int count) {
+        positions.add(count);
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.metrics;
+
+import jakarta.inject.Singleton;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Registry of runtime metrics exported in Prometheus text or OpenMetrics format. Metrics are registered once and the
+ * returned instances are kept by the caller, so recording values does not involve any lookups or locking.
+ */
+@Singleton
+public class MetricsManager {
+
+    private enum Type {
+        COUNTER, GAUGE, HISTOGRAM
+    }
+
+    private record Family(Type type, String help, Map<String, Object> series) {
+    }
+
+    private final Map<String, Family> families = new ConcurrentSkipListMap<>();
+
+    private Family getFamily(String name, Type type, String help) {
+        Family family = families.computeIfAbsent(name, k -> new Family(type, help, new ConcurrentHashMap<>()));
+        if (family.type() != type) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as " + family.type());
+        }
+        return family;
+    }
+
+    /**
+     * Labels are provided as name and value pairs.
+     */
+    public LongAdder counter(String name, String help, String... labels) {
+        return (LongAdder) getFamily(name, Type.COUNTER, help).series()
+                .computeIfAbsent(formatLabels(labels), k -> new LongAdder());
+    }
+
+    public Histogram histogram(String name, String help, String... labels) {
+        return (Histogram) getFamily(name, Type.HISTOGRAM, help).series()
+                .computeIfAbsent(formatLabels(labels), k -> new Histogram());
+    }
+
+    public void gauge(String name, String help, LongSupplier supplier, String... labels) {
+        getFamily(name, Type.GAUGE, help).series().put(formatLabels(labels), supplier);
+    }
+
+    private static String formatLabels(String... labels) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i + 1 < labels.length; i += 2) {
+            if (!builder.isEmpty()) {
+                builder.append(',');
+            }
+            builder.append(labels[i]).append("=\"");
+            String value = labels[i + 1];
+            for (int j = 0; j < value.length(); j++) {
+                char c = value.charAt(j);
+                switch (c) {
+                    case '\\' -> builder.append("\\\\");
+                    case '"' -> builder.append("\\\"");
+                    case '\n' -> builder.append("\\n");
+                    default -> builder.append(c);
+                }
+            }
+            builder.append('"');
+        }
+        return builder.toString();
+    }
+
+    private static void appendSample(StringBuilder builder, String name, String labels, String extra, Object value) {
+        builder.append(name);
+        if (!labels.isEmpty() || extra != null) {
+            builder.append('{').append(labels);
+            if (extra != null) {
+                if (!labels.isEmpty()) {
+                    builder.append(',');
+                }
+                builder.append(extra);
+            }
+            builder.append('}');
+        }
+        builder.append(' ').append(value).append('\n');
+    }
+
+    private static String formatBound(double bound) {
+        return BigDecimal.valueOf(bound).stripTrailingZeros().toPlainString();
+    }
+
+    public String format(boolean openMetrics) {
+        StringBuilder builder = new StringBuilder();
+        for (var entry : families.entrySet()) {
+            String name = entry.getKey();
+            Family family = entry.getValue();
+            String familyName = name;
+            if (openMetrics && family.type() == Type.COUNTER && name.endsWith("_total")) {
+                familyName = name.substring(0, name.length() - "_total".length());
+            }
+            builder.append("# HELP ").append(familyName).append(' ').append(family.help()).append('\n');
+            builder.append("# TYPE ").append(familyName).append(' ')
+                    .append(family.type().name().toLowerCase()).append('\n');
+            for (var series : family.series().entrySet()) {
+                String labels = series.getKey();
+                switch (family.type()) {
+                    case COUNTER -> appendSample(builder, name, labels, null, ((LongAdder) series.getValue()).sum());
+                    case GAUGE -> appendSample(
+                            builder, name, labels, null, ((LongSupplier) series.getValue()).getAsLong());
+                    case HISTOGRAM -> {
+                        Histogram histogram = (Histogram) series.getValue();
+                        long[] counts = histogram.getCumulativeCounts();
+                        for (int i = 0; i < Histogram.BUCKETS.length; i++) {
+                            appendSample(builder, name + "_bucket", labels,
+                                    "le=\"" + formatBound(Histogram.BUCKETS[i]) + "\"", counts[i]);
+                        }
+                        long count = counts[counts.length - 1];
+                        appendSample(builder, name + "_bucket", labels, "le=\"+Inf\"", count);
+                        appendSample(builder, name + "_count", labels, null, count);
+                        appendSample(builder, name + "_sum", labels, null, histogram.getSum());
+                    }
+                }
+            }
+        }
+        if (openMetrics) {
+            builder.append("# EOF\n");
+        }
+        return builder.toString();
+    }
+
+}
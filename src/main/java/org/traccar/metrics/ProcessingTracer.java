@@ -0,0 +1,215 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.metrics;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Position;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sampled tracing of positions through the processing chain. Stage timestamps are written into preallocated ring
+ * buffer slots, so tracing a position does not allocate. Each slot is guarded by its own lock, because a slot can be
+ * reused by a new trace while the API is still reading it. Trace objects are only created for the slowest traces and
+ * when traces are requested through the API.
+ */
+@Singleton
+public class ProcessingTracer {
+
+    public record Stage(String name, long duration) {
+    }
+
+    public record Trace(long deviceId, String protocol, Date time, long duration, List<Stage> stages) {
+    }
+
+    private static final class Slot {
+        private long sequence = -1;
+        private long deviceId;
+        private String protocol;
+        private long time;
+        private final long[] timestamps;
+
+        private Slot(int width) {
+            timestamps = new long[width];
+        }
+    }
+
+    private final int interval;
+    private final int size;
+    private final int slowestLimit;
+
+    private final AtomicLong counter = new AtomicLong();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private String[] stages;
+    private volatile Slot[] slots;
+
+    private final List<Trace> slowest = new ArrayList<>();
+
+    @Inject
+    public ProcessingTracer(Config config) {
+        interval = config.getInteger(Keys.PROCESSING_TRACE_INTERVAL);
+        size = config.getInteger(Keys.PROCESSING_TRACE_SIZE);
+        slowestLimit = config.getInteger(Keys.PROCESSING_TRACE_SLOWEST);
+    }
+
+    public void setStages(List<String> stages) {
+        if (interval > 0) {
+            this.stages = stages.toArray(new String[0]);
+            Slot[] slots = new Slot[size];
+            for (int i = 0; i < size; i++) {
+                slots[i] = new Slot(stages.size() + 1);
+            }
+            this.slots = slots;
+        }
+    }
+
+    public boolean isEnabled() {
+        return slots != null;
+    }
+
+    /**
+     * Returns trace id or -1 if the position is not sampled.
+     */
+    public long start(Position position) {
+        if (!isEnabled() || counter.getAndIncrement() % interval != 0) {
+            return -1;
+        }
+        long id = sequence.getAndIncrement();
+        Slot slot = slots[(int) (id % size)];
+        synchronized (slot) {
+            Arrays.fill(slot.timestamps, 1, slot.timestamps.length, 0);
+            slot.timestamps[0] = System.nanoTime();
+            slot.deviceId = position.getDeviceId();
+            slot.protocol = position.getProtocol();
+            slot.time = System.currentTimeMillis();
+            slot.sequence = id;
+        }
+        return id;
+    }
+
+    public void stage(long id, int stage) {
+        if (id >= 0) {
+            Slot slot = slots[(int) (id % size)];
+            synchronized (slot) {
+                if (slot.sequence == id) {
+                    slot.timestamps[stage + 1] = System.nanoTime();
+                }
+            }
+        }
+    }
+
+    public void finish(long id) {
+        if (id < 0) {
+            return;
+        }
+        Slot slot = slots[(int) (id % size)];
+        long duration;
+        synchronized (slot) {
+            if (slot.sequence != id) {
+                return;
+            }
+            duration = getDuration(slot);
+        }
+        synchronized (slowest) {
+            if (slowest.size() < slowestLimit || duration > slowest.get(slowest.size() - 1).duration()) {
+                Trace trace = createTrace(slot, id);
+                if (trace == null) {
+                    return;
+                }
+                int index = 0;
+                while (index < slowest.size() && slowest.get(index).duration() >= trace.duration()) {
+                    index += 1;
+                }
+                slowest.add(index, trace);
+                if (slowest.size() > slowestLimit) {
+                    slowest.remove(slowest.size() - 1);
+                }
+            }
+        }
+    }
+
+    private static long getDuration(Slot slot) {
+        long first = slot.timestamps[0];
+        long last = first;
+        for (int i = 1; i < slot.timestamps.length; i++) {
+            last = Math.max(last, slot.timestamps[i]);
+        }
+        return TimeUnit.NANOSECONDS.toMicros(last - first);
+    }
+
+    /**
+     * Creates a snapshot of the slot, or returns null if the slot has already been reused by another trace.
+     */
+    private Trace createTrace(Slot slot, long id) {
+        synchronized (slot) {
+            if (slot.sequence != id) {
+                return null;
+            }
+            List<Stage> result = new ArrayList<>();
+            long previous = slot.timestamps[0];
+            for (int i = 1; i < slot.timestamps.length; i++) {
+                long timestamp = slot.timestamps[i];
+                if (timestamp != 0) {
+                    result.add(new Stage(stages[i - 1], TimeUnit.NANOSECONDS.toMicros(timestamp - previous)));
+                    previous = timestamp;
+                }
+            }
+            return new Trace(slot.deviceId, slot.protocol, new Date(slot.time), getDuration(slot), result);
+        }
+    }
+
+    /**
+     * Slowest traces ordered by duration. Durations are in microseconds.
+     */
+    public List<Trace> getSlowest() {
+        synchronized (slowest) {
+            return new ArrayList<>(slowest);
+        }
+    }
+
+    /**
+     * Most recent traces, including the ones still in progress.
+     */
+    public List<Trace> getRecent(int limit) {
+        List<Trace> result = new ArrayList<>();
+        if (isEnabled()) {
+            long last = sequence.get() - 1;
+            for (long id = last; id >= 0 && id > last - Math.min(limit, size); id--) {
+                Trace trace = createTrace(slots[(int) (id % size)], id);
+                if (trace != null) {
+                    result.add(trace);
+                }
+            }
+        }
+        return result;
+    }
+
+    public void reset() {
+        synchronized (slowest) {
+            slowest.clear();
+        }
+    }
+
+}
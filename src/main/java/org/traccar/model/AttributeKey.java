@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Family of indexed attribute keys, like {@code io1}, {@code io2}, etc. Keys are built once per index and stored in an
+ * array, so decoders get the same string instance for every message instead of concatenating a new one. Indexes
+ * outside of the array range fall back to concatenation. Keys are interned, so they are also identical to the string
+ * literals used elsewhere.
+ */
+public final class AttributeKey {
+
+    private static final int DEFAULT_SIZE = 256;
+
+    private record Name(String prefix, String suffix) {
+    }
+
+    private static final Map<Name, AttributeKey> REGISTRY = new ConcurrentHashMap<>();
+
+    public static final AttributeKey IO = of(Position.PREFIX_IO, "", 1 << 14);
+    public static final AttributeKey IN = of(Position.PREFIX_IN);
+    public static final AttributeKey OUT = of(Position.PREFIX_OUT);
+    public static final AttributeKey ADC = of(Position.PREFIX_ADC);
+    public static final AttributeKey TEMP = of(Position.PREFIX_TEMP);
+    public static final AttributeKey COUNT = of(Position.PREFIX_COUNT);
+
+    private final String prefix;
+    private final String suffix;
+    private final String[] keys;
+
+    private AttributeKey(String prefix, String suffix, int size) {
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.keys = new String[size];
+    }
+
+    public static AttributeKey of(String prefix) {
+        return of(prefix, "", DEFAULT_SIZE);
+    }
+
+    public static AttributeKey of(String prefix, String suffix) {
+        return of(prefix, suffix, DEFAULT_SIZE);
+    }
+
+    public static AttributeKey of(String prefix, String suffix, int size) {
+        return REGISTRY.compute(new Name(prefix, suffix), (name, current) ->
+                current != null && current.keys.length >= size ? current : new AttributeKey(prefix, suffix, size));
+    }
+
+    public String get(int index) {
+        if (index < 0 || index >= keys.length) {
+            return prefix + index + suffix;
+        }
+        String key = keys[index];
+        if (key == null) {
+            key = (prefix + index + suffix).intern();
+            keys[index] = key;
+        }
+        return key;
+    }
+
+}
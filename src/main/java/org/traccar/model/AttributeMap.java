@@ -0,0 +1,432 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Insertion ordered map for attributes that keeps integer, long, double and boolean values unboxed. Entries are stored
+ * in parallel arrays instead of linked entry objects. Small maps are searched linearly, larger ones get an open
+ * addressing index. Keys are compared by reference first, since most of them are constants or interned names.
+ * <p>
+ * Values read through the {@link Map} interface are boxed again with the same type they were stored with.
+ */
+public class AttributeMap extends AbstractMap<String, Object> {
+
+    private static final byte OBJECT = 0;
+    private static final byte INTEGER = 1;
+    private static final byte LONG = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte BOOLEAN = 4;
+
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int INDEX_THRESHOLD = 8;
+
+    private String[] keys;
+    private byte[] types;
+    private long[] numbers;
+    private Object[] objects;
+    private int[] index;
+    private int size;
+    private int modCount;
+
+    private EntrySet entrySet;
+
+    public AttributeMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public AttributeMap(int capacity) {
+        capacity = Math.max(capacity, 1);
+        keys = new String[capacity];
+        types = new byte[capacity];
+        numbers = new long[capacity];
+    }
+
+    public AttributeMap(Map<String, ?> map) {
+        this(map.size());
+        putAll(map);
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private int find(Object key) {
+        if (key == null) {
+            return -1;
+        }
+        if (index == null) {
+            for (int i = 0; i < size; i++) {
+                if (keys[i] == key) {
+                    return i;
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                if (keys[i].equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int mask = index.length - 1;
+        for (int i = hash(key) & mask;; i = (i + 1) & mask) {
+            int slot = index[i] - 1;
+            if (slot < 0) {
+                return -1;
+            }
+            String candidate = keys[slot];
+            if (candidate == key || candidate.equals(key)) {
+                return slot;
+            }
+        }
+    }
+
+    private void addToIndex(int slot) {
+        int mask = index.length - 1;
+        int i = hash(keys[slot]) & mask;
+        while (index[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        index[i] = slot + 1;
+    }
+
+    private void rebuildIndex() {
+        if (size < INDEX_THRESHOLD) {
+            index = null;
+            return;
+        }
+        index = new int[Integer.highestOneBit(keys.length * 2 - 1) << 1];
+        for (int i = 0; i < size; i++) {
+            addToIndex(i);
+        }
+    }
+
+    private int append(String key) {
+        Objects.requireNonNull(key);
+        if (size == keys.length) {
+            int capacity = size * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            types = Arrays.copyOf(types, capacity);
+            numbers = Arrays.copyOf(numbers, capacity);
+            if (objects != null) {
+                objects = Arrays.copyOf(objects, capacity);
+            }
+            index = null;
+        }
+        int slot = size++;
+        keys[slot] = key;
+        modCount += 1;
+        if (index != null) {
+            addToIndex(slot);
+        } else if (size >= INDEX_THRESHOLD) {
+            rebuildIndex();
+        }
+        return slot;
+    }
+
+    private int slotFor(String key) {
+        int slot = find(key);
+        return slot >= 0 ? slot : append(key);
+    }
+
+    private void setNumber(int slot, byte type, long value) {
+        types[slot] = type;
+        numbers[slot] = value;
+        if (objects != null) {
+            objects[slot] = null;
+        }
+    }
+
+    private void setObject(int slot, Object value) {
+        if (objects == null) {
+            objects = new Object[keys.length];
+        }
+        types[slot] = OBJECT;
+        numbers[slot] = 0;
+        objects[slot] = value;
+    }
+
+    private Object valueAt(int slot) {
+        return switch (types[slot]) {
+            case INTEGER -> (int) numbers[slot];
+            case LONG -> numbers[slot];
+            case DOUBLE -> Double.longBitsToDouble(numbers[slot]);
+            case BOOLEAN -> numbers[slot] != 0;
+            default -> objects[slot];
+        };
+    }
+
+    private void setValueAt(int slot, Object value) {
+        if (value instanceof Integer integerValue) {
+            setNumber(slot, INTEGER, integerValue);
+        } else if (value instanceof Long longValue) {
+            setNumber(slot, LONG, longValue);
+        } else if (value instanceof Double doubleValue) {
+            setNumber(slot, DOUBLE, Double.doubleToRawLongBits(doubleValue));
+        } else if (value instanceof Boolean booleanValue) {
+            setNumber(slot, BOOLEAN, booleanValue ? 1 : 0);
+        } else {
+            setObject(slot, value);
+        }
+    }
+
+    private void removeAt(int slot) {
+        int moved = size - slot - 1;
+        System.arraycopy(keys, slot + 1, keys, slot, moved);
+        System.arraycopy(types, slot + 1, types, slot, moved);
+        System.arraycopy(numbers, slot + 1, numbers, slot, moved);
+        if (objects != null) {
+            System.arraycopy(objects, slot + 1, objects, slot, moved);
+            objects[size - 1] = null;
+        }
+        keys[--size] = null;
+        modCount += 1;
+        rebuildIndex();
+    }
+
+    public void putInteger(String key, int value) {
+        setNumber(slotFor(key), INTEGER, value);
+    }
+
+    public void putLong(String key, long value) {
+        setNumber(slotFor(key), LONG, value);
+    }
+
+    public void putDouble(String key, double value) {
+        setNumber(slotFor(key), DOUBLE, Double.doubleToRawLongBits(value));
+    }
+
+    public void putBoolean(String key, boolean value) {
+        setNumber(slotFor(key), BOOLEAN, value ? 1 : 0);
+    }
+
+    /**
+     * Same result as parsing the boxed value, but numbers are read without boxing.
+     */
+    public double getDouble(String key, double defaultValue) {
+        int slot = find(key);
+        if (slot < 0) {
+            return defaultValue;
+        }
+        return switch (types[slot]) {
+            case INTEGER, LONG -> numbers[slot];
+            case DOUBLE -> Double.longBitsToDouble(numbers[slot]);
+            default -> {
+                Object value = valueAt(slot);
+                if (value == null) {
+                    yield defaultValue;
+                }
+                yield value instanceof Number numberValue
+                        ? numberValue.doubleValue() : Double.parseDouble(value.toString());
+            }
+        };
+    }
+
+    /**
+     * Same result as parsing the boxed value, but flags are read without boxing.
+     */
+    public boolean getBoolean(String key, boolean defaultValue) {
+        int slot = find(key);
+        if (slot < 0) {
+            return defaultValue;
+        }
+        if (types[slot] == BOOLEAN) {
+            return numbers[slot] != 0;
+        }
+        Object value = valueAt(slot);
+        if (value == null) {
+            return defaultValue;
+        }
+        return value instanceof Boolean booleanValue ? booleanValue : Boolean.parseBoolean(value.toString());
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return find(key) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int slot = find(key);
+        return slot >= 0 ? valueAt(slot) : null;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        int slot = find(key);
+        Object previous = null;
+        if (slot >= 0) {
+            previous = valueAt(slot);
+        } else {
+            slot = append(key);
+        }
+        setValueAt(slot, value);
+        return previous;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return null;
+        }
+        Object previous = valueAt(slot);
+        removeAt(slot);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, 0, size, null);
+        if (objects != null) {
+            Arrays.fill(objects, 0, size, null);
+        }
+        size = 0;
+        index = null;
+        modCount += 1;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            AttributeMap.this.clear();
+        }
+
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+
+        private int next;
+        private int current = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            current = next++;
+            return new Entry(current, keys[current]);
+        }
+
+        @Override
+        public void remove() {
+            if (current < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(current);
+            next = current;
+            current = -1;
+            expectedModCount = modCount;
+        }
+
+    }
+
+    private final class Entry implements Map.Entry<String, Object> {
+
+        private final int slot;
+        private final String key;
+
+        Entry(int slot, String key) {
+            this.slot = slot;
+            this.key = key;
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return slot < size && keys[slot] == key ? valueAt(slot) : get(key);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            int target = slot < size && keys[slot] == key ? slot : find(key);
+            if (target < 0) {
+                throw new IllegalStateException();
+            }
+            Object previous = valueAt(target);
+            setValueAt(target, value);
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Map.Entry<?, ?> entry
+                    && key.equals(entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+
+    }
+
+}
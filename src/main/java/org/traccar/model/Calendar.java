@@ -62,6 +62,7 @@ public class Calendar extends ExtendedModel {
         CalendarBuilder builder = new CalendarBuilder();
         calendar = builder.build(new ByteArrayInputStream(data));
         this.data = data;
+        index = null;
     }
 
     private net.fortuna.ical4j.model.Calendar calendar;
@@ -88,8 +89,74 @@ public class Calendar extends ExtendedModel {
         }
     }
 
+    private static final long INDEX_BACKWARD = Duration.ofDays(1).toMillis();
+    private static final long INDEX_FORWARD = Duration.ofDays(7).toMillis();
+
+    /**
+     * Occurrences expanded for a time window, sorted by start time. Maximum end time is accumulated over the sorted
+     * occurrences, so a moment can be checked with a single binary search even if occurrences overlap.
+     */
+    private record Index(long from, long to, long[] starts, long[] maxEnds) {
+
+        boolean contains(long time) {
+            int low = 0;
+            int high = starts.length - 1;
+            int found = -1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (starts[middle] <= time) {
+                    found = middle;
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return found >= 0 && (maxEnds[found] > time || starts[found] == time);
+        }
+    }
+
+    private volatile Index index;
+
+    private Index buildIndex(long from, long to) {
+        Instant fromInstant = Instant.ofEpochMilli(from);
+        // expand one more day, because all-day events truncate the window end to midnight
+        Instant toInstant = Instant.ofEpochMilli(to).plus(Duration.ofDays(1));
+        long[][] periods = calendar.<VEvent>getComponents(Component.VEVENT).stream()
+                .flatMap(event -> {
+                    Temporal sample = event.getDateTimeStart().getDate();
+                    var period = new Period<>(
+                            convertToMatchingTemporal(fromInstant, sample),
+                            convertToMatchingTemporal(toInstant, sample));
+                    return event.calculateRecurrenceSet(period).stream();
+                })
+                .map(p -> new long[] {
+                        temporalToInstant(p.getStart()).toEpochMilli(), temporalToInstant(p.getEnd()).toEpochMilli()})
+                .sorted((a, b) -> Long.compare(a[0], b[0]))
+                .toArray(long[][]::new);
+        long[] starts = new long[periods.length];
+        long[] maxEnds = new long[periods.length];
+        long maxEnd = Long.MIN_VALUE;
+        for (int i = 0; i < periods.length; i++) {
+            starts[i] = periods[i][0];
+            maxEnd = Math.max(maxEnd, periods[i][1]);
+            maxEnds[i] = maxEnd;
+        }
+        return new Index(from, to, starts, maxEnds);
+    }
+
     public boolean checkMoment(Date date) {
-        return !findPeriods(date).isEmpty();
+        if (calendar == null) {
+            return false;
+        }
+        long time = date.getTime();
+        Index current = index;
+        if (current == null || time >= current.to()) {
+            current = buildIndex(time - INDEX_BACKWARD, time + INDEX_FORWARD);
+            index = current;
+        } else if (time < current.from()) {
+            return !findPeriods(date).isEmpty();
+        }
+        return current.contains(time);
     }
 
     private static Temporal convertToMatchingTemporal(Instant instant, Temporal sample) {
@@ -17,6 +17,7 @@
 package org.traccar.notification;
 
 import org.apache.velocity.VelocityContext;
+import org.apache.velocity.context.Context;
 import org.traccar.database.LocaleManager;
 import org.traccar.helper.model.UserUtil;
 import org.traccar.model.Device;
@@ -48,23 +49,20 @@ public class NotificationFormatter {
         this.textTemplateFormatter = textTemplateFormatter;
     }
 
-    public NotificationMessage formatMessage(
-            Notification notification, User user, Event event, Position position) {
+    /**
+     * Event level part of the template context. It can be created once per event and passed to
+     * {@link #formatMessage(Notification, User, Event, Position, Context)} for every recipient.
+     */
+    public Context prepareSharedContext(Event event, Position position) {
 
-        Server server = cacheManager.getServer();
         Device device = cacheManager.getObject(Device.class, event.getDeviceId());
 
-        VelocityContext velocityContext = textTemplateFormatter.prepareContext(server, user);
+        VelocityContext velocityContext = new VelocityContext();
 
-        velocityContext.put("notification", notification);
         velocityContext.put("device", device);
         velocityContext.put("event", event);
-        velocityContext.put("translations", localeManager.getBundle(UserUtil.getLanguage(server, user)));
         if (position != null) {
             velocityContext.put("position", position);
-            velocityContext.put("speedUnit", UserUtil.getSpeedUnit(server, user));
-            velocityContext.put("distanceUnit", UserUtil.getDistanceUnit(server, user));
-            velocityContext.put("volumeUnit", UserUtil.getVolumeUnit(server, user));
         }
         if (event.getGeofenceId() != 0) {
             velocityContext.put("geofence", cacheManager.getObject(Geofence.class, event.getGeofenceId()));
@@ -78,6 +76,32 @@ public class NotificationFormatter {
                     .filter(driver -> driver.getUniqueId().equals(driverUniqueId)).findFirst().orElse(null));
         }
 
+        return velocityContext;
+    }
+
+    public NotificationMessage formatMessage(
+            Notification notification, User user, Event event, Position position) {
+        return formatMessage(notification, user, event, position, null);
+    }
+
+    public NotificationMessage formatMessage(
+            Notification notification, User user, Event event, Position position, Context sharedContext) {
+
+        Server server = cacheManager.getServer();
+
+        if (sharedContext == null) {
+            sharedContext = prepareSharedContext(event, position);
+        }
+        VelocityContext velocityContext = textTemplateFormatter.prepareContext(server, user, sharedContext);
+
+        velocityContext.put("notification", notification);
+        velocityContext.put("translations", localeManager.getBundle(UserUtil.getLanguage(server, user)));
+        if (position != null) {
+            velocityContext.put("speedUnit", UserUtil.getSpeedUnit(server, user));
+            velocityContext.put("distanceUnit", UserUtil.getDistanceUnit(server, user));
+            velocityContext.put("volumeUnit", UserUtil.getVolumeUnit(server, user));
+        }
+
         boolean priority = notification != null && notification.getBoolean("priority");
         return textTemplateFormatter.formatMessage(velocityContext, event.getType(), priority);
     }
@@ -20,6 +20,8 @@ import jakarta.inject.Singleton;
 import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
 import org.apache.velocity.app.VelocityEngine;
+import org.apache.velocity.context.Context;
+import org.apache.velocity.exception.ResourceNotFoundException;
 import org.apache.velocity.tools.generic.DateTool;
 import org.apache.velocity.tools.generic.NumberTool;
 import org.slf4j.Logger;
@@ -39,6 +41,8 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.security.GeneralSecurityException;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Singleton
 public class TextTemplateFormatter {
@@ -50,6 +54,11 @@ public class TextTemplateFormatter {
     private final LocaleManager localeManager;
     private final String templatesRoot;
 
+    private record TemplateKey(String name, String language) {
+    }
+
+    private final Map<TemplateKey, String> templates = new ConcurrentHashMap<>();
+
     @Inject
     public TextTemplateFormatter(
             VelocityEngine velocityEngine, TokenManager tokenManager, LocaleManager localeManager, Config config) {
@@ -60,8 +69,12 @@ public class TextTemplateFormatter {
     }
 
     public VelocityContext prepareContext(Server server, User user) {
+        return prepareContext(server, user, null);
+    }
+
+    public VelocityContext prepareContext(Server server, User user, Context sharedContext) {
 
-        VelocityContext velocityContext = new VelocityContext();
+        VelocityContext velocityContext = new VelocityContext(sharedContext);
 
         if (user != null) {
             velocityContext.put("user", user);
@@ -82,12 +95,29 @@ public class TextTemplateFormatter {
         return velocityContext;
     }
 
+    private Template getTemplate(String name, String language) {
+        TemplateKey key = new TemplateKey(name, language);
+        String filePath = templates.get(key);
+        if (filePath == null) {
+            Path templateFile = localeManager.getTemplateFile(templatesRoot, "notifications", language, name + ".vm");
+            if (templateFile == null) {
+                return null;
+            }
+            filePath = templateFile.toString();
+            templates.put(key, filePath);
+        }
+        try {
+            return velocityEngine.getTemplate(filePath, StandardCharsets.UTF_8.name());
+        } catch (ResourceNotFoundException e) {
+            templates.remove(key);
+            return null;
+        }
+    }
+
     public NotificationMessage formatMessage(VelocityContext velocityContext, String name, boolean priority) {
-        StringWriter writer = new StringWriter();
-        String language = (String) velocityContext.get("language");
-        Path filePath = localeManager.getTemplateFile(templatesRoot, "notifications", language, name + ".vm");
-        if (filePath != null) {
-            Template template = velocityEngine.getTemplate(filePath.toString(), StandardCharsets.UTF_8.name());
+        Template template = getTemplate(name, (String) velocityContext.get("language"));
+        if (template != null) {
+            StringWriter writer = new StringWriter();
             template.merge(velocityContext, writer);
             return new NotificationMessage(
                     (String) velocityContext.get("subject"), (String) velocityContext.get("digest"),
@@ -16,6 +16,7 @@
  */
 package org.traccar.notificators;
 
+import org.apache.velocity.context.Context;
 import org.traccar.model.Event;
 import org.traccar.model.Notification;
 import org.traccar.model.Position;
@@ -33,7 +34,13 @@ public abstract class Notificator {
     }
 
     public void send(Notification notification, User user, Event event, Position position) throws MessageException {
-        var message = notificationFormatter.formatMessage(notification, user, event, position);
+        send(notification, user, event, position, null);
+    }
+
+    public void send(
+            Notification notification, User user, Event event, Position position, Context sharedContext)
+            throws MessageException {
+        var message = notificationFormatter.formatMessage(notification, user, event, position, sharedContext);
         send(user, message, event, position);
     }
 
@@ -15,6 +15,7 @@
  */
 package org.traccar.notificators;
 
+import org.apache.velocity.context.Context;
 import org.traccar.database.CommandsManager;
 import org.traccar.model.Command;
 import org.traccar.model.Event;
@@ -44,7 +45,9 @@ public class NotificatorCommand extends Notificator {
     }
 
     @Override
-    public void send(Notification notification, User user, Event event, Position position) throws MessageException {
+    public void send(
+            Notification notification, User user, Event event, Position position, Context sharedContext)
+            throws MessageException {
 
         if (notification == null || notification.getCommandId() <= 0) {
             throw new MessageException("Saved command not provided");
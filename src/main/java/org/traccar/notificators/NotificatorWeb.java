@@ -16,6 +16,7 @@
  */
 package org.traccar.notificators;
 
+import org.apache.velocity.context.Context;
 import org.traccar.model.Event;
 import org.traccar.model.Notification;
 import org.traccar.model.Position;
@@ -40,7 +41,8 @@ public final class NotificatorWeb extends Notificator {
     }
 
     @Override
-    public void send(Notification notification, User user, Event event, Position position) {
+    public void send(
+            Notification notification, User user, Event event, Position position, Context sharedContext) {
 
         Event copy = new Event();
         copy.setId(event.getId());
@@ -52,7 +54,7 @@ public final class NotificatorWeb extends Notificator {
         copy.setMaintenanceId(event.getMaintenanceId());
         copy.getAttributes().putAll(event.getAttributes());
 
-        var message = notificationFormatter.formatMessage(notification, user, event, position);
+        var message = notificationFormatter.formatMessage(notification, user, event, position, sharedContext);
         copy.set("message", message.digest());
 
         connectionManager.updateEvent(true, user.getId(), copy);
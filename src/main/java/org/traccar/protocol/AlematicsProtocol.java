@@ -1,5 +1,5 @@
 /*
- * Copyright 2017 - 2018 Anton Tananaev (anton@traccar.org)
+ * Copyright 2017 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,8 +15,8 @@
  */
 package org.traccar.protocol;
 
-import io.netty.handler.codec.string.StringDecoder;
 import io.netty.handler.codec.string.StringEncoder;
+import org.traccar.AsciiDecoder;
 import org.traccar.BaseProtocol;
 import org.traccar.PipelineBuilder;
 import org.traccar.TrackerServer;
@@ -33,7 +33,7 @@ public class AlematicsProtocol extends BaseProtocol {
             protected void addProtocolHandlers(PipelineBuilder pipeline, Config config) {
                 pipeline.addLast(new AlematicsFrameDecoder(1024));
                 pipeline.addLast(new StringEncoder());
-                pipeline.addLast(new StringDecoder());
+                pipeline.addLast(new AsciiDecoder());
                 pipeline.addLast(new AlematicsProtocolDecoder(AlematicsProtocol.this));
             }
         });
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 - 2022 Anton Tananaev (anton@traccar.org)
+ * Copyright 2016 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,8 +15,8 @@
  */
 package org.traccar.protocol;
 
-import io.netty.handler.codec.string.StringDecoder;
 import io.netty.handler.codec.string.StringEncoder;
+import org.traccar.AsciiDecoder;
 import org.traccar.BaseProtocol;
 import org.traccar.CharacterDelimiterFrameDecoder;
 import org.traccar.PipelineBuilder;
@@ -33,7 +33,7 @@ public class ArknavProtocol extends BaseProtocol {
             @Override
             protected void addProtocolHandlers(PipelineBuilder pipeline, Config config) {
                 pipeline.addLast(new CharacterDelimiterFrameDecoder(1024, '\r'));
-                pipeline.addLast(new StringDecoder());
+                pipeline.addLast(new AsciiDecoder());
                 pipeline.addLast(new StringEncoder());
                 pipeline.addLast(new ArknavProtocolDecoder(ArknavProtocol.this));
             }
@@ -41,7 +41,7 @@ public class ArknavProtocol extends BaseProtocol {
         addServer(new TrackerServer(config, getName(), true) {
             @Override
             protected void addProtocolHandlers(PipelineBuilder pipeline, Config config) {
-                pipeline.addLast(new StringDecoder());
+                pipeline.addLast(new AsciiDecoder());
                 pipeline.addLast(new StringEncoder());
                 pipeline.addLast(new ArknavProtocolDecoder(ArknavProtocol.this));
             }
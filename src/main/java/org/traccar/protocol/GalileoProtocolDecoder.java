@@ -1,5 +1,5 @@
 /*
- * Copyright 2013 - 2023 Anton Tananaev (anton@traccar.org)
+ * Copyright 2013 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,6 +27,7 @@ import org.traccar.helper.BitBuffer;
 import org.traccar.helper.BitUtil;
 import org.traccar.helper.UnitsConverter;
 import org.traccar.helper.model.AttributeUtil;
+import org.traccar.model.AttributeKey;
 import org.traccar.model.Position;
 import org.traccar.session.DeviceSession;
 
@@ -61,6 +62,12 @@ public class GalileoProtocolDecoder extends BaseProtocolDecoder {
         return value != null ? value : compressed;
     }
 
+    private static final AttributeKey FUEL = AttributeKey.of("fuel");
+    private static final AttributeKey CAN8_BIT_R = AttributeKey.of("can8BitR");
+    private static final AttributeKey CAN16_BIT_R = AttributeKey.of("can16BitR");
+    private static final AttributeKey CAN32_BIT_R = AttributeKey.of("can32BitR");
+    private static final AttributeKey USER_DATA = AttributeKey.of("userData");
+
     private static final Map<Integer, Integer> TAG_LENGTH_MAP = new HashMap<>();
 
     static {
@@ -125,23 +132,23 @@ public class GalileoProtocolDecoder extends BaseProtocolDecoder {
 
     private void decodeTag(Position position, ByteBuf buf, int tag) {
         if (tag >= 0x50 && tag <= 0x57) {
-            position.set(Position.PREFIX_ADC + (tag - 0x50), buf.readUnsignedShortLE());
+            position.set(AttributeKey.ADC.get(tag - 0x50), buf.readUnsignedShortLE());
         } else if (tag >= 0x60 && tag <= 0x62) {
-            position.set("fuel" + (tag - 0x60), buf.readUnsignedShortLE());
+            position.set(FUEL.get(tag - 0x60), buf.readUnsignedShortLE());
         } else if (tag >= 0xa0 && tag <= 0xaf) {
-            position.set("can8BitR" + (tag - 0xa0 + 15), buf.readUnsignedByte());
+            position.set(CAN8_BIT_R.get(tag - 0xa0 + 15), buf.readUnsignedByte());
         } else if (tag >= 0xb0 && tag <= 0xb9) {
-            position.set("can16BitR" + (tag - 0xb0 + 5), buf.readUnsignedShortLE());
+            position.set(CAN16_BIT_R.get(tag - 0xb0 + 5), buf.readUnsignedShortLE());
         } else if (tag >= 0xc4 && tag <= 0xd2) {
-            position.set("can8BitR" + (tag - 0xc4), buf.readUnsignedByte());
+            position.set(CAN8_BIT_R.get(tag - 0xc4), buf.readUnsignedByte());
         } else if (tag >= 0xd6 && tag <= 0xda) {
-            position.set("can16BitR" + (tag - 0xd6), buf.readUnsignedShortLE());
+            position.set(CAN16_BIT_R.get(tag - 0xd6), buf.readUnsignedShortLE());
         } else if (tag >= 0xdb && tag <= 0xdf) {
-            position.set("can32BitR" + (tag - 0xdb), buf.readUnsignedIntLE());
+            position.set(CAN32_BIT_R.get(tag - 0xdb), buf.readUnsignedIntLE());
         } else if (tag >= 0xe2 && tag <= 0xe9) {
-            position.set("userData" + (tag - 0xe2), buf.readUnsignedIntLE());
+            position.set(USER_DATA.get(tag - 0xe2), buf.readUnsignedIntLE());
         } else if (tag >= 0xf0 && tag <= 0xf9) {
-            position.set("can32BitR" + (tag - 0xf0 + 5), buf.readUnsignedIntLE());
+            position.set(CAN32_BIT_R.get(tag - 0xf0 + 5), buf.readUnsignedIntLE());
         } else {
             decodeTagOther(position, buf, tag);
         }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2021 - 2024 Anton Tananaev (anton@traccar.org)
+ * Copyright 2021 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,7 @@ import org.traccar.Protocol;
 import org.traccar.helper.BitUtil;
 import org.traccar.helper.Checksum;
 import org.traccar.helper.UnitsConverter;
+import org.traccar.model.AttributeKey;
 import org.traccar.model.Position;
 
 import java.net.SocketAddress;
@@ -42,6 +43,15 @@ public class NavtelecomProtocolDecoder extends BaseProtocolDecoder {
         super(protocol);
     }
 
+    private static final AttributeKey FREQ = AttributeKey.of("freq");
+    private static final AttributeKey AXLE_WEIGHT = AttributeKey.of("axleWeight");
+    private static final AttributeKey FUEL_TEMP = AttributeKey.of("fuelTemp");
+    private static final AttributeKey HUMIDITY = AttributeKey.of("humidity");
+    private static final AttributeKey USER1_BYTE = AttributeKey.of("user1Byte");
+    private static final AttributeKey USER2_BYTE = AttributeKey.of("user2Byte");
+    private static final AttributeKey USER4_BYTE = AttributeKey.of("user4Byte");
+    private static final AttributeKey USER8_BYTE = AttributeKey.of("user8Byte");
+
     private static final Map<Integer, Integer> ITEM_LENGTH_MAP = new HashMap<>();
 
     static {
@@ -272,27 +282,27 @@ public class NavtelecomProtocolDecoder extends BaseProtocolDecoder {
                                 case 24:
                                 case 25:
                                 case 26:
-                                    position.set(Position.PREFIX_ADC + (j + 1 - 21), buf.readUnsignedShortLE() * 0.001);
+                                    position.set(AttributeKey.ADC.get(j + 1 - 21), buf.readUnsignedShortLE() * 0.001);
                                     break;
                                 case 29:
                                     value = buf.readUnsignedByte();
                                     for (int k = 0; k <= 7; k++) {
-                                        position.set(Position.PREFIX_IN + (k + 1), BitUtil.check(value, k));
+                                        position.set(AttributeKey.IN.get(k + 1), BitUtil.check(value, k));
                                     }
                                     break;
                                 case 31:
                                     value = buf.readUnsignedByte();
                                     for (int k = 0; k <= 3; k++) {
-                                        position.set(Position.PREFIX_OUT + (k + 1), BitUtil.check(value, k));
+                                        position.set(AttributeKey.OUT.get(k + 1), BitUtil.check(value, k));
                                     }
                                     break;
                                 case 33:
                                 case 34:
-                                    position.set(Position.PREFIX_COUNT + (j + 1 - 33), buf.readUnsignedIntLE());
+                                    position.set(AttributeKey.COUNT.get(j + 1 - 33), buf.readUnsignedIntLE());
                                     break;
                                 case 35:
                                 case 36:
-                                    position.set("freq" + (j + 1 - 35), buf.readUnsignedShortLE());
+                                    position.set(FREQ.get(j + 1 - 35), buf.readUnsignedShortLE());
                                     break;
                                 case 37:
                                     position.set(Position.KEY_HOURS, buf.readUnsignedIntLE() * 1000);
@@ -321,7 +331,7 @@ public class NavtelecomProtocolDecoder extends BaseProtocolDecoder {
                                 case 52:
                                     value = buf.readByte();
                                     position.set(
-                                            Position.PREFIX_TEMP + (j + 1 - 45), (value != (byte) 0x80) ? value : null);
+                                            AttributeKey.TEMP.get(j + 1 - 45), (value != (byte) 0x80) ? value : null);
                                     break;
                                 case 53:
                                     value = buf.readUnsignedShortLE();
@@ -354,7 +364,7 @@ public class NavtelecomProtocolDecoder extends BaseProtocolDecoder {
                                 case 61:
                                 case 62:
                                     value = buf.readUnsignedShortLE();
-                                    position.set("axleWeight" + (j + 1 - 58), (value != 0xFFFF) ? value : null);
+                                    position.set(AXLE_WEIGHT.get(j + 1 - 58), (value != 0xFFFF) ? value : null);
                                     break;
                                 case 63:
                                     value = buf.readUnsignedByte();
@@ -397,7 +407,7 @@ public class NavtelecomProtocolDecoder extends BaseProtocolDecoder {
                                 case 81:
                                 case 82:
                                 case 83:
-                                    position.set("fuelTemp" + (j + 1 - 78), (int) buf.readByte());
+                                    position.set(FUEL_TEMP.get(j + 1 - 78), (int) buf.readByte());
                                     break;
                                 case 163:
                                 case 164:
@@ -405,7 +415,7 @@ public class NavtelecomProtocolDecoder extends BaseProtocolDecoder {
                                 case 166:
                                     value = buf.readShortLE();
                                     position.set(
-                                            Position.PREFIX_TEMP + (j + 1 + 8 - 163),
+                                            AttributeKey.TEMP.get(j + 1 + 8 - 163),
                                             (value != (short) 0x8000) ? value * 0.05 : null);
                                     break;
                                 case 167:
@@ -413,20 +423,20 @@ public class NavtelecomProtocolDecoder extends BaseProtocolDecoder {
                                 case 169:
                                 case 170:
                                     value = buf.readUnsignedByte();
-                                    position.set("humidity" + (j + 1 - 167), (value != 0xFF) ? value * 0.5 : null);
+                                    position.set(HUMIDITY.get(j + 1 - 167), (value != 0xFF) ? value * 0.5 : null);
                                     break;
                                 case 206:
                                     position.set("diagnostic", buf.readUnsignedIntLE());
                                     break;
                                 default:
                                     if ((207 <= j) && (j <= 222)) {
-                                        position.set("user1Byte" + (j + 1 - 207), buf.readUnsignedByte());
+                                        position.set(USER1_BYTE.get(j + 1 - 207), buf.readUnsignedByte());
                                     } else if ((223 <= j) && (j <= 237)) {
-                                        position.set("user2Byte" + (j + 1 - 223), buf.readUnsignedShortLE());
+                                        position.set(USER2_BYTE.get(j + 1 - 223), buf.readUnsignedShortLE());
                                     } else if ((238 <= j) && (j <= 252)) {
-                                        position.set("user4Byte" + (j + 1 - 238), buf.readUnsignedIntLE());
+                                        position.set(USER4_BYTE.get(j + 1 - 238), buf.readUnsignedIntLE());
                                     } else if ((253 <= j) && (j <= 255)) {
-                                        position.set("user8Byte" + (j + 1 - 253), buf.readLongLE());
+                                        position.set(USER8_BYTE.get(j + 1 - 253), buf.readLongLE());
                                     } else {
                                         buf.skipBytes(getItemLength(j));
                                     }
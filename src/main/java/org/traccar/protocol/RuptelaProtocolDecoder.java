@@ -1,5 +1,5 @@
 /*
- * Copyright 2013 - 2024 Anton Tananaev (anton@traccar.org)
+ * Copyright 2013 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,6 +26,7 @@ import org.traccar.Protocol;
 import org.traccar.helper.BitUtil;
 import org.traccar.helper.DataConverter;
 import org.traccar.helper.UnitsConverter;
+import org.traccar.model.AttributeKey;
 import org.traccar.model.Position;
 
 import java.net.SocketAddress;
@@ -101,7 +102,7 @@ public class RuptelaProtocolDecoder extends BaseProtocolDecoder {
 
     private void decodeParameter(Position position, int id, ByteBuf buf, int length) {
         switch (id) {
-            case 2, 3, 4, 5 -> position.set(Position.PREFIX_IN + (id - 1), readValue(buf, length, false));
+            case 2, 3, 4, 5 -> position.set(AttributeKey.IN.get(id - 1), readValue(buf, length, false));
             case 13, 173 -> position.set(Position.KEY_MOTION, readValue(buf, length, false) > 0);
             case 20 -> position.set(Position.PREFIX_ADC + 3, readValue(buf, length, false));
             case 21 -> position.set(Position.PREFIX_ADC + 4, readValue(buf, length, false));
@@ -114,7 +115,7 @@ public class RuptelaProtocolDecoder extends BaseProtocolDecoder {
             case 39 -> position.set(Position.KEY_ENGINE_LOAD, readValue(buf, length, false));
             case 65 -> position.set(Position.KEY_ODOMETER, readValue(buf, length, false));
             case 74 -> position.set(Position.PREFIX_TEMP + 3, readValue(buf, length, true) * 0.1);
-            case 78, 79, 80 -> position.set(Position.PREFIX_TEMP + (id - 78), readValue(buf, length, true) * 0.1);
+            case 78, 79, 80 -> position.set(AttributeKey.TEMP.get(id - 78), readValue(buf, length, true) * 0.1);
             case 88 -> {
                 if (readValue(buf, length, false) > 0) {
                     position.addAlarm(Position.ALARM_JAMMING);
@@ -165,7 +166,7 @@ public class RuptelaProtocolDecoder extends BaseProtocolDecoder {
                     position.addAlarm(Position.ALARM_TAMPERING);
                 }
             }
-            default -> position.set(Position.PREFIX_IO + id, readValue(buf, length, false));
+            default -> position.set(AttributeKey.IO.get(id), readValue(buf, length, false));
         }
     }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2013 - 2023 Anton Tananaev (anton@traccar.org)
+ * Copyright 2013 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,6 +28,7 @@ import org.traccar.config.Keys;
 import org.traccar.helper.BitUtil;
 import org.traccar.helper.Checksum;
 import org.traccar.helper.UnitsConverter;
+import org.traccar.model.AttributeKey;
 import org.traccar.model.CellTower;
 import org.traccar.model.Network;
 import org.traccar.model.Position;
@@ -37,10 +38,13 @@ import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 
 public class TeltonikaProtocolDecoder extends BaseProtocolDecoder {
@@ -51,7 +55,6 @@ public class TeltonikaProtocolDecoder extends BaseProtocolDecoder {
 
     private final boolean connectionless;
     private boolean extended;
-    private final Map<Long, ByteBuf> photos = new HashMap<>();
 
     public void setExtended(boolean extended) {
         this.extended = extended;
@@ -118,6 +121,7 @@ public class TeltonikaProtocolDecoder extends BaseProtocolDecoder {
 
         getLastLocation(position, null);
 
+        String uniqueId = deviceSession.getUniqueId();
         int type = buf.readUnsignedByte();
         if (type == 0x0D) {
 
@@ -126,29 +130,25 @@ public class TeltonikaProtocolDecoder extends BaseProtocolDecoder {
             if (subtype == 0x01) {
 
                 long photoId = buf.readUnsignedInt();
-                ByteBuf photo = Unpooled.buffer(buf.readInt());
-                photos.put(photoId, photo);
-                sendImageRequest(
-                        channel, remoteAddress, photoId,
-                        0, Math.min(IMAGE_PACKET_MAX, photo.capacity()));
+                int size = buf.readInt();
+                if (getMediaManager().startUpload(uniqueId, photoId, size)) {
+                    sendImageRequest(
+                            channel, remoteAddress, photoId,
+                            0, Math.min(IMAGE_PACKET_MAX, size));
+                }
 
             } else if (subtype == 0x02) {
 
                 long photoId = buf.readUnsignedInt();
-                buf.readInt(); // offset
-                ByteBuf photo = photos.get(photoId);
-                photo.writeBytes(buf, buf.readUnsignedShort());
-                if (photo.writableBytes() > 0) {
+                int offset = buf.readInt();
+                int length = buf.readUnsignedShort();
+                long remaining = getMediaManager().writeUpload(uniqueId, photoId, offset, buf.readSlice(length));
+                if (remaining > 0) {
                     sendImageRequest(
                             channel, remoteAddress, photoId,
-                            photo.writerIndex(), Math.min(IMAGE_PACKET_MAX, photo.writableBytes()));
-                } else {
-                    photos.remove(photoId);
-                    try {
-                        position.set(Position.KEY_IMAGE, writeMediaFile(deviceSession.getUniqueId(), photo, "jpg"));
-                    } finally {
-                        photo.release();
-                    }
+                            offset + length, (int) Math.min(IMAGE_PACKET_MAX, remaining));
+                } else if (remaining == 0) {
+                    position.set(Position.KEY_IMAGE, getMediaManager().finishUpload(uniqueId, photoId, "jpg"));
                 }
 
             }
@@ -1030,6 +1030,37 @@ public class TeltonikaProtocolDecoder extends BaseProtocolDecoder {
 
     }
 
+    private static final Set<String> PARAMETER_MODELS = new HashSet<>();
+    private static final Map<String, BiConsumer<Position, ByteBuf>[]> PARAMETER_TABLES = new ConcurrentHashMap<>();
+    private static final BiConsumer<Position, ByteBuf>[] DEFAULT_PARAMETERS = compileParameters(null);
+
+    static {
+        PARAMETERS.values().forEach(handlers -> handlers.keySet().stream()
+                .filter(Objects::nonNull).forEach(PARAMETER_MODELS::addAll));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Position, ByteBuf>[] compileParameters(String model) {
+        int size = PARAMETERS.keySet().stream().mapToInt(Integer::intValue).max().orElse(-1) + 1;
+        BiConsumer<Position, ByteBuf>[] parameters = new BiConsumer[size];
+        PARAMETERS.forEach((id, handlers) -> {
+            for (var entry : handlers.entrySet()) {
+                if (entry.getKey() == null || model != null && entry.getKey().contains(model)) {
+                    parameters[id] = entry.getValue();
+                    break;
+                }
+            }
+        });
+        return parameters;
+    }
+
+    private static BiConsumer<Position, ByteBuf>[] getParameters(String model) {
+        if (model == null || !PARAMETER_MODELS.contains(model)) {
+            return DEFAULT_PARAMETERS;
+        }
+        return PARAMETER_TABLES.computeIfAbsent(model, TeltonikaProtocolDecoder::compileParameters);
+    }
+
     private void decodeGh3000Parameter(Position position, int id, ByteBuf buf, int length) {
         switch (id) {
             case 1 -> position.set(Position.KEY_BATTERY_LEVEL, readValue(buf, length));
@@ -1047,27 +1078,23 @@ public class TeltonikaProtocolDecoder extends BaseProtocolDecoder {
             }
             case 240 -> position.set(Position.KEY_MOTION, readValue(buf, length) == 1);
             case 244 -> position.set(Position.KEY_ROAMING, readValue(buf, length) == 1);
-            default -> position.set(Position.PREFIX_IO + id, readValue(buf, length));
+            default -> position.set(AttributeKey.IO.get(id), readValue(buf, length));
         }
     }
 
-    private void decodeParameter(Position position, int id, ByteBuf buf, int length, int codec, String model) {
+    private void decodeParameter(
+            Position position, int id, ByteBuf buf, int length, int codec,
+            BiConsumer<Position, ByteBuf>[] parameters) {
         if (codec == CODEC_GH3000) {
             decodeGh3000Parameter(position, id, buf, length);
         } else {
-            int index = buf.readerIndex();
-            boolean decoded = false;
-            for (var entry : PARAMETERS.getOrDefault(id, new HashMap<>()).entrySet()) {
-                if (entry.getKey() == null || model != null && entry.getKey().contains(model)) {
-                    entry.getValue().accept(position, buf);
-                    decoded = true;
-                    break;
-                }
-            }
-            if (decoded) {
+            BiConsumer<Position, ByteBuf> handler = id < parameters.length ? parameters[id] : null;
+            if (handler != null) {
+                int index = buf.readerIndex();
+                handler.accept(position, buf);
                 buf.readerIndex(index + length);
             } else {
-                position.set(Position.PREFIX_IO + id, readValue(buf, length));
+                position.set(AttributeKey.IO.get(id), readValue(buf, length));
             }
         }
     }
@@ -1135,6 +1162,7 @@ public class TeltonikaProtocolDecoder extends BaseProtocolDecoder {
 
     private void decodeLocation(Position position, ByteBuf buf, int codec, String model) {
 
+        var parameters = getParameters(model);
         int globalMask = 0x0f;
 
         if (codec == CODEC_GH3000) {
@@ -1230,7 +1258,7 @@ public class TeltonikaProtocolDecoder extends BaseProtocolDecoder {
         if (BitUtil.check(globalMask, 1)) {
             int cnt = readExtByte(buf, codec, CODEC_8_EXT);
             for (int j = 0; j < cnt; j++) {
-                decodeParameter(position, readExtByte(buf, codec, CODEC_8_EXT, CODEC_16), buf, 1, codec, model);
+                decodeParameter(position, readExtByte(buf, codec, CODEC_8_EXT, CODEC_16), buf, 1, codec, parameters);
             }
         }
 
@@ -1238,7 +1266,7 @@ public class TeltonikaProtocolDecoder extends BaseProtocolDecoder {
         if (BitUtil.check(globalMask, 2)) {
             int cnt = readExtByte(buf, codec, CODEC_8_EXT);
             for (int j = 0; j < cnt; j++) {
-                decodeParameter(position, readExtByte(buf, codec, CODEC_8_EXT, CODEC_16), buf, 2, codec, model);
+                decodeParameter(position, readExtByte(buf, codec, CODEC_8_EXT, CODEC_16), buf, 2, codec, parameters);
             }
         }
 
@@ -1246,7 +1274,7 @@ public class TeltonikaProtocolDecoder extends BaseProtocolDecoder {
         if (BitUtil.check(globalMask, 3)) {
             int cnt = readExtByte(buf, codec, CODEC_8_EXT);
             for (int j = 0; j < cnt; j++) {
-                decodeParameter(position, readExtByte(buf, codec, CODEC_8_EXT, CODEC_16), buf, 4, codec, model);
+                decodeParameter(position, readExtByte(buf, codec, CODEC_8_EXT, CODEC_16), buf, 4, codec, parameters);
             }
         }
 
@@ -1254,7 +1282,7 @@ public class TeltonikaProtocolDecoder extends BaseProtocolDecoder {
         if (codec == CODEC_8 || codec == CODEC_8_EXT || codec == CODEC_16) {
             int cnt = readExtByte(buf, codec, CODEC_8_EXT);
             for (int j = 0; j < cnt; j++) {
-                decodeParameter(position, readExtByte(buf, codec, CODEC_8_EXT, CODEC_16), buf, 8, codec, model);
+                decodeParameter(position, readExtByte(buf, codec, CODEC_8_EXT, CODEC_16), buf, 8, codec, parameters);
             }
         }
 
@@ -1263,7 +1291,7 @@ public class TeltonikaProtocolDecoder extends BaseProtocolDecoder {
             int cnt = readExtByte(buf, codec, CODEC_8_EXT);
             for (int j = 0; j < cnt; j++) {
                 int id = readExtByte(buf, codec, CODEC_8_EXT, CODEC_16);
-                position.set(Position.PREFIX_IO + id, ByteBufUtil.hexDump(buf.readSlice(16)));
+                position.set(AttributeKey.IO.get(id), ByteBufUtil.hexDump(buf.readSlice(16)));
             }
         }
 
@@ -1346,7 +1374,7 @@ public class TeltonikaProtocolDecoder extends BaseProtocolDecoder {
                         }
                     }
                 } else {
-                    position.set(Position.PREFIX_IO + id, ByteBufUtil.hexDump(buf.readSlice(length)));
+                    position.set(AttributeKey.IO.get(id), ByteBufUtil.hexDump(buf.readSlice(length)));
                 }
             }
         }
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.schedule;
+
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.helper.model.AttributeUtil;
+import org.traccar.model.Device;
+import org.traccar.model.Event;
+import org.traccar.model.Group;
+import org.traccar.model.Position;
+import org.traccar.model.Server;
+import org.traccar.storage.DatabaseStorage;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Order;
+import org.traccar.storage.query.Request;
+
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Removes positions and events older than the configured retention period. Rows are deleted per device in batches
+ * ordered by time, so each statement only touches a bounded number of rows. Each batch runs as a separate task on the
+ * schedule executor with a delay in between, so a long cleanup doesn't hold up other scheduled tasks.
+ */
+public class TaskRetention extends SingleScheduleTask {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskRetention.class);
+
+    private static final long CHECK_PERIOD_MINUTES = 15;
+
+    static final int QUERY_LIMIT = 100;
+
+    private final Config config;
+    private final Storage storage;
+    private final int batchSize;
+    private final long batchDelay;
+
+    private ScheduledExecutorService executor;
+    private Pass pass;
+
+    private static final class Pass {
+        private final long currentTime;
+        private final Server server;
+        private final Map<Long, Group> groups;
+        private final List<Device> devices;
+        private int index;
+        private boolean events;
+        private Date from = new Date(0);
+
+        private Pass(long currentTime, Server server, Map<Long, Group> groups, List<Device> devices) {
+            this.currentTime = currentTime;
+            this.server = server;
+            this.groups = groups;
+            this.devices = devices;
+        }
+
+        private void next() {
+            if (events) {
+                index += 1;
+            }
+            events = !events;
+            from = new Date(0);
+        }
+    }
+
+    @Inject
+    public TaskRetention(Config config, Storage storage) {
+        this.config = config;
+        this.storage = storage;
+        batchSize = config.getInteger(Keys.RETENTION_BATCH_SIZE);
+        batchDelay = config.getLong(Keys.RETENTION_BATCH_DELAY);
+    }
+
+    @Override
+    public void schedule(ScheduledExecutorService executor) {
+        if (!config.getBoolean(Keys.DATABASE_MEMORY)) {
+            this.executor = executor;
+            executor.scheduleAtFixedRate(this, CHECK_PERIOD_MINUTES, CHECK_PERIOD_MINUTES, TimeUnit.MINUTES);
+        }
+    }
+
+    private record RetentionProvider(
+            Config config, Server server, Map<Long, Group> groups, Device device) implements AttributeUtil.Provider {
+
+        @Override
+        public Device getDevice() {
+            return device;
+        }
+
+        @Override
+        public Group getGroup(long groupId) {
+            return groups.get(groupId);
+        }
+
+        @Override
+        public Server getServer() {
+            return server;
+        }
+
+        @Override
+        public Config getConfig() {
+            return config;
+        }
+    }
+
+    private static Date getCutoff(long currentTime, int days) {
+        return days > 0 ? new Date(currentTime - TimeUnit.DAYS.toMillis(days)) : null;
+    }
+
+    @Override
+    public void run() {
+        if (pass != null) {
+            return;
+        }
+        long currentTime = System.currentTimeMillis();
+        try {
+            Server server = storage.getObject(Server.class, new Request(new Columns.All()));
+            Map<Long, Group> groups = storage.getObjects(Group.class, new Request(new Columns.All()))
+                    .stream().collect(Collectors.toMap(Group::getId, Function.identity()));
+            List<Device> devices = storage.getObjects(Device.class, new Request(new Columns.All())).stream()
+                    .sorted(Comparator.comparingLong(Device::getId))
+                    .toList();
+            dropChunks(server, groups, devices, currentTime);
+            pass = new Pass(currentTime, server, groups, devices);
+        } catch (StorageException e) {
+            LOGGER.warn("Failed to remove expired data", e);
+            return;
+        }
+        runBatch();
+    }
+
+    private void runBatch() {
+        try {
+            if (removeBatch()) {
+                executor.schedule(this::runBatch, batchDelay, TimeUnit.MILLISECONDS);
+                return;
+            }
+        } catch (StorageException e) {
+            LOGGER.warn("Failed to remove expired data", e);
+        }
+        pass = null;
+    }
+
+    /**
+     * Removes the next batch of expired rows. Devices and tables without expired rows are skipped right away, but
+     * at most {@link #QUERY_LIMIT} of them are checked in one task.
+     *
+     * @return true if there is more work left
+     */
+    private boolean removeBatch() throws StorageException {
+        int queries = 0;
+        while (pass.index < pass.devices.size()) {
+            Device device = pass.devices.get(pass.index);
+            var provider = new RetentionProvider(config, pass.server, pass.groups, device);
+            Date cutoff = getCutoff(pass.currentTime,
+                    AttributeUtil.lookup(provider, pass.events ? Keys.RETENTION_EVENTS : Keys.RETENTION_POSITIONS));
+            int count = 0;
+            if (cutoff != null) {
+                count = pass.events ? removeEvents(device.getId(), cutoff) : removePositions(device.getId(), cutoff);
+                queries += 1;
+            }
+            if (count < batchSize) {
+                pass.next();
+            }
+            if (count > 0 || queries >= QUERY_LIMIT) {
+                return pass.index < pass.devices.size();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * On TimescaleDB whole chunks are dropped if they are older than the retention of every device. The rest is
+     * removed by regular batched deletes.
+     */
+    private void dropChunks(
+            Server server, Map<Long, Group> groups, List<Device> devices, long currentTime) throws StorageException {
+        if (!(storage instanceof DatabaseStorage databaseStorage) || devices.isEmpty()) {
+            return;
+        }
+        Date positionsCutoff = new Date(currentTime);
+        Date eventsCutoff = new Date(currentTime);
+        for (Device device : devices) {
+            var provider = new RetentionProvider(config, server, groups, device);
+            int positionsDays = AttributeUtil.lookup(provider, Keys.RETENTION_POSITIONS);
+            int eventsDays = AttributeUtil.lookup(provider, Keys.RETENTION_EVENTS);
+            if (eventsDays <= 0) {
+                return;
+            }
+            Date deviceEventsCutoff = getCutoff(currentTime, eventsDays);
+            if (deviceEventsCutoff.before(eventsCutoff)) {
+                eventsCutoff = deviceEventsCutoff;
+            }
+            Date devicePositionsCutoff = getCutoff(currentTime, positionsDays);
+            if (devicePositionsCutoff == null) {
+                positionsCutoff = null;
+            } else if (positionsCutoff != null && devicePositionsCutoff.before(positionsCutoff)) {
+                positionsCutoff = devicePositionsCutoff;
+            }
+        }
+        databaseStorage.dropChunks(Event.class, eventsCutoff);
+
+        if (positionsCutoff != null) {
+            // positions referenced by remaining events or by devices have to be kept
+            if (eventsCutoff.before(positionsCutoff)) {
+                positionsCutoff = eventsCutoff;
+            }
+            Position oldestLatest = storage.getObject(Position.class, new Request(
+                    new Columns.Include("fixTime"),
+                    new Condition.LatestPositions(),
+                    new Order("fixTime", false, 1)));
+            if (oldestLatest != null && oldestLatest.getFixTime().before(positionsCutoff)) {
+                positionsCutoff = oldestLatest.getFixTime();
+            }
+            databaseStorage.dropChunks(Position.class, positionsCutoff);
+        }
+    }
+
+    private int removePositions(long deviceId, Date cutoff) throws StorageException {
+        List<Position> positions = storage.getObjects(Position.class, new Request(
+                new Columns.Include("id", "fixTime"),
+                Condition.merge(List.of(
+                        new Condition.Equals("deviceId", deviceId),
+                        new Condition.Compare("fixTime", ">", pass.from),
+                        new Condition.Compare("fixTime", "<", cutoff))),
+                new Order("fixTime", false, batchSize)));
+        if (!positions.isEmpty()) {
+            Date to = positions.get(positions.size() - 1).getFixTime();
+            storage.removeObject(Position.class, new Request(Condition.merge(List.of(
+                    new Condition.Equals("deviceId", deviceId),
+                    new Condition.Compare("fixTime", ">", pass.from),
+                    new Condition.Compare("fixTime", "<=", to),
+                    new Condition.UnreferencedPositions(deviceId)))));
+            pass.from = to;
+        }
+        return positions.size();
+    }
+
+    private int removeEvents(long deviceId, Date cutoff) throws StorageException {
+        List<Event> events = storage.getObjects(Event.class, new Request(
+                new Columns.Include("id", "eventTime"),
+                Condition.merge(List.of(
+                        new Condition.Equals("deviceId", deviceId),
+                        new Condition.Compare("eventTime", ">", pass.from),
+                        new Condition.Compare("eventTime", "<", cutoff))),
+                new Order("eventTime", false, batchSize)));
+        if (!events.isEmpty()) {
+            Date to = events.get(events.size() - 1).getEventTime();
+            storage.removeObject(Event.class, new Request(Condition.merge(List.of(
+                    new Condition.Equals("deviceId", deviceId),
+                    new Condition.Compare("eventTime", ">", pass.from),
+                    new Condition.Compare("eventTime", "<=", to)))));
+            pass.from = to;
+        }
+        return events.size();
+    }
+
+}
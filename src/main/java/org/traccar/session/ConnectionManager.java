@@ -1,5 +1,5 @@
 /*
- * Copyright 2015 - 2024 Anton Tananaev (anton@traccar.org)
+ * Copyright 2015 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,6 +27,8 @@ import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.database.DeviceLookupService;
 import org.traccar.database.NotificationManager;
+import org.traccar.metrics.Histogram;
+import org.traccar.metrics.MetricsManager;
 import org.traccar.model.BaseModel;
 import org.traccar.model.Device;
 import org.traccar.model.Event;
@@ -77,6 +79,8 @@ public class ConnectionManager implements BroadcastInterface {
     private final BroadcastService broadcastService;
     private final DeviceLookupService deviceLookupService;
 
+    private final Histogram fanoutHistogram;
+
     private final Map<Long, Set<UpdateListener>> listeners = new HashMap<>();
     private final Map<Long, Set<Long>> userDevices = new HashMap<>();
     private final Map<Long, Set<Long>> deviceUsers = new HashMap<>();
@@ -87,7 +91,7 @@ public class ConnectionManager implements BroadcastInterface {
     public ConnectionManager(
             Config config, CacheManager cacheManager, Storage storage,
             NotificationManager notificationManager, Timer timer, BroadcastService broadcastService,
-            DeviceLookupService deviceLookupService) {
+            DeviceLookupService deviceLookupService, MetricsManager metricsManager) {
         this.config = config;
         this.cacheManager = cacheManager;
         this.storage = storage;
@@ -98,6 +102,13 @@ public class ConnectionManager implements BroadcastInterface {
         deviceTimeout = config.getLong(Keys.STATUS_TIMEOUT);
         showUnknownDevices = config.getBoolean(Keys.WEB_SHOW_UNKNOWN_DEVICES);
         broadcastService.registerListener(this);
+        fanoutHistogram = metricsManager.histogram(
+                "traccar_websocket_fanout_lag_seconds", "Delay between position arrival and client notification");
+        metricsManager.gauge("traccar_websocket_listeners", "Connected update listeners", this::getListenerCount);
+    }
+
+    private synchronized long getListenerCount() {
+        return listeners.values().stream().mapToLong(Set::size).sum();
     }
 
     public DeviceSession getDeviceSession(long deviceId) {
@@ -309,13 +320,19 @@ public class ConnectionManager implements BroadcastInterface {
         if (local) {
             broadcastService.updatePosition(true, position);
         }
+        boolean notified = false;
         for (long userId : deviceUsers.getOrDefault(position.getDeviceId(), Collections.emptySet())) {
             if (listeners.containsKey(userId)) {
                 for (UpdateListener listener : listeners.get(userId)) {
                     listener.onUpdatePosition(position);
+                    notified = true;
                 }
             }
         }
+        if (notified && position.getServerTime() != null) {
+            fanoutHistogram.record(TimeUnit.MILLISECONDS.toNanos(
+                    System.currentTimeMillis() - position.getServerTime().getTime()));
+        }
     }
 
     @Override
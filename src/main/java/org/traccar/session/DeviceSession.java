@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 - 2024 Anton Tananaev (anton@traccar.org)
+ * Copyright 2016 - 2025 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,6 @@
 package org.traccar.session;
 
 import io.netty.channel.Channel;
-import io.netty.handler.codec.http.HttpRequestDecoder;
 import org.traccar.BasePipelineFactory;
 import org.traccar.Protocol;
 import org.traccar.model.Command;
@@ -66,7 +65,7 @@ public class DeviceSession {
     }
 
     public boolean supportsLiveCommands() {
-        return BasePipelineFactory.getHandler(channel.pipeline(), HttpRequestDecoder.class) == null;
+        return !BasePipelineFactory.getCapabilities(channel).http();
     }
 
     public void sendCommand(Command command) {
@@ -17,8 +17,11 @@ package org.traccar.storage;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.traccar.config.Config;
+import org.traccar.metrics.Histogram;
+import org.traccar.metrics.MetricsManager;
 import org.traccar.model.BaseModel;
 import org.traccar.model.Device;
+import org.traccar.model.Event;
 import org.traccar.model.Group;
 import org.traccar.model.GroupedModel;
 import org.traccar.model.Permission;
@@ -30,9 +33,12 @@ import org.traccar.storage.query.Request;
 import jakarta.inject.Inject;
 import javax.sql.DataSource;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -43,13 +49,23 @@ public class DatabaseStorage extends Storage {
     private final DataSource dataSource;
     private final ObjectMapper objectMapper;
     private final String databaseType;
+    private final Map<String, Histogram> queryHistograms;
 
     @Inject
-    public DatabaseStorage(Config config, DataSource dataSource, ObjectMapper objectMapper) {
+    public DatabaseStorage(
+            Config config, DataSource dataSource, ObjectMapper objectMapper, MetricsManager metricsManager) {
         this.config = config;
         this.dataSource = dataSource;
         this.objectMapper = objectMapper;
 
+        String name = "traccar_database_query_duration_seconds";
+        String help = "Database statement execution time";
+        queryHistograms = Map.of(
+                "select", metricsManager.histogram(name, help, "statement", "select"),
+                "insert", metricsManager.histogram(name, help, "statement", "insert"),
+                "update", metricsManager.histogram(name, help, "statement", "update"),
+                "delete", metricsManager.histogram(name, help, "statement", "delete"));
+
         try (var connection = dataSource.getConnection()) {
             databaseType = connection.getMetaData().getDatabaseProductName();
         } catch (SQLException e) {
@@ -76,7 +92,8 @@ public class DatabaseStorage extends Storage {
         query.append(formatCondition(request.getCondition()));
         query.append(formatOrder(request.getOrder()));
         try {
-            QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query.toString());
+            QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query.toString())
+                    .setHistogram(queryHistograms.get("select"));
             List<Object> values = getConditionVariables(request.getCondition());
             for (int index = 0; index < values.size(); index++) {
                 builder.setValue(index, values.get(index));
@@ -98,7 +115,8 @@ public class DatabaseStorage extends Storage {
         query.append(formatColumns(columns, c -> "?"));
         query.append(")");
         try {
-            QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query.toString(), true);
+            QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query.toString(), true)
+                    .setHistogram(queryHistograms.get("insert"));
             builder.setObject(entity, columns);
             return builder.executeUpdate();
         } catch (SQLException e) {
@@ -115,7 +133,8 @@ public class DatabaseStorage extends Storage {
         query.append(formatColumns(columns, c -> c + " = ?"));
         query.append(formatCondition(request.getCondition()));
         try {
-            QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query.toString());
+            QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query.toString())
+                    .setHistogram(queryHistograms.get("update"));
             builder.setObject(entity, columns);
             List<Object> values = getConditionVariables(request.getCondition());
             for (int index = 0; index < values.size(); index++) {
@@ -133,7 +152,8 @@ public class DatabaseStorage extends Storage {
         query.append(getStorageName(clazz));
         query.append(formatCondition(request.getCondition()));
         try {
-            QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query.toString());
+            QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query.toString())
+                    .setHistogram(queryHistograms.get("delete"));
             List<Object> values = getConditionVariables(request.getCondition());
             for (int index = 0; index < values.size(); index++) {
                 builder.setValue(index, values.get(index));
@@ -160,7 +180,8 @@ public class DatabaseStorage extends Storage {
         Condition combinedCondition = Condition.merge(conditions);
         query.append(formatCondition(combinedCondition));
         try {
-            QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query.toString());
+            QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query.toString())
+                    .setHistogram(queryHistograms.get("select"));
             List<Object> values = getConditionVariables(combinedCondition);
             for (int index = 0; index < values.size(); index++) {
                 builder.setValue(index, values.get(index));
@@ -180,7 +201,8 @@ public class DatabaseStorage extends Storage {
         query.append(entries.stream().map(e -> "?").collect(Collectors.joining(", ")));
         query.append(")");
         try {
-            QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query.toString(), true);
+            QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query.toString(), true)
+                    .setHistogram(queryHistograms.get("insert"));
             for (int index = 0; index < entries.size(); index++) {
                 builder.setLong(index, entries.get(index).getValue());
             }
@@ -198,7 +220,8 @@ public class DatabaseStorage extends Storage {
         query.append(" WHERE ");
         query.append(entries.stream().map(e -> e.getKey() + " = ?").collect(Collectors.joining(" AND ")));
         try {
-            QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query.toString(), true);
+            QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query.toString(), true)
+                    .setHistogram(queryHistograms.get("delete"));
             for (int index = 0; index < entries.size(); index++) {
                 builder.setLong(index, entries.get(index).getValue());
             }
@@ -208,6 +231,45 @@ public class DatabaseStorage extends Storage {
         }
     }
 
+    /**
+     * Drops TimescaleDB chunks that only contain data older than the provided time. Returns false if the table is not
+     * a hypertable, in which case nothing is removed.
+     */
+    public boolean dropChunks(Class<?> clazz, Date olderThan) throws StorageException {
+        if (!databaseType.equals("PostgreSQL")) {
+            return false;
+        }
+        String storageName = getStorageName(clazz);
+        try (var connection = dataSource.getConnection()) {
+            try (var statement = connection.prepareStatement(
+                    "SELECT COUNT(*) FROM pg_extension WHERE extname = 'timescaledb'")) {
+                try (var resultSet = statement.executeQuery()) {
+                    if (!resultSet.next() || resultSet.getInt(1) == 0) {
+                        return false;
+                    }
+                }
+            }
+            try (var statement = connection.prepareStatement(
+                    "SELECT COUNT(*) FROM timescaledb_information.hypertables WHERE hypertable_name = ?")) {
+                statement.setString(1, storageName);
+                try (var resultSet = statement.executeQuery()) {
+                    if (!resultSet.next() || resultSet.getInt(1) == 0) {
+                        return false;
+                    }
+                }
+            }
+            try (var statement = connection.prepareStatement(
+                    "SELECT drop_chunks(?::regclass, older_than => ?::timestamp)")) {
+                statement.setString(1, storageName);
+                statement.setTimestamp(2, new Timestamp(olderThan.getTime()));
+                statement.execute();
+            }
+            return true;
+        } catch (SQLException e) {
+            throw new StorageException(e);
+        }
+    }
+
     private String getStorageName(Class<?> clazz) throws StorageException {
         StorageName storageName = clazz.getAnnotation(StorageName.class);
         if (storageName == null) {
@@ -236,6 +298,9 @@ public class DatabaseStorage extends Storage {
             if (condition.getDeviceId() > 0) {
                 results.add(condition.getDeviceId());
             }
+        } else if (genericCondition instanceof Condition.UnreferencedPositions condition) {
+            results.add(condition.getDeviceId());
+            results.add(condition.getDeviceId());
         }
         return results;
     }
@@ -296,6 +361,18 @@ public class DatabaseStorage extends Storage {
                 }
                 result.append(")");
 
+            } else if (genericCondition instanceof Condition.UnreferencedPositions) {
+
+                result.append("id NOT IN (");
+                result.append("SELECT positionId FROM ");
+                result.append(getStorageName(Device.class));
+                result.append(" WHERE id = ? AND positionId IS NOT NULL");
+                result.append(") AND id NOT IN (");
+                result.append("SELECT positionId FROM ");
+                result.append(getStorageName(Event.class));
+                result.append(" WHERE deviceId = ? AND positionId IS NOT NULL");
+                result.append(")");
+
             }
         }
         return result.toString();
@@ -22,6 +22,7 @@ import org.slf4j.LoggerFactory;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.helper.ReflectionCache;
+import org.traccar.metrics.Histogram;
 import org.traccar.model.Permission;
 
 import javax.sql.DataSource;
@@ -58,6 +59,7 @@ public final class QueryBuilder {
     private PreparedStatement statement;
     private final String query;
     private final boolean returnGeneratedKeys;
+    private Histogram histogram;
 
     private QueryBuilder(
             Config config, DataSource dataSource, ObjectMapper objectMapper,
@@ -92,6 +94,17 @@ public final class QueryBuilder {
         return new QueryBuilder(config, dataSource, objectMapper, query, returnGeneratedKeys);
     }
 
+    public QueryBuilder setHistogram(Histogram histogram) {
+        this.histogram = histogram;
+        return this;
+    }
+
+    private void recordTime(long startTime) {
+        if (histogram != null) {
+            histogram.recordSince(startTime);
+        }
+    }
+
     private interface ValueSetter {
         void invoke() throws SQLException;
     }
@@ -266,7 +279,9 @@ public final class QueryBuilder {
         try {
             logQuery();
 
+            long startTime = System.nanoTime();
             resultSet = statement.executeQuery();
+            recordTime(startTime);
             ResultSetMetaData resultMetaData = resultSet.getMetaData();
 
             List<ResultSetProcessor<T>> processors = new ArrayList<>();
@@ -333,7 +348,9 @@ public final class QueryBuilder {
         if (query != null) {
             try {
                 logQuery();
+                long startTime = System.nanoTime();
                 statement.execute();
+                recordTime(startTime);
                 if (returnGeneratedKeys) {
                     try (ResultSet resultSet = statement.getGeneratedKeys()) {
                         if (resultSet.next()) {
@@ -354,7 +371,9 @@ public final class QueryBuilder {
         if (query != null) {
             try {
                 logQuery();
+                long startTime = System.nanoTime();
                 try (ResultSet resultSet = statement.executeQuery()) {
+                    recordTime(startTime);
                     ResultSetMetaData resultMetaData = resultSet.getMetaData();
                     while (resultSet.next()) {
                         LinkedHashMap<String, Long> map = new LinkedHashMap<>();
@@ -190,4 +190,16 @@ public interface Condition {
         }
     }
 
+    class UnreferencedPositions implements Condition {
+        private final long deviceId;
+
+        public UnreferencedPositions(long deviceId) {
+            this.deviceId = deviceId;
+        }
+
+        public long getDeviceId() {
+            return deviceId;
+        }
+    }
+
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2025 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.web;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.api.security.LoginResult;
+import org.traccar.api.security.LoginService;
+import org.traccar.helper.SessionHelper;
+import org.traccar.metrics.MetricsManager;
+import org.traccar.model.User;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Request;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+
+/**
+ * Metrics scrape endpoint. Access requires an administrator, authenticated either with a web session or with an
+ * authorization header, for example a bearer token or the service account token.
+ */
+public class MetricsServlet extends HttpServlet {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetricsServlet.class);
+
+    private static final String OPENMETRICS_TYPE = "application/openmetrics-text";
+
+    private final MetricsManager metricsManager;
+    private final LoginService loginService;
+    private final Storage storage;
+
+    public MetricsServlet(MetricsManager metricsManager, LoginService loginService, Storage storage) {
+        this.metricsManager = metricsManager;
+        this.loginService = loginService;
+        this.storage = storage;
+    }
+
+    private User authenticate(HttpServletRequest request)
+            throws StorageException, GeneralSecurityException, IOException {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader != null) {
+            String[] auth = authHeader.split(" ", 2);
+            if (auth.length == 2) {
+                LoginResult loginResult = loginService.login(auth[0], auth[1]);
+                return loginResult != null ? loginResult.getUser() : null;
+            }
+            return null;
+        }
+        HttpSession session = request.getSession(false);
+        Long userId = session != null ? (Long) session.getAttribute(SessionHelper.USER_ID_KEY) : null;
+        if (userId != null) {
+            return storage.getObject(User.class, new Request(
+                    new Columns.All(), new Condition.Equals("id", userId)));
+        }
+        return null;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        User user;
+        try {
+            user = authenticate(request);
+        } catch (SecurityException | StorageException | GeneralSecurityException e) {
+            LOGGER.warn("Metrics authentication error", e);
+            user = null;
+        }
+        if (user == null) {
+            response.setHeader("WWW-Authenticate", "Bearer realm=\"metrics\"");
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        if (!user.getAdministrator() || user.getDisabled()) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        String accept = request.getHeader("Accept");
+        boolean openMetrics = accept != null && accept.contains(OPENMETRICS_TYPE);
+        byte[] body = metricsManager.format(openMetrics).getBytes(StandardCharsets.UTF_8);
+        if (openMetrics) {
+            response.setContentType(OPENMETRICS_TYPE + "; version=1.0.0; charset=utf-8");
+        } else {
+            response.setContentType("text/plain; version=0.0.4; charset=utf-8");
+        }
+        response.setHeader("Cache-Control", "no-cache");
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+}
@@ -51,7 +51,7 @@ public class OverrideFileFilter implements Filter {
         }
 
         String uri = httpRequest.getRequestURI();
-        if (uri.startsWith("/api") || uri.startsWith("/console")) {
+        if (uri.startsWith("/api") || uri.startsWith("/console") || uri.equals("/metrics")) {
             chain.doFilter(request, response);
             return;
         }
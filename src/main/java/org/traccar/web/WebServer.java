@@ -48,10 +48,13 @@ import org.traccar.api.DateParameterConverterProvider;
 import org.traccar.api.ResourceErrorHandler;
 import org.traccar.api.StreamWriter;
 import org.traccar.api.resource.ServerResource;
+import org.traccar.api.security.LoginService;
 import org.traccar.api.security.SecurityRequestFilter;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.helper.ObjectMapperContextResolver;
+import org.traccar.metrics.MetricsManager;
+import org.traccar.storage.Storage;
 
 import javax.sql.DataSource;
 import java.io.IOException;
@@ -94,6 +97,13 @@ public class WebServer implements LifecycleObject {
             servletHandler.addServlet(new ServletHolder(new ConsoleServlet(config)), "/console/*");
         }
 
+        if (config.getBoolean(Keys.WEB_METRICS)) {
+            MetricsServlet metricsServlet = new MetricsServlet(
+                    injector.getInstance(MetricsManager.class), injector.getInstance(LoginService.class),
+                    injector.getInstance(Storage.class));
+            servletHandler.addServlet(new ServletHolder(metricsServlet), "/metrics");
+        }
+
         initWebApp(servletHandler);
 
         Handler.Sequence handlers = new Handler.Sequence();
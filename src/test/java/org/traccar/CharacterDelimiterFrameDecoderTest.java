@@ -0,0 +1,61 @@
+package org.traccar;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.TooLongFrameException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CharacterDelimiterFrameDecoderTest extends ProtocolTest {
+
+    private static String string(Object frame) {
+        return ((ByteBuf) frame).toString(StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    public void testDecode() throws Exception {
+
+        var decoder = new CharacterDelimiterFrameDecoder(1024, "\r\n", "\n", ";");
+
+        ByteBuf buf = Unpooled.buffer();
+        buf.writeCharSequence("first;second\r", StandardCharsets.US_ASCII);
+
+        assertEquals("first", string(decoder.decode(null, null, buf)));
+        assertNull(decoder.decode(null, null, buf));
+
+        buf.writeCharSequence("\nthird\n", StandardCharsets.US_ASCII);
+
+        assertEquals("second", string(decoder.decode(null, null, buf)));
+        assertEquals("third", string(decoder.decode(null, null, buf)));
+        assertNull(decoder.decode(null, null, buf));
+
+        decoder = new CharacterDelimiterFrameDecoder(1024, false, "\r\n", "\r");
+
+        assertEquals("first\r\n", string(decoder.decode(null, null, buffer("first\r\nsecond"))));
+        assertEquals("first\r", string(decoder.decode(null, null, buffer("first\rsecond"))));
+
+    }
+
+    @Test
+    public void testTooLongFrame() throws Exception {
+
+        var decoder = new CharacterDelimiterFrameDecoder(4, '#');
+
+        ByteBuf buf = Unpooled.buffer();
+        buf.writeCharSequence("toolong", StandardCharsets.US_ASCII);
+
+        assertThrows(TooLongFrameException.class, () -> decoder.decode(null, null, buf));
+
+        buf.writeCharSequence("frame#next#", StandardCharsets.US_ASCII);
+
+        assertNull(decoder.decode(null, null, buf));
+        assertEquals("next", string(decoder.decode(null, null, buf)));
+
+    }
+
+}
@@ -0,0 +1,83 @@
+package org.traccar;
+
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollDatagramChannel;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.uring.IoUring;
+import io.netty.channel.uring.IoUringDatagramChannel;
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class EventLoopGroupFactoryTest {
+
+    private static EventLoopGroupFactory createFactory(String transport, int datagramChannels) {
+        Config config = new Config();
+        config.setString(Keys.SERVER_NETTY_TRANSPORT, transport);
+        config.setString(Keys.SERVER_NETTY_BOSS_THREADS, "1");
+        config.setString(Keys.SERVER_NETTY_WORKER_THREADS, "3");
+        config.setString(Keys.SERVER_NETTY_DATAGRAM_CHANNELS, String.valueOf(datagramChannels));
+        return new EventLoopGroupFactory(config);
+    }
+
+    private static void shutdown(EventLoopGroupFactory factory) {
+        factory.getBossGroup().shutdownGracefully();
+        factory.getWorkerGroup().shutdownGracefully();
+    }
+
+    @Test
+    public void testNio() {
+        var factory = createFactory("nio", 4);
+        try {
+            assertEquals(NioServerSocketChannel.class, factory.getServerChannelClass());
+            assertEquals(NioSocketChannel.class, factory.getSocketChannelClass());
+            assertEquals(NioDatagramChannel.class, factory.getDatagramChannelClass());
+            assertNull(factory.getReusePortOption());
+            assertEquals(1, factory.getDatagramChannels());
+        } finally {
+            shutdown(factory);
+        }
+    }
+
+    @Test
+    public void testUnavailable() {
+        assumeTrue(!Epoll.isAvailable());
+        var factory = createFactory("epoll", 0);
+        try {
+            assertEquals(NioDatagramChannel.class, factory.getDatagramChannelClass());
+            assertEquals(1, factory.getDatagramChannels());
+        } finally {
+            shutdown(factory);
+        }
+    }
+
+    @Test
+    public void testNative() {
+        assumeTrue(IoUring.isAvailable() || Epoll.isAvailable());
+        var factory = createFactory("native", 0);
+        try {
+            assertEquals(
+                    IoUring.isAvailable() ? IoUringDatagramChannel.class : EpollDatagramChannel.class,
+                    factory.getDatagramChannelClass());
+            assertNotNull(factory.getReusePortOption());
+            assertEquals(3, factory.getDatagramChannels());
+        } finally {
+            shutdown(factory);
+        }
+
+        factory = createFactory("native", 2);
+        try {
+            assertEquals(2, factory.getDatagramChannels());
+        } finally {
+            shutdown(factory);
+        }
+    }
+
+}
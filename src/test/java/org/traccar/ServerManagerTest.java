@@ -0,0 +1,39 @@
+package org.traccar;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.helper.ClassScanner;
+
+import java.io.InputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+public class ServerManagerTest {
+
+    private static List<String> scanProtocolClasses() throws Exception {
+        return ClassScanner.findSubclasses(BaseProtocol.class, "org.traccar.protocol").stream()
+                .map(Class::getName)
+                .sorted()
+                .toList();
+    }
+
+    @Test
+    public void testProtocolIndex() throws Exception {
+        List<String> expected = scanProtocolClasses();
+        assertFalse(expected.isEmpty());
+        try (InputStream index = getClass().getClassLoader().getResourceAsStream("META-INF/traccar/protocols")) {
+            assertNotNull(index);
+            assertEquals(expected, ServerManager.findProtocolClasses(index).stream().sorted().toList());
+        }
+    }
+
+    @Test
+    public void testProtocolScan() throws Exception {
+        List<String> expected = scanProtocolClasses();
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, ServerManager.findProtocolClasses(null).stream().sorted().toList());
+    }
+
+}
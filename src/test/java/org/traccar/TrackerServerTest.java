@@ -0,0 +1,76 @@
+package org.traccar;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.uring.IoUring;
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class TrackerServerTest {
+
+    private static int findPort() throws Exception {
+        try (DatagramSocket socket = new DatagramSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void verifyBind(String transport, int expectedChannels) throws Exception {
+        int port = findPort();
+        Config config = new Config();
+        config.setString(Keys.SERVER_NETTY_TRANSPORT, transport);
+        config.setString(Keys.SERVER_NETTY_BOSS_THREADS, "1");
+        config.setString(Keys.SERVER_NETTY_WORKER_THREADS, "2");
+        config.setString(Keys.SERVER_NETTY_DATAGRAM_CHANNELS, "2");
+        config.setString(Keys.PROTOCOL_ADDRESS.withPrefix("test"), "127.0.0.1");
+        config.setString(Keys.PROTOCOL_PORT.withPrefix("test"), String.valueOf(port));
+
+        var factory = new EventLoopGroupFactory(config);
+        var server = new TrackerServer(config, "test", true, factory) {
+            @Override
+            ChannelHandler createPipelineFactory(Config config, String protocol) {
+                return new ChannelInitializer<Channel>() {
+                    @Override
+                    protected void initChannel(Channel channel) {
+                    }
+                };
+            }
+
+            @Override
+            protected void addProtocolHandlers(PipelineBuilder pipeline, Config config) {
+            }
+        };
+
+        try {
+            server.start();
+            assertEquals(expectedChannels, server.getChannelGroup().size());
+            for (Channel channel : server.getChannelGroup()) {
+                assertEquals(port, ((InetSocketAddress) channel.localAddress()).getPort());
+            }
+        } finally {
+            server.stop();
+            factory.getBossGroup().shutdownGracefully();
+            factory.getWorkerGroup().shutdownGracefully();
+        }
+    }
+
+    @Test
+    public void testDatagramNio() throws Exception {
+        verifyBind("nio", 1);
+    }
+
+    @Test
+    public void testDatagramReusePort() throws Exception {
+        assumeTrue(IoUring.isAvailable() || Epoll.isAvailable());
+        verifyBind("native", 2);
+    }
+
+}
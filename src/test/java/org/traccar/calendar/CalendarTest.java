@@ -212,4 +212,55 @@ public class CalendarTest {
         assertTrue(calendar.checkMoment(format.parse("2025-10-09 10:00:00+04")));
     }
 
+    @Test
+    public void testIndexWindow() throws IOException, ParserException, ParseException {
+        String calendarString = """
+                BEGIN:VCALENDAR
+                VERSION:2.0
+                BEGIN:VEVENT
+                UID:window1@example.com
+                DTSTART:20250801T220000Z
+                DTEND:20250802T020000Z
+                RRULE:FREQ=DAILY
+                SUMMARY:Nightly Event
+                END:VEVENT
+                END:VCALENDAR""";
+        Calendar calendar = new Calendar();
+        calendar.setData(calendarString.getBytes());
+        DateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ssX");
+
+        assertTrue(calendar.checkMoment(format.parse("2025-08-10 23:00:00+00")));
+        assertTrue(calendar.checkMoment(format.parse("2025-08-11 01:00:00+00")));
+        assertFalse(calendar.checkMoment(format.parse("2025-08-11 03:00:00+00")));
+        assertTrue(calendar.checkMoment(format.parse("2025-09-20 01:00:00+00")));
+        assertFalse(calendar.checkMoment(format.parse("2025-09-20 12:00:00+00")));
+        assertTrue(calendar.checkMoment(format.parse("2025-08-05 23:00:00+00")));
+        assertFalse(calendar.checkMoment(format.parse("2025-07-30 23:00:00+00")));
+
+        calendar.setData(calendarString.replace("T220000Z", "T120000Z").getBytes());
+        assertTrue(calendar.checkMoment(format.parse("2025-09-20 12:00:00+00")));
+    }
+
+    @Test
+    public void testDateOnlyIndexWindow() throws IOException, ParserException, ParseException {
+        String calendarString = """
+                BEGIN:VCALENDAR
+                VERSION:2.0
+                BEGIN:VEVENT
+                UID:window2@example.com
+                DTSTART;VALUE=DATE:20250802
+                DTEND;VALUE=DATE:20250803
+                RRULE:FREQ=WEEKLY
+                SUMMARY:Weekly All-Day Event
+                END:VEVENT
+                END:VCALENDAR""";
+        Calendar calendar = new Calendar();
+        calendar.setData(calendarString.getBytes());
+        DateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ssX");
+
+        assertTrue(calendar.checkMoment(format.parse("2025-08-02 12:00:00+00")));
+        assertFalse(calendar.checkMoment(format.parse("2025-08-05 12:00:00+00")));
+        assertTrue(calendar.checkMoment(format.parse("2025-08-09 06:00:00+00")));
+    }
+
 }
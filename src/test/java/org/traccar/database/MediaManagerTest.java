@@ -0,0 +1,122 @@
+package org.traccar.database;
+
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MediaManagerTest {
+
+    @TempDir
+    private Path path;
+
+    private MediaManager createMediaManager(long timeout) {
+        Config config = new Config();
+        config.setString(Keys.MEDIA_PATH, path.toString());
+        config.setString(Keys.MEDIA_UPLOAD_DEVICE_LIMIT, "10");
+        config.setString(Keys.MEDIA_UPLOAD_LIMIT, "15");
+        config.setString(Keys.MEDIA_UPLOAD_TIMEOUT, String.valueOf(timeout));
+        return new MediaManager(config);
+    }
+
+    private long countFiles() throws IOException {
+        try (var files = Files.walk(path)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    private static long write(MediaManager mediaManager, String uniqueId, long uploadId, long offset, String data) {
+        return mediaManager.writeUpload(
+                uniqueId, uploadId, offset, Unpooled.copiedBuffer(data, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testUpload() throws Exception {
+        MediaManager mediaManager = createMediaManager(600);
+
+        assertFalse(mediaManager.startUpload("1", 1, 11));
+        assertTrue(mediaManager.startUpload("1", 1, 8));
+        assertEquals(4, write(mediaManager, "1", 1, 0, "abcd"));
+        assertEquals(0, write(mediaManager, "1", 1, 4, "efghXX"));
+        assertEquals(-1, write(mediaManager, "1", 2, 0, "abcd"));
+
+        String name = mediaManager.finishUpload("1", 1, "jpg");
+        assertNotNull(name);
+        assertNull(mediaManager.finishUpload("1", 1, "jpg"));
+
+        Path file = path.resolve("1").resolve(name);
+        for (int i = 0; i < 100 && !Files.exists(file); i++) {
+            Thread.sleep(50);
+        }
+        assertEquals("abcdefgh", Files.readString(file));
+    }
+
+    @Test
+    public void testLimits() throws Exception {
+        MediaManager mediaManager = createMediaManager(600);
+
+        assertTrue(mediaManager.startUpload("1", 1, 6));
+        assertTrue(mediaManager.startUpload("2", 1, 6));
+        assertTrue(mediaManager.startUpload("1", 2, 6));
+        assertEquals(-1, write(mediaManager, "1", 1, 0, "a"));
+        assertEquals(5, write(mediaManager, "2", 1, 0, "a"));
+
+        assertTrue(mediaManager.startUpload("3", 1, 6));
+        assertEquals(-1, write(mediaManager, "2", 1, 1, "b"));
+        assertEquals(5, write(mediaManager, "1", 2, 0, "a"));
+
+        for (int i = 0; i < 100 && countFiles() > 2; i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(2, countFiles());
+    }
+
+    @Test
+    public void testGap() throws Exception {
+        MediaManager mediaManager = createMediaManager(600);
+
+        assertTrue(mediaManager.startUpload("1", 1, 10));
+        assertEquals(10, write(mediaManager, "1", 1, 4, "efg"));
+        assertEquals(10, write(mediaManager, "1", 1, 8, "ij"));
+        assertEquals(3, write(mediaManager, "1", 1, 0, "abcd"));
+        assertEquals(3, write(mediaManager, "1", 1, 2, "cd"));
+        assertEquals(0, write(mediaManager, "1", 1, 7, "h"));
+
+        Path file = path.resolve("1").resolve(mediaManager.finishUpload("1", 1, "jpg"));
+        for (int i = 0; i < 100 && !Files.exists(file); i++) {
+            Thread.sleep(50);
+        }
+        assertEquals("abcdefghij", Files.readString(file));
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        MediaManager mediaManager = createMediaManager(1);
+
+        assertTrue(mediaManager.startUpload("1", 1, 8));
+        assertEquals(4, write(mediaManager, "1", 1, 0, "abcd"));
+        for (int i = 0; i < 100 && countFiles() == 0; i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(1, countFiles());
+
+        for (int i = 0; i < 100 && countFiles() > 0; i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(0, countFiles());
+        assertEquals(-1, write(mediaManager, "1", 1, 4, "efgh"));
+    }
+
+}
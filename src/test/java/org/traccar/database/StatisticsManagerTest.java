@@ -0,0 +1,41 @@
+package org.traccar.database;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.client.Client;
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.storage.Storage;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class StatisticsManagerTest {
+
+    @Test
+    public void testConcurrentRegistration() throws Exception {
+        StatisticsManager statisticsManager = new StatisticsManager(
+                new Config(), mock(Storage.class), mock(Client.class), new ObjectMapper());
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    statisticsManager.registerMessageStored(j % 2 + 1, "test");
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(4000, statisticsManager.messageStoredCount());
+        assertEquals(2000, statisticsManager.messageStoredCount(1));
+        assertEquals(2000, statisticsManager.messageStoredCount(2));
+        assertEquals(0, statisticsManager.messageStoredCount(3));
+    }
+
+}
@@ -0,0 +1,127 @@
+package org.traccar.forward;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.model.Device;
+import org.traccar.model.Event;
+import org.traccar.model.Position;
+import org.traccar.protobuf.forward.ForwardMessages;
+
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ForwardProtobufTest {
+
+    private static Device createDevice() {
+        Device device = new Device();
+        device.setId(5);
+        device.setUniqueId("123456789012345");
+        device.setName("truck");
+        device.setStatus(Device.STATUS_ONLINE);
+        return device;
+    }
+
+    private static Position createPosition() {
+        Position position = new Position("teltonika");
+        position.setId(100);
+        position.setDeviceId(5);
+        position.setServerTime(new Date(3000));
+        position.setDeviceTime(new Date(2000));
+        position.setFixTime(new Date(1000));
+        position.setValid(true);
+        position.setLatitude(56.95);
+        position.setLongitude(24.1);
+        position.setAltitude(12.5);
+        position.setSpeed(40.25);
+        position.setCourse(270);
+        position.setAccuracy(3);
+        position.setAddress("Riga");
+        position.set(Position.KEY_IGNITION, true);
+        position.set(Position.KEY_POWER, 12.7);
+        position.set(Position.KEY_ODOMETER, 1234567L);
+        return position;
+    }
+
+    private static void verifyPosition(ForwardMessages.Position message) {
+        assertEquals(100, message.getId());
+        assertEquals(5, message.getDeviceId());
+        assertEquals("teltonika", message.getProtocol());
+        assertEquals(3000, message.getServerTime());
+        assertEquals(2000, message.getDeviceTime());
+        assertEquals(1000, message.getFixTime());
+        assertTrue(message.getValid());
+        assertEquals(56.95, message.getLatitude());
+        assertEquals(24.1, message.getLongitude());
+        assertEquals(12.5, message.getAltitude());
+        assertEquals(40.25, message.getSpeed());
+        assertEquals(270, message.getCourse());
+        assertEquals(3, message.getAccuracy());
+        assertEquals("Riga", message.getAddress());
+        assertEquals(Map.of(
+                Position.KEY_IGNITION, "true",
+                Position.KEY_POWER, "12.7",
+                Position.KEY_ODOMETER, "1234567"), message.getAttributesMap());
+    }
+
+    private static void verifyDevice(ForwardMessages.Device message) {
+        assertEquals(5, message.getId());
+        assertEquals("123456789012345", message.getUniqueId());
+        assertEquals("truck", message.getName());
+        assertEquals(Device.STATUS_ONLINE, message.getStatus());
+    }
+
+    @Test
+    public void testPosition() throws Exception {
+
+        PositionData positionData = new PositionData();
+        positionData.setPosition(createPosition());
+        positionData.setDevice(createDevice());
+
+        var message = ForwardMessages.PositionMessage.parseFrom(ForwardProtobuf.toBytes(positionData));
+        verifyPosition(message.getPosition());
+        verifyDevice(message.getDevice());
+
+    }
+
+    @Test
+    public void testEvent() throws Exception {
+
+        Event event = new Event(Event.TYPE_ALARM, 5);
+        event.setId(7);
+        event.setEventTime(new Date(4000));
+        event.setPositionId(100);
+        event.setGeofenceId(8);
+        event.set(Position.KEY_ALARM, Position.ALARM_SOS);
+
+        EventData eventData = new EventData();
+        eventData.setEvent(event);
+        eventData.setPosition(createPosition());
+        eventData.setDevice(createDevice());
+
+        var message = ForwardMessages.EventMessage.parseFrom(ForwardProtobuf.toBytes(eventData));
+        assertEquals(7, message.getEvent().getId());
+        assertEquals(5, message.getEvent().getDeviceId());
+        assertEquals(Event.TYPE_ALARM, message.getEvent().getType());
+        assertEquals(4000, message.getEvent().getEventTime());
+        assertEquals(100, message.getEvent().getPositionId());
+        assertEquals(8, message.getEvent().getGeofenceId());
+        assertEquals(0, message.getEvent().getMaintenanceId());
+        assertEquals(Map.of(Position.KEY_ALARM, Position.ALARM_SOS), message.getEvent().getAttributesMap());
+        verifyPosition(message.getPosition());
+        verifyDevice(message.getDevice());
+
+    }
+
+    @Test
+    public void testEmpty() throws Exception {
+
+        var message = ForwardMessages.PositionMessage.parseFrom(ForwardProtobuf.toBytes(new PositionData()));
+        assertFalse(message.hasPosition());
+        assertFalse(message.hasDevice());
+
+    }
+
+}
@@ -0,0 +1,78 @@
+package org.traccar.forward;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ForwardSpoolTest {
+
+    @TempDir
+    private Path directory;
+
+    private Config createConfig() {
+        Config config = new Config();
+        config.setString(Keys.FORWARD_SPOOL_PATH, directory.toString());
+        config.setString(Keys.FORWARD_SPOOL_SEGMENT_SIZE, "64");
+        return config;
+    }
+
+    @Test
+    public void testReplay() throws Exception {
+
+        ForwardSpool spool = new ForwardSpool(createConfig());
+        assertTrue(spool.isEmpty());
+
+        for (int i = 0; i < 10; i++) {
+            spool.write(("record" + i).getBytes(StandardCharsets.UTF_8));
+        }
+        assertFalse(spool.isEmpty());
+
+        var entries = spool.read(3);
+        assertEquals(3, entries.size());
+        assertEquals("record0", new String(entries.get(0).data(), StandardCharsets.UTF_8));
+        spool.commit(entries.get(0));
+        spool.commit(entries.get(1));
+
+        spool = new ForwardSpool(createConfig());
+        assertFalse(spool.isEmpty());
+
+        entries = spool.read(100);
+        assertEquals(8, entries.size());
+        assertEquals("record2", new String(entries.get(0).data(), StandardCharsets.UTF_8));
+        entries.forEach(spool::commit);
+        assertTrue(spool.isEmpty());
+
+    }
+
+    @Test
+    public void testSegmentDelete() throws Exception {
+
+        ForwardSpool spool = new ForwardSpool(createConfig());
+        for (int i = 0; i < 20; i++) {
+            spool.write(("record" + i).getBytes(StandardCharsets.UTF_8));
+        }
+        assertTrue(countFiles() > 2);
+
+        spool.read(100).forEach(spool::commit);
+        assertTrue(spool.isEmpty());
+        assertEquals(1, countFiles());
+
+    }
+
+    private long countFiles() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+}
@@ -0,0 +1,209 @@
+package org.traccar.forward;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
+import jakarta.ws.rs.client.AsyncInvoker;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.client.Invocation;
+import jakarta.ws.rs.client.InvocationCallback;
+import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Position;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PositionForwarderBatchTest {
+
+    private static final List<byte[]> BATCH = List.of(
+            "{\"id\":1}".getBytes(StandardCharsets.UTF_8), "{\"id\":2}".getBytes(StandardCharsets.UTF_8));
+
+    private final List<String> bodies = new ArrayList<>();
+    private final List<InvocationCallback<Response>> callbacks = new ArrayList<>();
+    private final List<TimerTask> timerTasks = new ArrayList<>();
+    private final List<Boolean> results = new ArrayList<>();
+    private RuntimeException requestError;
+
+    @SuppressWarnings("unchecked")
+    private PositionForwarderBatch createForwarder(Config config) throws Exception {
+        config.setString(Keys.FORWARD_URL, "http://localhost/");
+
+        AsyncInvoker asyncInvoker = mock(AsyncInvoker.class);
+        doAnswer(invocation -> {
+            Entity<byte[]> entity = invocation.getArgument(0);
+            bodies.add(new String(entity.getEntity(), StandardCharsets.UTF_8));
+            callbacks.add(invocation.getArgument(1));
+            return null;
+        }).when(asyncInvoker).post(any(), any(InvocationCallback.class));
+        Invocation.Builder builder = mock(Invocation.Builder.class);
+        when(builder.async()).thenAnswer(invocation -> {
+            if (requestError != null) {
+                throw requestError;
+            }
+            return asyncInvoker;
+        });
+        WebTarget target = mock(WebTarget.class);
+        when(target.request()).thenReturn(builder);
+        Client client = mock(Client.class);
+        when(client.target(anyString())).thenReturn(target);
+
+        ObjectMapper objectMapper = mock(ObjectMapper.class);
+        when(objectMapper.writeValueAsBytes(any())).thenAnswer(invocation -> {
+            PositionData positionData = invocation.getArgument(0);
+            return String.valueOf(positionData.getPosition().getId()).getBytes(StandardCharsets.UTF_8);
+        });
+
+        Timer timer = mock(Timer.class);
+        when(timer.newTimeout(any(), anyLong(), any())).thenAnswer(invocation -> {
+            timerTasks.add(invocation.getArgument(0));
+            return mock(Timeout.class);
+        });
+
+        ExecutorService executorService = mock(ExecutorService.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executorService).execute(any());
+
+        return new PositionForwarderBatch(config, client, objectMapper, timer, executorService);
+    }
+
+    private void forward(PositionForwarder forwarder, long id) {
+        PositionData positionData = new PositionData();
+        positionData.setPosition(new Position());
+        positionData.getPosition().setId(id);
+        forwarder.forward(positionData, (success, throwable) -> results.add(success));
+    }
+
+    private static Response createResponse(Response.Status status) {
+        Response response = mock(Response.class);
+        when(response.getStatusInfo()).thenReturn(status);
+        return response;
+    }
+
+    @Test
+    public void testFormatArray() throws Exception {
+
+        Config config = new Config();
+        config.setString(Keys.FORWARD_URL, "http://localhost/");
+
+        PositionForwarderBatch forwarder = new PositionForwarderBatch(config, null, null, null, null);
+
+        assertEquals("[{\"id\":1},{\"id\":2}]", new String(forwarder.formatBatch(BATCH), StandardCharsets.UTF_8));
+
+    }
+
+    @Test
+    public void testFormatNdjson() throws Exception {
+
+        Config config = new Config();
+        config.setString(Keys.FORWARD_URL, "http://localhost/");
+        config.setString(Keys.FORWARD_BATCH_FORMAT, "ndjson");
+
+        PositionForwarderBatch forwarder = new PositionForwarderBatch(config, null, null, null, null);
+
+        assertEquals("{\"id\":1}\n{\"id\":2}\n", new String(forwarder.formatBatch(BATCH), StandardCharsets.UTF_8));
+
+    }
+
+    @Test
+    public void testThresholds() throws Exception {
+
+        Config config = new Config();
+        config.setString(Keys.FORWARD_BATCH_SIZE, "3");
+        config.setString(Keys.FORWARD_BATCH_BYTES, "7");
+        PositionForwarderBatch forwarder = createForwarder(config);
+
+        forward(forwarder, 1);
+        forward(forwarder, 2);
+        assertEquals(List.of(), bodies);
+        forward(forwarder, 3);
+        assertEquals(List.of("[1,2,3]"), bodies);
+
+        forward(forwarder, 100);
+        forward(forwarder, 101);
+        assertEquals(List.of("[1,2,3]", "[100,101]"), bodies);
+
+        byte[] serialized = "4".getBytes(StandardCharsets.UTF_8);
+        assertTrue(forwarder.forwardSerialized(serialized, (success, throwable) -> results.add(success)));
+        assertEquals(2, bodies.size());
+        timerTasks.get(timerTasks.size() - 1).run(null);
+        assertEquals(List.of("[1,2,3]", "[100,101]", "[4]"), bodies);
+
+        callbacks.forEach(callback -> callback.completed(createResponse(Response.Status.OK)));
+        assertEquals(List.of(true, true, true, true, true, true), results);
+
+    }
+
+    @Test
+    public void testWindow() throws Exception {
+
+        Config config = new Config();
+        config.setString(Keys.FORWARD_BATCH_SIZE, "1");
+        config.setString(Keys.FORWARD_BATCH_WINDOW, "1");
+        config.setString(Keys.FORWARD_BATCH_QUEUE, "1");
+        PositionForwarderBatch forwarder = createForwarder(config);
+
+        forward(forwarder, 1);
+        forward(forwarder, 2);
+        assertEquals(List.of("[1]"), bodies);
+        assertEquals(List.of(), results);
+
+        forward(forwarder, 3);
+        assertEquals(List.of(false), results);
+
+        callbacks.get(0).completed(createResponse(Response.Status.INTERNAL_SERVER_ERROR));
+        assertEquals(List.of(false, false), results);
+        assertEquals(List.of("[1]", "[2]"), bodies);
+
+        callbacks.get(1).completed(createResponse(Response.Status.OK));
+        assertEquals(List.of(false, false, true), results);
+
+        forward(forwarder, 4);
+        assertEquals(List.of("[1]", "[2]", "[4]"), bodies);
+
+    }
+
+    @Test
+    public void testRequestError() throws Exception {
+
+        Config config = new Config();
+        config.setString(Keys.FORWARD_BATCH_SIZE, "1");
+        config.setString(Keys.FORWARD_BATCH_WINDOW, "1");
+        config.setString(Keys.FORWARD_BATCH_QUEUE, "1");
+        config.setString(Keys.FORWARD_HEADER, "Invalid");
+        PositionForwarderBatch forwarder = createForwarder(config);
+
+        requestError = new IllegalStateException();
+        forward(forwarder, 1);
+        forward(forwarder, 2);
+        forward(forwarder, 3);
+        assertEquals(List.of(false, false, false), results);
+
+        requestError = null;
+        forward(forwarder, 4);
+        assertEquals(List.of("[4]"), bodies);
+
+        callbacks.get(0).completed(createResponse(Response.Status.OK));
+        assertEquals(List.of(false, false, false, true), results);
+
+    }
+
+}
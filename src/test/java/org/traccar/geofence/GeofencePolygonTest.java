@@ -49,4 +49,37 @@ public class GeofencePolygonTest {
         assertFalse(geofenceGeometry.containsPoint(50.9477, 0.5836));
     }
 
+    private static String createCircle(double latitude, double longitude, double radius, int vertices) {
+        StringBuilder wkt = new StringBuilder("POLYGON ((");
+        for (int i = 0; i < vertices; i++) {
+            double angle = 2 * Math.PI * i / vertices;
+            double lon = longitude + radius * Math.cos(angle);
+            if (i > 0) {
+                wkt.append(", ");
+            }
+            wkt.append(latitude + radius * Math.sin(angle)).append(' ').append(lon > 180 ? lon - 360 : lon);
+        }
+        return wkt.append("))").toString();
+    }
+
+    @Test
+    public void testContainsLargePolygon() throws ParseException {
+        GeofenceGeometry geofenceGeometry = new GeofencePolygon(createCircle(50, 10, 1, 10000));
+        assertTrue(geofenceGeometry.containsPoint(50, 10));
+        assertTrue(geofenceGeometry.containsPoint(50.99, 10));
+        assertTrue(geofenceGeometry.containsPoint(50, 9.01));
+        assertFalse(geofenceGeometry.containsPoint(50.71, 10.71));
+        assertFalse(geofenceGeometry.containsPoint(51.01, 10));
+    }
+
+    @Test
+    public void testContainsLargePolygon180() throws ParseException {
+        GeofenceGeometry geofenceGeometry = new GeofencePolygon(createCircle(50, 179.5, 1, 10000));
+        assertTrue(geofenceGeometry.containsPoint(50, 179.5));
+        assertTrue(geofenceGeometry.containsPoint(50, -179.6));
+        assertTrue(geofenceGeometry.containsPoint(50.5, 180));
+        assertFalse(geofenceGeometry.containsPoint(50, -179.4));
+        assertFalse(geofenceGeometry.containsPoint(51.1, 179.5));
+    }
+
 }
@@ -56,4 +56,35 @@ public class GeofencePolylineTest {
         assertFalse(geofenceGeometry.containsPoint(66.9509, -179.83));
     }
 
+    @Test
+    public void testContainsLongPolyline() throws ParseException {
+        StringBuilder wkt = new StringBuilder("LINESTRING (");
+        for (int i = 0; i <= 1000; i++) {
+            if (i > 0) {
+                wkt.append(", ");
+            }
+            wkt.append(50 + i * 0.001).append(' ').append(10 + (i % 2) * 0.001);
+        }
+        GeofenceGeometry geofenceGeometry = new GeofencePolyline(wkt.append(")").toString(), 20.0);
+        assertTrue(geofenceGeometry.containsPoint(50.5005, 10.0005));
+        assertTrue(geofenceGeometry.containsPoint(50.0005, 10.0005));
+        assertFalse(geofenceGeometry.containsPoint(50.5005, 10.002));
+        assertTrue(geofenceGeometry.containsPoint(50.9995, 10.0005));
+    }
+
+    @Test
+    public void testContainsLongSegment() throws ParseException {
+        GeofenceGeometry geofenceGeometry = new GeofencePolyline("LINESTRING (60 0, 60 10)", 20.0);
+        assertTrue(geofenceGeometry.containsPoint(60.0945, 5.0));
+        assertFalse(geofenceGeometry.containsPoint(60.0, 5.0));
+        assertFalse(geofenceGeometry.containsPoint(60.2, 5.0));
+    }
+
+    @Test
+    public void testContainsShortSegmentNearPole() throws ParseException {
+        GeofenceGeometry geofenceGeometry = new GeofencePolyline("LINESTRING (79.8 0, 79.9 2.5)", 20.0);
+        assertTrue(geofenceGeometry.containsPoint(79.85237, 1.24391));
+        assertFalse(geofenceGeometry.containsPoint(79.85, 1.25));
+    }
+
 }
@@ -0,0 +1,84 @@
+package org.traccar.helper;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+import org.traccar.AsciiDecoder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsciiSequenceTest {
+
+    private static void verifySequence(ByteBuf buf) {
+        buf.skipBytes(2);
+        AsciiSequence sequence = new AsciiSequence(buf);
+        assertEquals(9, sequence.length());
+        assertEquals('a', sequence.charAt(0));
+        assertEquals((char) 0xE9, sequence.charAt(8));
+        assertEquals("abc,1234", sequence.subSequence(0, 8).toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> sequence.charAt(9));
+
+        CharSequence sub = sequence.subSequence(4, 7);
+        assertEquals(3, sub.length());
+        assertEquals('1', sub.charAt(0));
+        assertEquals("123", sub.toString());
+        assertEquals("23", sub.subSequence(1, 3).toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> sub.subSequence(2, 4));
+
+        Matcher matcher = Pattern.compile("(\\w+),(\\d+).").matcher(sequence);
+        assertTrue(matcher.matches());
+        assertEquals("abc", matcher.group(1));
+        assertEquals("1234", matcher.group(2));
+
+        assertEquals(1, sequence.refCnt());
+        assertTrue(sequence.release());
+        assertEquals(0, buf.refCnt());
+    }
+
+    private static byte[] createData() {
+        byte[] data = "xxabc,1234?".getBytes(StandardCharsets.US_ASCII);
+        data[data.length - 1] = (byte) 0xE9;
+        return data;
+    }
+
+    @Test
+    public void testHeapBuffer() {
+        byte[] data = createData();
+        byte[] padded = new byte[data.length + 3];
+        System.arraycopy(data, 0, padded, 3, data.length);
+        ByteBuf buf = Unpooled.wrappedBuffer(padded, 3, data.length);
+        assertTrue(buf.hasArray());
+        verifySequence(buf);
+    }
+
+    @Test
+    public void testDirectBuffer() {
+        byte[] data = createData();
+        ByteBuf buf = Unpooled.directBuffer(data.length).writeBytes(data);
+        assertFalse(buf.hasArray());
+        verifySequence(buf);
+    }
+
+    @Test
+    public void testDecoder() {
+        EmbeddedChannel channel = new EmbeddedChannel(new AsciiDecoder());
+        ByteBuf buf = Unpooled.copiedBuffer("test", StandardCharsets.US_ASCII);
+        channel.writeInbound(buf);
+
+        AsciiSequence sequence = channel.readInbound();
+        assertEquals("test", sequence.toString());
+        assertEquals(1, buf.refCnt());
+        sequence.release();
+        assertEquals(0, buf.refCnt());
+        assertFalse(channel.finish());
+    }
+
+}
@@ -0,0 +1,102 @@
+package org.traccar.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FieldScannerTest {
+
+    private static void verify(Pattern pattern, String... inputs) {
+        FieldScanner scanner = FieldScanner.get(pattern);
+        assertNotNull(scanner);
+        for (String input : inputs) {
+            Matcher matcher = pattern.matcher(input);
+            int[] starts = new int[scanner.getGroupCount() + 1];
+            int[] ends = new int[starts.length];
+            boolean matches = matcher.matches();
+            assertEquals(matches, scanner.matches(input, starts, ends), input);
+            if (matches) {
+                for (int i = 0; i <= matcher.groupCount(); i++) {
+                    assertEquals(matcher.start(i), starts[i], input);
+                    assertEquals(matcher.end(i), ends[i], input);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testUnsupported() {
+        assertNull(FieldScanner.compile("(\\d*)(\\d+)", Pattern.DOTALL));
+        assertNull(FieldScanner.compile("(.*),(\\d+)", Pattern.DOTALL));
+        assertNull(FieldScanner.compile("(\\d+|\\d+,)", Pattern.DOTALL));
+        assertNull(FieldScanner.compile("(?:\\d,)+", Pattern.DOTALL));
+        assertNull(FieldScanner.compile("\\d+?", Pattern.DOTALL));
+        assertNull(FieldScanner.compile("(\\d)\\1", Pattern.DOTALL));
+    }
+
+    @Test
+    public void testMatches() {
+        verify(new PatternBuilder()
+                .text("$GPRMC,")
+                .number("(dd)(dd)(dd).?d*,")
+                .expression("([AV]),")
+                .number("(d+)(dd.d+),([NS]),")
+                .number("(d+)(dd.d+),([EW]),")
+                .number("(d+.?d*)?,")
+                .number("(d+.?d*)?,")
+                .number("(dd)(dd)(dd)")
+                .any()
+                .compile(),
+                "$GPRMC,123519.00,A,4807.038,N,01131.000,E,022.4,084.4,230394,003.1,W*6A",
+                "$GPRMC,123519,V,4807.038,S,01131.000,W,,,230394",
+                "$GPRMC,123519,A,07.038,N,01131.000,E,,,230394",
+                "$GPRMC,123519,A,4807.038,N,01131.000,E,1.,.5,230394",
+                "$GPRMC,123519,A,4807.038,N,01131.000,E,22.4,84.4,2303");
+
+        verify(new PatternBuilder()
+                .text("*")
+                .expression("([^,]+),")
+                .groupBegin()
+                .text("V1,")
+                .or()
+                .text("NBR,")
+                .number("(d+),")
+                .groupEnd()
+                .number("(x+)")
+                .expression("(?:#)?")
+                .compile(),
+                "*HQ,V1,1F", "*HQ,NBR,12,AB#", "*HQ,NBR,,AB", "*HQ,V2,1F", "*,V1,1F#");
+    }
+
+    @Test
+    public void testParser() {
+        Pattern pattern = new PatternBuilder()
+                .number("(-?d+),")
+                .number("(x+),")
+                .number("(-?d+.?d*),")
+                .expression("([^,]*)")
+                .compile();
+
+        Parser parser = new Parser(pattern, "-12,1F,-0.25,");
+        assertTrue(parser.matches());
+        assertEquals(-12, parser.nextInt());
+        assertEquals(0x1F, parser.nextHexInt());
+        assertEquals(-0.25, parser.nextDouble());
+        assertFalse(parser.hasNext());
+
+        parser = new Parser(pattern, "99999999999,FFFFFFFFFF,12345678901234567.5,text");
+        assertTrue(parser.matches());
+        assertEquals(99999999999L, parser.nextLong());
+        assertEquals(0xFFFFFFFFFFL, parser.nextHexLong());
+        assertEquals(12345678901234567.5, parser.nextDouble());
+        assertEquals("text", parser.next());
+    }
+
+}
@@ -0,0 +1,109 @@
+package org.traccar.helper;
+
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class LimitedConnectorProviderTest {
+
+    private static class RecordingConnector implements Connector {
+
+        private final List<AsyncConnectorCallback> callbacks = new ArrayList<>();
+
+        @Override
+        public ClientResponse apply(ClientRequest request) {
+            return mock(ClientResponse.class);
+        }
+
+        @Override
+        public Future<?> apply(ClientRequest request, AsyncConnectorCallback callback) {
+            callbacks.add(callback);
+            return new CompletableFuture<>();
+        }
+
+        @Override
+        public String getName() {
+            return "recording";
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+    private static class CountingCallback implements AsyncConnectorCallback {
+
+        private int responses;
+        private int failures;
+
+        @Override
+        public void response(ClientResponse response) {
+            responses += 1;
+        }
+
+        @Override
+        public void failure(Throwable failure) {
+            failures += 1;
+        }
+
+    }
+
+    @Test
+    public void testLimit() {
+        RecordingConnector delegate = new RecordingConnector();
+        var connector = new LimitedConnectorProvider.LimitedConnector(delegate, 2);
+        CountingCallback callback = new CountingCallback();
+
+        for (int i = 0; i < 5; i++) {
+            connector.apply(mock(ClientRequest.class), callback);
+        }
+        assertEquals(2, delegate.callbacks.size());
+
+        delegate.callbacks.get(0).response(mock(ClientResponse.class));
+        assertEquals(3, delegate.callbacks.size());
+        assertEquals(1, callback.responses);
+
+        delegate.callbacks.get(1).failure(new RuntimeException());
+        assertEquals(4, delegate.callbacks.size());
+        assertEquals(1, callback.failures);
+
+        delegate.callbacks.get(2).response(mock(ClientResponse.class));
+        assertEquals(5, delegate.callbacks.size());
+
+        delegate.callbacks.get(3).response(mock(ClientResponse.class));
+        connector.apply(mock(ClientRequest.class));
+        connector.apply(mock(ClientRequest.class), callback);
+        assertEquals(6, delegate.callbacks.size());
+        assertEquals(3, callback.responses);
+    }
+
+    @Test
+    public void testCancelQueued() {
+        RecordingConnector delegate = new RecordingConnector();
+        var connector = new LimitedConnectorProvider.LimitedConnector(delegate, 1);
+        CountingCallback callback = new CountingCallback();
+
+        connector.apply(mock(ClientRequest.class), callback);
+        Future<?> queued = connector.apply(mock(ClientRequest.class), callback);
+        assertTrue(queued.cancel(false));
+
+        delegate.callbacks.get(0).response(mock(ClientResponse.class));
+        assertEquals(1, delegate.callbacks.size());
+
+        connector.apply(mock(ClientRequest.class), callback);
+        assertEquals(2, delegate.callbacks.size());
+    }
+
+}
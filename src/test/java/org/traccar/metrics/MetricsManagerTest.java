@@ -0,0 +1,54 @@
+package org.traccar.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MetricsManagerTest {
+
+    @Test
+    public void testCounter() {
+        MetricsManager metricsManager = new MetricsManager();
+        var counter = metricsManager.counter("test_messages_total", "Test", "protocol", "gt06");
+        assertSame(counter, metricsManager.counter("test_messages_total", "Test", "protocol", "gt06"));
+        counter.add(5);
+
+        String text = metricsManager.format(false);
+        assertTrue(text.contains("# TYPE test_messages_total counter\n"));
+        assertTrue(text.contains("test_messages_total{protocol=\"gt06\"} 5\n"));
+
+        String openMetrics = metricsManager.format(true);
+        assertTrue(openMetrics.contains("# TYPE test_messages counter\n"));
+        assertTrue(openMetrics.contains("test_messages_total{protocol=\"gt06\"} 5\n"));
+        assertTrue(openMetrics.endsWith("# EOF\n"));
+    }
+
+    @Test
+    public void testHistogram() {
+        MetricsManager metricsManager = new MetricsManager();
+        var histogram = metricsManager.histogram("test_duration_seconds", "Test", "handler", "a\"b");
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+        histogram.record(TimeUnit.SECONDS.toNanos(60));
+
+        String text = metricsManager.format(false);
+        assertTrue(text.contains("test_duration_seconds_bucket{handler=\"a\\\"b\",le=\"0.0025\"} 0\n"));
+        assertTrue(text.contains("test_duration_seconds_bucket{handler=\"a\\\"b\",le=\"0.005\"} 1\n"));
+        assertTrue(text.contains("test_duration_seconds_bucket{handler=\"a\\\"b\",le=\"30\"} 1\n"));
+        assertTrue(text.contains("test_duration_seconds_bucket{handler=\"a\\\"b\",le=\"+Inf\"} 2\n"));
+        assertTrue(text.contains("test_duration_seconds_count{handler=\"a\\\"b\"} 2\n"));
+        assertTrue(text.contains("test_duration_seconds_sum{handler=\"a\\\"b\"} 60.003\n"));
+    }
+
+    @Test
+    public void testGauge() {
+        MetricsManager metricsManager = new MetricsManager();
+        metricsManager.gauge("test_queue_size", "Test", () -> 7);
+        assertTrue(metricsManager.format(false).contains("test_queue_size 7\n"));
+        assertThrows(IllegalArgumentException.class, () -> metricsManager.counter("test_queue_size", "Test"));
+    }
+
+}
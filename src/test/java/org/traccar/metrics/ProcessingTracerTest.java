@@ -0,0 +1,101 @@
+package org.traccar.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProcessingTracerTest {
+
+    private ProcessingTracer createTracer(int interval) {
+        Config config = new Config();
+        config.setString(Keys.PROCESSING_TRACE_INTERVAL, String.valueOf(interval));
+        config.setString(Keys.PROCESSING_TRACE_SIZE, "4");
+        config.setString(Keys.PROCESSING_TRACE_SLOWEST, "2");
+        ProcessingTracer tracer = new ProcessingTracer(config);
+        tracer.setStages(List.of("first", "second"));
+        return tracer;
+    }
+
+    @Test
+    public void testSampling() {
+        ProcessingTracer tracer = createTracer(2);
+        Position position = new Position("test");
+        assertTrue(tracer.start(position) >= 0);
+        assertEquals(-1, tracer.start(position));
+        assertTrue(tracer.start(position) >= 0);
+    }
+
+    @Test
+    public void testTrace() {
+        ProcessingTracer tracer = createTracer(1);
+        Position position = new Position("test");
+        position.setDeviceId(1);
+
+        for (int i = 0; i < 6; i++) {
+            long id = tracer.start(position);
+            tracer.stage(id, 0);
+            if (i % 2 == 0) {
+                tracer.stage(id, 1);
+            }
+            tracer.finish(id);
+        }
+
+        var recent = tracer.getRecent(10);
+        assertEquals(4, recent.size());
+        assertEquals(1, recent.get(0).stages().size());
+        assertEquals(2, recent.get(1).stages().size());
+        assertEquals("second", recent.get(1).stages().get(1).name());
+
+        var slowest = tracer.getSlowest();
+        assertEquals(2, slowest.size());
+        assertTrue(slowest.get(0).duration() >= slowest.get(1).duration());
+        assertEquals("test", slowest.get(0).protocol());
+
+        tracer.reset();
+        assertTrue(tracer.getSlowest().isEmpty());
+    }
+
+    @Test
+    public void testConcurrent() throws Exception {
+        ProcessingTracer tracer = createTracer(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            long deviceId = i;
+            threads.add(new Thread(() -> {
+                Position position = new Position("test" + deviceId);
+                position.setDeviceId(deviceId);
+                for (int j = 0; j < 10000; j++) {
+                    long id = tracer.start(position);
+                    tracer.stage(id, 0);
+                    tracer.stage(id, 1);
+                    tracer.finish(id);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+
+        while (threads.stream().anyMatch(Thread::isAlive)) {
+            for (var trace : tracer.getRecent(4)) {
+                assertEquals("test" + trace.deviceId(), trace.protocol());
+                assertTrue(trace.duration() >= 0);
+                assertTrue(trace.stages().stream().allMatch(stage -> stage.duration() >= 0));
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertFalse(tracer.getRecent(4).isEmpty());
+        assertEquals(2, tracer.getSlowest().size());
+    }
+
+}
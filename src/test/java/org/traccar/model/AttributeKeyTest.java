@@ -0,0 +1,23 @@
+package org.traccar.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class AttributeKeyTest {
+
+    @Test
+    public void testKeys() {
+        assertSame("io239", AttributeKey.IO.get(239));
+        assertSame(AttributeKey.IO.get(11317), AttributeKey.IO.get(11317));
+        assertEquals("io70000", AttributeKey.IO.get(70000));
+        assertEquals("temp-1", AttributeKey.TEMP.get(-1));
+
+        AttributeKey key = AttributeKey.of("beacon", "Rssi");
+        assertSame(key, AttributeKey.of("beacon", "Rssi"));
+        assertSame("beacon2Rssi", key.get(2));
+        assertSame(AttributeKey.IO, AttributeKey.of(Position.PREFIX_IO, "", 100));
+    }
+
+}
@@ -0,0 +1,113 @@
+package org.traccar.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AttributeMapTest {
+
+    @Test
+    public void testTypes() {
+        AttributeMap map = new AttributeMap();
+        map.putInteger("int", 7);
+        map.putLong("long", 1L << 40);
+        map.putDouble("double", -0.5);
+        map.putBoolean("boolean", true);
+        map.put("string", "12.5");
+        map.put("byte", (byte) 3);
+
+        assertInstanceOf(Integer.class, map.get("int"));
+        assertInstanceOf(Long.class, map.get("long"));
+        assertInstanceOf(Double.class, map.get("double"));
+        assertInstanceOf(Boolean.class, map.get("boolean"));
+        assertInstanceOf(Byte.class, map.get("byte"));
+
+        assertEquals(7.0, map.getDouble("int", 0));
+        assertEquals(1L << 40, (long) map.getDouble("long", 0));
+        assertEquals(12.5, map.getDouble("string", 0));
+        assertEquals(1.5, map.getDouble("missing", 1.5));
+        assertTrue(map.getBoolean("boolean", false));
+        assertFalse(map.getBoolean("int", true));
+
+        assertEquals(7, map.put("int", "text"));
+        assertEquals("text", map.get("int"));
+        assertEquals(List.of("int", "long", "double", "boolean", "string", "byte"), List.copyOf(map.keySet()));
+    }
+
+    @Test
+    public void testNullValue() {
+        AttributeMap map = new AttributeMap();
+        map.put("key", null);
+        assertTrue(map.containsKey("key"));
+        assertNull(map.get("key"));
+        assertEquals(2.0, map.getDouble("key", 2.0));
+        assertTrue(map.getBoolean("key", true));
+    }
+
+    @Test
+    public void testMapContract() {
+        Random random = new Random(1);
+        AttributeMap map = new AttributeMap();
+        Map<String, Object> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 10000; i++) {
+            String key = "io" + random.nextInt(40);
+            switch (random.nextInt(6)) {
+                case 0 -> assertEquals(expected.put(key, i), map.put(key, i));
+                case 1 -> assertEquals(expected.put(key, (double) i), map.put(key, (double) i));
+                case 2 -> assertEquals(expected.put(key, "v" + i), map.put(key, "v" + i));
+                case 3 -> assertEquals(expected.remove(key), map.remove(key));
+                case 4 -> {
+                    var iterator = map.entrySet().iterator();
+                    var expectedIterator = expected.entrySet().iterator();
+                    while (iterator.hasNext()) {
+                        var entry = iterator.next();
+                        assertEquals(expectedIterator.next(), entry);
+                        if (entry.getKey().equals(key)) {
+                            iterator.remove();
+                            expectedIterator.remove();
+                        }
+                    }
+                }
+                default -> {
+                    if (random.nextInt(100) == 0) {
+                        map.clear();
+                        expected.clear();
+                    }
+                }
+            }
+            assertEquals(expected.size(), map.size());
+            assertEquals(expected.get(key), map.get(key));
+        }
+        assertEquals(expected, map);
+        assertEquals(map, expected);
+        assertEquals(expected.hashCode(), map.hashCode());
+        assertEquals(List.copyOf(expected.keySet()), List.copyOf(map.keySet()));
+    }
+
+    @Test
+    public void testPosition() {
+        Position position = new Position();
+        position.set("ignition", true);
+        position.set("count", 5);
+        position.set(Position.KEY_POWER, 12.5);
+        assertEquals(12.5, position.getDouble(Position.KEY_POWER));
+        assertTrue(position.getBoolean("ignition"));
+        assertEquals(5, position.getInteger("count"));
+
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("io1", 1);
+        position.setAttributes(attributes);
+        assertInstanceOf(AttributeMap.class, position.getAttributes());
+        assertEquals(attributes, position.getAttributes());
+    }
+
+}
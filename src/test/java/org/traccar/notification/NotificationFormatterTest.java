@@ -0,0 +1,104 @@
+package org.traccar.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.velocity.context.Context;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.traccar.MainModule;
+import org.traccar.api.signature.TokenManager;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.database.LocaleManager;
+import org.traccar.model.Device;
+import org.traccar.model.Event;
+import org.traccar.model.Server;
+import org.traccar.model.User;
+import org.traccar.session.cache.CacheManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class NotificationFormatterTest {
+
+    @TempDir
+    private Path path;
+
+    private Path template;
+    private CacheManager cacheManager;
+
+    private NotificationFormatter createFormatter() throws Exception {
+        template = path.resolve("notifications").resolve("en").resolve("deviceOnline.vm");
+        Files.createDirectories(template.getParent());
+        Files.writeString(template, "#set($subject = \"$device.name $user.name\")\none");
+
+        Config config = new Config();
+        config.setString(Keys.TEMPLATES_ROOT, path.toString());
+        config.setString(Keys.TEMPLATES_CHECK_INTERVAL, "1");
+        config.setString(Keys.WEB_LOCALIZATION_PATH, path.toString());
+        config.setString(Keys.WEB_URL, "http://localhost");
+
+        Device device = new Device();
+        device.setId(1);
+        device.setName("truck");
+        cacheManager = mock(CacheManager.class);
+        when(cacheManager.getServer()).thenReturn(new Server());
+        when(cacheManager.getObject(eq(Device.class), anyLong())).thenReturn(device);
+
+        LocaleManager localeManager = new LocaleManager(config, new ObjectMapper());
+        TextTemplateFormatter textTemplateFormatter = new TextTemplateFormatter(
+                MainModule.provideVelocityEngine(config), mock(TokenManager.class), localeManager, config);
+        return new NotificationFormatter(localeManager, cacheManager, textTemplateFormatter);
+    }
+
+    private static User createUser(long id, String name) {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        return user;
+    }
+
+    @Test
+    public void testSharedContext() throws Exception {
+        NotificationFormatter formatter = createFormatter();
+        Event event = new Event(Event.TYPE_DEVICE_ONLINE, 1);
+
+        Context sharedContext = formatter.prepareSharedContext(event, null);
+        assertSame(event, sharedContext.get("event"));
+
+        var first = formatter.formatMessage(null, createUser(1, "first"), event, null, sharedContext);
+        var second = formatter.formatMessage(null, createUser(2, "second"), event, null, sharedContext);
+        assertEquals("truck first", first.subject());
+        assertEquals("truck second", second.subject());
+        assertEquals("one", first.body());
+        verify(cacheManager, times(1)).getObject(Device.class, 1);
+
+        assertEquals("truck third", formatter.formatMessage(null, createUser(3, "third"), event, null).subject());
+    }
+
+    @Test
+    public void testTemplateReload() throws Exception {
+        NotificationFormatter formatter = createFormatter();
+        Event event = new Event(Event.TYPE_DEVICE_ONLINE, 1);
+        User user = createUser(1, "user");
+
+        assertEquals("one", formatter.formatMessage(null, user, event, null).body());
+
+        Files.writeString(template, "two");
+        Files.setLastModifiedTime(template, FileTime.fromMillis(System.currentTimeMillis() + 10000));
+        assertEquals("one", formatter.formatMessage(null, user, event, null).body());
+
+        Thread.sleep(1500);
+        assertEquals("two", formatter.formatMessage(null, user, event, null).body());
+    }
+
+}
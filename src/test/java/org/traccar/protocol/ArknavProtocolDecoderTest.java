@@ -1,7 +1,22 @@
 package org.traccar.protocol;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
 import org.junit.jupiter.api.Test;
+import org.traccar.AsciiDecoder;
+import org.traccar.CharacterDelimiterFrameDecoder;
+import org.traccar.NetworkMessage;
 import org.traccar.ProtocolTest;
+import org.traccar.WrapperInboundHandler;
+import org.traccar.handler.network.NetworkMessageHandler;
+import org.traccar.model.Position;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 
 public class ArknavProtocolDecoderTest extends ProtocolTest {
 
@@ -22,4 +37,29 @@ public class ArknavProtocolDecoderTest extends ProtocolTest {
 
     }
 
+    @Test
+    public void testDecodePipeline() throws Exception {
+
+        var decoder = inject(new ArknavProtocolDecoder(null));
+        EmbeddedChannel channel = new EmbeddedChannel(
+                new NetworkMessageHandler(),
+                new WrapperInboundHandler(new CharacterDelimiterFrameDecoder(1024, '\r')),
+                new WrapperInboundHandler(new AsciiDecoder()),
+                new WrapperInboundHandler(decoder));
+
+        ByteBuf buf = Unpooled.copiedBuffer(
+                "358266016278447,05*827,000,L001,V,4821.6584,N,01053.8650,E,000.0,000.0,00.0,08:46:04 17-03-16,9.5A,D7,0,79,0,,,,\r"
+                + "123456789012345,05*850,000,L001,A,2459.3640,N,12125.2958,E,000.0,224.8,00.8,07:47:26 09-09-05,9.00,D3,0,C4,1,,,,\r",
+                StandardCharsets.US_ASCII);
+        channel.writeInbound(buf);
+
+        NetworkMessage first = channel.readInbound();
+        assertEquals(48.36097, assertInstanceOf(Position.class, first.getMessage()).getLatitude(), 0.00001);
+        NetworkMessage second = channel.readInbound();
+        assertEquals(24.98940, assertInstanceOf(Position.class, second.getMessage()).getLatitude(), 0.00001);
+        assertEquals(0, buf.refCnt());
+        assertFalse(channel.finish());
+
+    }
+
 }
@@ -1,8 +1,20 @@
 package org.traccar.protocol;
 
+import io.netty.channel.Channel;
+import io.netty.channel.socket.DatagramChannel;
 import org.junit.jupiter.api.Test;
+import org.traccar.NetworkMessage;
 import org.traccar.ProtocolTest;
 
+import java.net.InetSocketAddress;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
 public class XirgoProtocolDecoderTest extends ProtocolTest {
 
     @Test
@@ -76,4 +88,23 @@ public class XirgoProtocolDecoderTest extends ProtocolTest {
 
     }
 
+    @Test
+    public void testUdpAcknowledgement() throws Exception {
+
+        var decoder = inject(new XirgoProtocolDecoder(null));
+        var remoteAddress = new InetSocketAddress("127.0.0.1", 5000);
+        String sentence = "$$357207059646786,4003,2015/05/19,15:55:27,-20.21421,-70.14920,33.6,0.4,0.0,11,0.8,12.9,31,297,1,0,0.0,0.0,0,1,1,1##";
+
+        var datagramChannel = mock(DatagramChannel.class);
+        assertNotNull(decoder.decode(datagramChannel, remoteAddress, sentence));
+        verify(datagramChannel).writeAndFlush(argThat(message -> message instanceof NetworkMessage networkMessage
+                && networkMessage.getMessage().equals("!UDP_ACK,4003,1")
+                && networkMessage.getRemoteAddress().equals(remoteAddress)));
+
+        var streamChannel = mock(Channel.class);
+        assertNotNull(decoder.decode(streamChannel, remoteAddress, sentence));
+        verify(streamChannel, never()).writeAndFlush(any());
+
+    }
+
 }
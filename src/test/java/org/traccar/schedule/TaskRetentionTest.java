@@ -0,0 +1,164 @@
+package org.traccar.schedule;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Device;
+import org.traccar.model.Event;
+import org.traccar.model.Group;
+import org.traccar.model.Position;
+import org.traccar.model.Server;
+import org.traccar.storage.DatabaseStorage;
+import org.traccar.storage.Storage;
+import org.traccar.storage.query.Request;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TaskRetentionTest {
+
+    private static Config createConfig() {
+        Config config = new Config();
+        config.setString(Keys.RETENTION_POSITIONS, "10");
+        config.setString(Keys.RETENTION_BATCH_SIZE, "2");
+        config.setString(Keys.RETENTION_BATCH_DELAY, "50");
+        return config;
+    }
+
+    private static Device createDevice(long id) {
+        Device device = new Device();
+        device.setId(id);
+        return device;
+    }
+
+    private static Position createPosition(long time) {
+        Position position = new Position();
+        position.setFixTime(new Date(time));
+        return position;
+    }
+
+    private static void mockObjects(Storage storage, List<Device> devices) throws Exception {
+        when(storage.getObject(eq(Server.class), any())).thenReturn(new Server());
+        when(storage.getObjects(eq(Group.class), any())).thenReturn(List.of());
+        when(storage.getObjects(eq(Device.class), any())).thenReturn(devices);
+    }
+
+    private static boolean isNear(Date date, long time) {
+        return Math.abs(date.getTime() - time) < TimeUnit.MINUTES.toMillis(1);
+    }
+
+    @Test
+    public void testBatches() throws Exception {
+        Storage storage = mock(Storage.class);
+        mockObjects(storage, List.of(createDevice(1), createDevice(2)));
+        when(storage.getObjects(eq(Position.class), any())).thenReturn(
+                List.of(createPosition(1000), createPosition(2000)), List.of(createPosition(3000)), List.of());
+
+        ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+        TaskRetention task = new TaskRetention(createConfig(), storage);
+        task.schedule(executor);
+        verify(executor).scheduleAtFixedRate(eq(task), anyLong(), anyLong(), any());
+
+        task.run();
+        verify(storage, times(1)).removeObject(eq(Position.class), any(Request.class));
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).schedule(captor.capture(), eq(50L), eq(TimeUnit.MILLISECONDS));
+
+        task.run();
+        verify(storage, times(1)).getObjects(eq(Device.class), any());
+
+        captor.getValue().run();
+        verify(storage, times(2)).removeObject(eq(Position.class), any(Request.class));
+        verify(executor, times(2)).schedule(captor.capture(), eq(50L), eq(TimeUnit.MILLISECONDS));
+
+        captor.getValue().run();
+        verify(storage, times(3)).getObjects(eq(Position.class), any());
+        verify(storage, times(2)).removeObject(eq(Position.class), any(Request.class));
+        verify(storage, never()).getObjects(eq(Event.class), any());
+        verify(executor, times(2)).schedule(any(Runnable.class), anyLong(), any());
+
+        task.run();
+        verify(storage, times(2)).getObjects(eq(Device.class), any());
+    }
+
+    @Test
+    public void testQueryLimit() throws Exception {
+        Storage storage = mock(Storage.class);
+        int deviceCount = TaskRetention.QUERY_LIMIT * 2 + 50;
+        mockObjects(storage, LongStream.rangeClosed(1, deviceCount).mapToObj(TaskRetentionTest::createDevice).toList());
+        when(storage.getObjects(eq(Position.class), any())).thenReturn(List.of());
+
+        ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+        TaskRetention task = new TaskRetention(createConfig(), storage);
+        task.schedule(executor);
+
+        task.run();
+        verify(storage, times(TaskRetention.QUERY_LIMIT)).getObjects(eq(Position.class), any());
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).schedule(captor.capture(), eq(50L), eq(TimeUnit.MILLISECONDS));
+
+        captor.getValue().run();
+        verify(storage, times(TaskRetention.QUERY_LIMIT * 2)).getObjects(eq(Position.class), any());
+        verify(executor, times(2)).schedule(captor.capture(), eq(50L), eq(TimeUnit.MILLISECONDS));
+
+        captor.getValue().run();
+        verify(storage, times(deviceCount)).getObjects(eq(Position.class), any());
+        verify(executor, times(2)).schedule(any(Runnable.class), anyLong(), any());
+        verify(storage, never()).removeObject(any(), any());
+    }
+
+    @Test
+    public void testDropChunks() throws Exception {
+        DatabaseStorage storage = mock(DatabaseStorage.class);
+        mockObjects(storage, List.of(createDevice(1), createDevice(2)));
+        when(storage.getObjects(eq(Position.class), any())).thenReturn(List.of());
+        when(storage.getObjects(eq(Event.class), any())).thenReturn(List.of());
+        long now = System.currentTimeMillis();
+        Position oldestLatest = createPosition(now - TimeUnit.DAYS.toMillis(40));
+        when(storage.getObject(eq(Position.class), any())).thenReturn(oldestLatest);
+
+        Config config = createConfig();
+        config.setString(Keys.RETENTION_EVENTS, "30");
+        TaskRetention task = new TaskRetention(config, storage);
+        task.schedule(mock(ScheduledExecutorService.class));
+        task.run();
+
+        verify(storage).dropChunks(eq(Event.class), argThat(date -> isNear(date, now - TimeUnit.DAYS.toMillis(30))));
+        verify(storage).dropChunks(Position.class, oldestLatest.getFixTime());
+        verify(storage, times(2)).getObjects(eq(Position.class), any());
+        verify(storage, times(2)).getObjects(eq(Event.class), any());
+    }
+
+    @Test
+    public void testDropChunksDisabled() throws Exception {
+        DatabaseStorage storage = mock(DatabaseStorage.class);
+        Device device = createDevice(2);
+        device.getAttributes().put(Keys.RETENTION_EVENTS.getKey(), 0);
+        mockObjects(storage, List.of(createDevice(1), device));
+        when(storage.getObjects(eq(Position.class), any())).thenReturn(List.of());
+        when(storage.getObjects(eq(Event.class), any())).thenReturn(List.of());
+
+        Config config = createConfig();
+        config.setString(Keys.RETENTION_EVENTS, "30");
+        TaskRetention task = new TaskRetention(config, storage);
+        task.schedule(mock(ScheduledExecutorService.class));
+        task.run();
+
+        verify(storage, never()).dropChunks(any(), any());
+    }
+
+}
@@ -0,0 +1,380 @@
+#!/usr/bin/env python3
+
+# Load generator replaying protocol decoder test fixtures over TCP and UDP.
+#
+# Against a running server (devices must exist or database.registerUnknown must be enabled):
+#   ./tools/test-load.py --protocol teltonika --connections 500 --rate 5000 --duration 60
+#
+# Benchmark mode starts the server jar with in-memory or H2 storage and reports server side results:
+#   ./tools/test-load.py --protocol gt06 --server target/tracker-server.jar --storage memory
+#
+# Every connection sends the fixtures in their original order, so login frames go first, and simulates its own
+# devices. IMEI numbers found in the fixtures, as text or BCD, get the connection index in their last six digits.
+# Other identifiers can be listed with --identifier. Checksums are not recalculated, so protocols that verify them
+# may need --identifier none to keep fixtures unchanged.
+#
+# Before the load starts, one extra device sends each frame and waits for a response to learn which frames are
+# acknowledged and how long the responses are. Responses are then matched to the exact frames that caused them.
+
+import argparse
+import asyncio
+import collections
+import os
+import re
+import statistics
+import subprocess
+import sys
+import tempfile
+import time
+
+ROOT = os.path.dirname(os.path.dirname(os.path.abspath(__file__)))
+
+STRING = r'"(?:[^"\\]|\\.)*"'
+CALL = re.compile(r'\b(binary|buffer|text)\(\s*(' + STRING + r'(?:\s*,\s*' + STRING + r')*)\s*\)')
+LITERAL = re.compile(r'"((?:[^"\\]|\\.)*)"')
+ESCAPES = {'r': '\r', 'n': '\n', 't': '\t', '0': '\0', '"': '"', '\\': '\\'}
+
+ACK_TIMEOUT = 5.0
+CALIBRATION_TIMEOUT = 1.0
+CALIBRATION_QUIET = 0.1
+
+
+def load_ports():
+    with open(os.path.join(ROOT, 'src/main/java/org/traccar/config/PortConfigSuffix.java'), 'r') as file:
+        content = file.read()
+    return {protocol: int(port) for protocol, port in re.findall(r'PORTS\.put\("([^"]+)",\s*(\d+)\);', content)}
+
+
+def unescape(value):
+    return re.sub(r'\\(u[0-9a-fA-F]{4}|.)',
+                  lambda m: chr(int(m.group(1)[1:], 16)) if len(m.group(1)) > 1 else ESCAPES.get(m.group(1), m.group(1)),
+                  value)
+
+
+def load_frames(name):
+    path = os.path.join(ROOT, 'src/test/java/org/traccar/protocol', name + 'ProtocolDecoderTest.java')
+    with open(path, 'r') as file:
+        content = file.read()
+    frames = []
+    for kind, arguments in CALL.findall(content):
+        data = ''.join(unescape(value) for value in LITERAL.findall(arguments))
+        if kind == 'binary':
+            frames.append(bytes.fromhex(data))
+        else:
+            frames.append(data.encode('iso-8859-1'))
+    return frames
+
+
+def detect_identifiers(frames):
+    identifiers = set()
+    for frame in frames:
+        identifiers.update(re.findall(r'(?<!\d)\d{15}(?!\d)', frame.decode('iso-8859-1')))
+        encoded = frame.hex()
+        for match in re.finditer(r'(?<![0-9])0(\d{15})(?![0-9])', encoded):
+            if match.start() % 2 == 0:
+                identifiers.add(match.group(1))
+    return sorted(identifier for identifier in identifiers if identifier[0] != '0' and len(set(identifier)) >= 4)
+
+
+def rewrite_frames(frames, identifiers, index):
+    if not identifiers:
+        return frames
+    result = []
+    for frame in frames:
+        for identifier in identifiers:
+            replacement = identifier[:-6] + str(index).zfill(6)
+            frame = frame.replace(identifier.encode(), replacement.encode())
+            encoded = frame.hex()
+            if identifier in encoded:
+                frame = bytes.fromhex(encoded.replace(identifier, replacement))
+        result.append(frame)
+    return result
+
+
+class Stats:
+
+    def __init__(self):
+        self.sent = 0
+        self.expected = 0
+        self.acked = 0
+        self.lost = 0
+        self.errors = 0
+        self.latencies = []
+        self.elapsed = 0.0
+
+    def percentile(self, value):
+        if not self.latencies:
+            return float('nan')
+        return statistics.quantiles(self.latencies, n=100, method='inclusive')[value - 1] * 1000
+
+
+class Pending:
+    """Frames waiting for a response, in the order they were sent. Only frames known to be acknowledged are added."""
+
+    def __init__(self, stats):
+        self.stats = stats
+        self.frames = collections.deque()
+        self.received = 0
+
+    def add(self, length):
+        if length > 0:
+            self.frames.append((time.monotonic(), length))
+            self.stats.expected += 1
+
+    def receive(self, size):
+        now = time.monotonic()
+        while self.frames and now - self.frames[0][0] > ACK_TIMEOUT:
+            self.frames.popleft()
+            self.stats.lost += 1
+            self.received = 0
+        self.received += size
+        while self.frames and self.received >= self.frames[0][1]:
+            sent, length = self.frames.popleft()
+            self.received -= length
+            self.stats.latencies.append(now - sent)
+            self.stats.acked += 1
+
+
+async def calibrate_tcp(host, port, frames):
+    reader, writer = await asyncio.open_connection(host, port)
+    lengths = []
+    try:
+        for frame in frames:
+            writer.write(frame)
+            await writer.drain()
+            length = 0
+            timeout = CALIBRATION_TIMEOUT
+            while True:
+                try:
+                    data = await asyncio.wait_for(reader.read(4096), timeout)
+                except asyncio.TimeoutError:
+                    break
+                if not data:
+                    break
+                length += len(data)
+                timeout = CALIBRATION_QUIET
+            lengths.append(length)
+    finally:
+        writer.close()
+    return lengths
+
+
+class CalibrationProtocol(asyncio.DatagramProtocol):
+
+    def __init__(self):
+        self.responses = asyncio.Queue()
+
+    def datagram_received(self, data, address):
+        self.responses.put_nowait(data)
+
+
+async def calibrate_udp(host, port, frames):
+    loop = asyncio.get_running_loop()
+    transport, protocol = await loop.create_datagram_endpoint(CalibrationProtocol, remote_addr=(host, port))
+    lengths = []
+    try:
+        for frame in frames:
+            transport.sendto(frame)
+            try:
+                lengths.append(len(await asyncio.wait_for(protocol.responses.get(), CALIBRATION_TIMEOUT)))
+            except asyncio.TimeoutError:
+                lengths.append(0)
+    finally:
+        transport.close()
+    return lengths
+
+
+async def tcp_worker(host, port, frames, lengths, interval, deadline, stats):
+    try:
+        reader, writer = await asyncio.open_connection(host, port)
+    except OSError:
+        stats.errors += 1
+        return
+    pending = Pending(stats)
+
+    async def read_acks():
+        while True:
+            data = await reader.read(4096)
+            if not data:
+                break
+            pending.receive(len(data))
+
+    ack_task = asyncio.create_task(read_acks())
+    index = 0
+    try:
+        while time.monotonic() < deadline:
+            pending.add(lengths[index % len(frames)])
+            writer.write(frames[index % len(frames)])
+            await writer.drain()
+            stats.sent += 1
+            index += 1
+            await asyncio.sleep(interval)
+    except OSError:
+        stats.errors += 1
+    finally:
+        ack_task.cancel()
+        writer.close()
+
+
+class UdpProtocol(asyncio.DatagramProtocol):
+
+    def __init__(self, stats):
+        self.stats = stats
+        self.pending = Pending(stats)
+
+    def datagram_received(self, data, address):
+        if self.pending.frames:
+            self.pending.receive(self.pending.frames[0][1])
+
+    def error_received(self, exception):
+        self.stats.errors += 1
+
+
+async def udp_worker(host, port, frames, lengths, interval, deadline, stats):
+    loop = asyncio.get_running_loop()
+    transport, protocol = await loop.create_datagram_endpoint(lambda: UdpProtocol(stats), remote_addr=(host, port))
+    index = 0
+    try:
+        while time.monotonic() < deadline:
+            protocol.pending.add(lengths[index % len(frames)])
+            transport.sendto(frames[index % len(frames)])
+            stats.sent += 1
+            index += 1
+            await asyncio.sleep(interval)
+    finally:
+        transport.close()
+
+
+async def run_load(args, port, frames, identifiers):
+    workers = args.connections + args.udp
+    if args.connections:
+        tcp_lengths = await calibrate_tcp(args.host, port, rewrite_frames(frames, identifiers, workers))
+    if args.udp:
+        udp_lengths = await calibrate_udp(args.host, port, rewrite_frames(frames, identifiers, workers))
+
+    stats = Stats()
+    interval = workers / args.rate
+    start = time.monotonic()
+    deadline = start + args.duration
+    tasks = []
+    for i in range(args.connections):
+        tasks.append(tcp_worker(args.host, port, rewrite_frames(frames, identifiers, i), tcp_lengths,
+                                interval, deadline, stats))
+    for i in range(args.udp):
+        tasks.append(udp_worker(args.host, port, rewrite_frames(frames, identifiers, args.connections + i),
+                                udp_lengths, interval, deadline, stats))
+    await asyncio.gather(*tasks)
+    stats.elapsed = time.monotonic() - start
+    return stats
+
+
+def write_config(directory, args):
+    config = os.path.join(directory, 'benchmark.xml')
+    entries = {
+        'protocols.enable': args.protocol,
+        'database.registerUnknown': 'true',
+        'logger.file': os.path.join(directory, 'tracker-server.log'),
+        'web.port': str(args.web_port),
+    }
+    if args.storage == 'memory':
+        entries['database.memory'] = 'true'
+    else:
+        entries['database.driver'] = 'org.h2.Driver'
+        entries['database.url'] = 'jdbc:h2:' + os.path.join(directory, 'database')
+        entries['database.user'] = 'sa'
+        entries['database.password'] = ''
+    with open(config, 'w') as file:
+        file.write("<?xml version='1.0' encoding='UTF-8'?>\n")
+        file.write("<!DOCTYPE properties SYSTEM 'http://java.sun.com/dtd/properties.dtd'>\n")
+        file.write('<properties>\n')
+        for key, value in entries.items():
+            file.write(f"    <entry key='{key}'>{value}</entry>\n")
+        file.write('</properties>\n')
+    return config
+
+
+def wait_port(host, port, timeout):
+    deadline = time.monotonic() + timeout
+    while time.monotonic() < deadline:
+        try:
+            asyncio.run(asyncio.wait_for(asyncio.open_connection(host, port), 1))
+            return True
+        except (OSError, asyncio.TimeoutError):
+            time.sleep(0.5)
+    return False
+
+
+def parse_gc_log(path):
+    pauses = [float(value) for value in re.findall(r'Pause.*?([\d.]+)ms', open(path).read())]
+    return len(pauses), sum(pauses), max(pauses, default=0.0)
+
+
+def count_positions(path):
+    with open(path, 'r', errors='replace') as file:
+        return sum(1 for line in file if '] id: ' in line)
+
+
+def main():
+    parser = argparse.ArgumentParser(description='Replay protocol test fixtures against the server')
+    parser.add_argument('--protocol', required=True, help='protocol name, for example teltonika')
+    parser.add_argument('--fixtures', help='decoder test name, for example Gl200Text (default: protocol name)')
+    parser.add_argument('--identifier', help='comma separated device identifiers to rewrite, "none" to disable')
+    parser.add_argument('--host', default='127.0.0.1')
+    parser.add_argument('--port', type=int, help='server port (default: protocol default port)')
+    parser.add_argument('--connections', type=int, default=100, help='number of TCP connections')
+    parser.add_argument('--udp', type=int, default=0, help='number of UDP sockets')
+    parser.add_argument('--rate', type=float, default=1000, help='total messages per second')
+    parser.add_argument('--duration', type=float, default=30, help='test duration in seconds')
+    parser.add_argument('--server', help='server jar to start in benchmark mode')
+    parser.add_argument('--storage', choices=['memory', 'h2'], default='memory')
+    parser.add_argument('--web-port', type=int, default=18082)
+    args = parser.parse_args()
+
+    fixtures = args.fixtures or args.protocol[0].upper() + args.protocol[1:]
+    frames = load_frames(fixtures)
+    if not frames:
+        sys.exit(f'No fixtures found for {fixtures}')
+    port = args.port or load_ports()[args.protocol]
+    if args.identifier is None:
+        identifiers = detect_identifiers(frames)
+    elif args.identifier == 'none':
+        identifiers = []
+    else:
+        identifiers = args.identifier.split(',')
+
+    server = None
+    directory = tempfile.mkdtemp(prefix='traccar-load-')
+    if args.server:
+        gc_log = os.path.join(directory, 'gc.log')
+        server = subprocess.Popen(
+            ['java', f'-Xlog:gc:file={gc_log}', '-jar', os.path.abspath(args.server), write_config(directory, args)],
+            cwd=ROOT, stdout=subprocess.DEVNULL, stderr=subprocess.DEVNULL)
+        if not wait_port(args.host, port, 120):
+            server.kill()
+            sys.exit('Server did not start')
+
+    try:
+        stats = asyncio.run(run_load(args, port, frames, identifiers))
+        elapsed = stats.elapsed
+    finally:
+        if server:
+            time.sleep(2)
+            server.terminate()
+            server.wait()
+
+    print(f'frames: {len(frames)} from {fixtures}ProtocolDecoderTest')
+    print(f'identifiers rewritten per connection: {len(identifiers)}')
+    print(f'sent: {stats.sent} ({stats.sent / elapsed:.1f} msg/s), errors: {stats.errors}')
+    print(f'acknowledged: {stats.acked} of {stats.expected} expected ({stats.acked / elapsed:.1f} msg/s), '
+          f'lost: {stats.lost}')
+    print(f'ack latency p50: {stats.percentile(50):.2f} ms, p99: {stats.percentile(99):.2f} ms')
+    if server:
+        positions = count_positions(os.path.join(directory, 'tracker-server.log'))
+        count, total, longest = parse_gc_log(gc_log)
+        print(f'positions processed: {positions} ({positions / elapsed:.1f} msg/s)')
+        print(f'gc pauses: {count}, total: {total:.1f} ms, max: {longest:.1f} ms')
+        print(f'server files: {directory}')
+
+
+if __name__ == '__main__':
+    main()